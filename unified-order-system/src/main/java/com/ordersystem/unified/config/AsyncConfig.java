@@ -1,5 +1,6 @@
 package com.ordersystem.unified.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -35,4 +36,24 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Workers driving the sagas of orders accepted with 202 ({@code app.order.async.enabled}).
+     * When the queue is full a submission is rejected, never run on the submitting request
+     * thread: the saga stays ACCEPTED or RESERVED and the saga recovery job resumes it.
+     */
+    @Bean(name = "orderSagaExecutor")
+    public Executor orderSagaExecutor(@Value("${app.order.async.pool-size:16}") int poolSize,
+                                      @Value("${app.order.async.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-saga-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
 }
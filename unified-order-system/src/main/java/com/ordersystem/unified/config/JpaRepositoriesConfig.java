@@ -2,8 +2,11 @@ package com.ordersystem.unified.config;
 
 import com.ordersystem.unified.auth.model.ApplicationUser;
 import com.ordersystem.unified.auth.repository.ApplicationUserRepository;
+import com.ordersystem.unified.infrastructure.events.AggregateSnapshotEntity;
+import com.ordersystem.unified.infrastructure.events.AggregateSnapshotRepository;
 import com.ordersystem.unified.infrastructure.events.DomainEventEntity;
 import com.ordersystem.unified.infrastructure.events.DomainEventRepository;
+import com.ordersystem.unified.infrastructure.idempotency.IdempotencyKeyEntity;
 import com.ordersystem.unified.inventory.model.Product;
 import com.ordersystem.unified.inventory.model.Reservation;
 import com.ordersystem.unified.inventory.model.ReservationItem;
@@ -15,6 +18,8 @@ import com.ordersystem.unified.inventory.repository.StockRepository;
 import com.ordersystem.unified.order.model.Order;
 import com.ordersystem.unified.order.model.OrderItemEntity;
 import com.ordersystem.unified.order.repository.OrderRepository;
+import com.ordersystem.unified.order.saga.OrderSaga;
+import com.ordersystem.unified.order.saga.OrderSagaRepository;
 import com.ordersystem.unified.payment.model.Payment;
 import com.ordersystem.unified.payment.repository.PaymentRepository;
 import jakarta.annotation.PostConstruct;
@@ -38,12 +43,14 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
     basePackageClasses = {
         ApplicationUserRepository.class,
         OrderRepository.class,
+        OrderSagaRepository.class,
         ProductRepository.class,
         StockRepository.class,
         ReservationRepository.class,
         ReservationItemRepository.class,
         PaymentRepository.class,
-        DomainEventRepository.class
+        DomainEventRepository.class,
+        AggregateSnapshotRepository.class
     }
 )
 @EntityScan(
@@ -51,12 +58,15 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
         ApplicationUser.class,
         Order.class,
         OrderItemEntity.class,
+        OrderSaga.class,
         Product.class,
         Stock.class,
         Reservation.class,
         ReservationItem.class,
         Payment.class,
-        DomainEventEntity.class
+        DomainEventEntity.class,
+        AggregateSnapshotEntity.class,
+        IdempotencyKeyEntity.class
     }
 )
 @EnableTransactionManagement
@@ -38,7 +38,8 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addMapping("/api/**")
                 .allowedOrigins(allowedOrigins)
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("Authorization", "Content-Type", "X-Correlation-ID")
+                .allowedHeaders("Authorization", "Content-Type", "X-Correlation-ID", "Idempotency-Key")
+                .exposedHeaders("Location", "Idempotent-Replayed")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -0,0 +1,136 @@
+package com.ordersystem.unified.domain.events;
+
+import java.util.List;
+
+/**
+ * Durable record of one stock ledger mutation (LEDGER reservation strategy).
+ * Carries the counter deltas per stock row, so the stocks table and the in-memory
+ * ledger can both be rebuilt by summing them.
+ */
+public class InventoryLedgerEvent extends BaseEvent {
+
+    public enum Operation { RESERVE, RELEASE, CONFIRM, RESTOCK }
+
+    private String reservationId;
+    private String orderId;
+    private Operation operation;
+    private List<Line> lines;
+
+    // Default constructor
+    public InventoryLedgerEvent() {
+        super();
+    }
+
+    public InventoryLedgerEvent(String reservationId, String orderId, Operation operation,
+                                List<Line> lines, String correlationId) {
+        super(correlationId);
+        this.reservationId = reservationId;
+        this.orderId = orderId;
+        this.operation = operation;
+        this.lines = lines;
+    }
+
+    /**
+     * Counter deltas applied to one stock row.
+     */
+    public static class Line {
+
+        private String stockId;
+        private String productId;
+        private long available;
+        private long reserved;
+        private long total;
+
+        public Line() {
+        }
+
+        public Line(String stockId, String productId, long available, long reserved, long total) {
+            this.stockId = stockId;
+            this.productId = productId;
+            this.available = available;
+            this.reserved = reserved;
+            this.total = total;
+        }
+
+        public String getStockId() {
+            return stockId;
+        }
+
+        public void setStockId(String stockId) {
+            this.stockId = stockId;
+        }
+
+        public String getProductId() {
+            return productId;
+        }
+
+        public void setProductId(String productId) {
+            this.productId = productId;
+        }
+
+        public long getAvailable() {
+            return available;
+        }
+
+        public void setAvailable(long available) {
+            this.available = available;
+        }
+
+        public long getReserved() {
+            return reserved;
+        }
+
+        public void setReserved(long reserved) {
+            this.reserved = reserved;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public void setTotal(long total) {
+            this.total = total;
+        }
+    }
+
+    // Getters and Setters
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(String reservationId) {
+        this.reservationId = reservationId;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<Line> lines) {
+        this.lines = lines;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "InventoryLedgerEvent{reservationId='%s', orderId='%s', operation=%s, lineCount=%d}",
+            reservationId, orderId, operation, lines != null ? lines.size() : 0
+        );
+    }
+}
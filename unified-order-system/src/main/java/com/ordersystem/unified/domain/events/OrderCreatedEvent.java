@@ -27,12 +27,21 @@ public class OrderCreatedEvent extends BaseEvent {
     @JsonProperty("totalAmount")
     private final BigDecimal totalAmount;
 
+    /** Status of the order when the event was recorded (absent on older events). */
+    @JsonProperty("status")
+    private final String status;
+
+    @JsonProperty("paymentMethod")
+    private final String paymentMethod;
+
     @JsonCreator
     public OrderCreatedEvent(@JsonProperty("orderId") String orderId,
                            @JsonProperty("customerId") String customerId,
                            @JsonProperty("customerName") String customerName,
                            @JsonProperty("items") List<OrderItem> items,
                            @JsonProperty("totalAmount") BigDecimal totalAmount,
+                           @JsonProperty("status") String status,
+                           @JsonProperty("paymentMethod") String paymentMethod,
                            @JsonProperty("correlationId") String correlationId,
                            @JsonProperty("causationId") String causationId) {
         super(correlationId, causationId, "ORDER_CREATED");
@@ -41,6 +50,14 @@ public class OrderCreatedEvent extends BaseEvent {
         this.customerName = customerName;
         this.items = items;
         this.totalAmount = totalAmount;
+        this.status = status;
+        this.paymentMethod = paymentMethod;
+    }
+
+    public OrderCreatedEvent(String orderId, String customerId, String customerName,
+                           List<OrderItem> items, BigDecimal totalAmount,
+                           String correlationId, String causationId) {
+        this(orderId, customerId, customerName, items, totalAmount, null, null, correlationId, causationId);
     }
 
     // Convenience constructor
@@ -54,6 +71,8 @@ public class OrderCreatedEvent extends BaseEvent {
     public String getCustomerName() { return customerName; }
     public List<OrderItem> getItems() { return items; }
     public BigDecimal getTotalAmount() { return totalAmount; }
+    public String getStatus() { return status; }
+    public String getPaymentMethod() { return paymentMethod; }
 
     @Override
     public String toString() {
@@ -0,0 +1,61 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest folded state of an aggregate stream, used to shorten event replay.
+ * One row per aggregate; the row is overwritten as the stream grows.
+ */
+@Entity
+@Table(name = "aggregate_snapshots")
+public class AggregateSnapshotEntity {
+
+    @Id
+    @Column(name = "aggregate_id", length = 255)
+    private String aggregateId;
+
+    @Column(name = "aggregate_type", nullable = false, length = 100)
+    private String aggregateType;
+
+    @Column(name = "stream_version", nullable = false)
+    private Long streamVersion;
+
+    @Column(name = "snapshot_data", nullable = false, columnDefinition = "TEXT")
+    private String snapshotData;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    protected AggregateSnapshotEntity() {
+    }
+
+    public AggregateSnapshotEntity(String aggregateId, String aggregateType, long streamVersion, String snapshotData) {
+        this.aggregateId = aggregateId;
+        this.aggregateType = aggregateType;
+        this.streamVersion = streamVersion;
+        this.snapshotData = snapshotData;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getStreamVersion() {
+        return streamVersion;
+    }
+
+    public String getSnapshotData() {
+        return snapshotData;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for aggregate snapshots.
+ */
+@Repository
+public interface AggregateSnapshotRepository extends JpaRepository<AggregateSnapshotEntity, String> {
+}
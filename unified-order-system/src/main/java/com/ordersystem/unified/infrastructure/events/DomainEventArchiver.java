@@ -0,0 +1,161 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves processed domain events out of the hot {@code domain_events} table into the
+ * monthly partitions of {@code domain_events_archive}, and detaches archive partitions
+ * once they turn cold. PostgreSQL only.
+ * <p>
+ * An event is archived only when replay can no longer need it from the hot table:
+ * it is processed, older than the retention window, not the head of its stream
+ * (appends derive the next version from the head), already applied by every projection
+ * and, for snapshotted aggregates, already folded into the aggregate's snapshot.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.events.archive", name = "enabled", havingValue = "true")
+public class DomainEventArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventArchiver.class);
+
+    static final String ARCHIVE_TABLE = "domain_events_archive";
+    private static final Pattern PARTITION_NAME = Pattern.compile(ARCHIVE_TABLE + "_y(\\d{4})m(\\d{2})");
+
+    private static final String ARCHIVED_COLUMNS =
+        "id, aggregate_id, aggregate_type, event_type, stream_version, global_position, event_data, event_payload, " +
+        "payload_format, correlation_id, user_id, metadata, created_at, processed_at";
+
+    private static final String MOVE_BATCH_SQL =
+        "WITH moved AS (" +
+        "  DELETE FROM domain_events e WHERE e.id IN (" +
+        "    SELECT c.id FROM domain_events c" +
+        "    WHERE c.processed = true AND c.created_at < ?" +
+        "      AND EXISTS (SELECT 1 FROM domain_events n" +
+        "                  WHERE n.aggregate_id = c.aggregate_id AND n.stream_version > c.stream_version)" +
+        "      AND (c.aggregate_type <> ? OR EXISTS (SELECT 1 FROM aggregate_snapshots s" +
+        "                  WHERE s.aggregate_id = c.aggregate_id AND s.stream_version >= c.stream_version))" +
+        "      AND c.global_position <= COALESCE((SELECT MIN(position) FROM projection_checkpoints), c.global_position)" +
+        "    ORDER BY c.created_at" +
+        "    LIMIT ? FOR UPDATE SKIP LOCKED)" +
+        "  RETURNING " + ARCHIVED_COLUMNS + ")" +
+        " INSERT INTO " + ARCHIVE_TABLE + " (" + ARCHIVED_COLUMNS + ")" +
+        " SELECT " + ARCHIVED_COLUMNS + " FROM moved";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventArchiveProperties properties;
+    private final Counter eventsArchived;
+    private final Counter partitionsDetached;
+
+    public DomainEventArchiver(JdbcTemplate jdbcTemplate,
+                               EventArchiveProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.eventsArchived = Counter.builder("event.archive.moved")
+                .description("Domain events moved from the hot table to the archive")
+                .register(meterRegistry);
+        this.partitionsDetached = Counter.builder("event.archive.partitions.detached")
+                .description("Archive partitions detached as cold")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.events.archive.cron:0 15 3 * * *}")
+    public void archive() {
+        try {
+            long moved = archiveProcessedEvents(LocalDateTime.now().minusDays(properties.getRetentionDays()));
+            int detached = detachColdPartitions(YearMonth.now().minusMonths(properties.getColdAfterMonths()));
+            logger.info("Domain event archival finished: moved={}, detachedPartitions={}", moved, detached);
+        } catch (DataAccessException e) {
+            logger.error("Domain event archival failed", e);
+        }
+    }
+
+    /**
+     * Moves archivable events created before the cutoff, one bounded batch per statement
+     * so no run holds row locks for long.
+     *
+     * @return number of events moved
+     */
+    long archiveProcessedEvents(LocalDateTime cutoff) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+            "SELECT MIN(created_at) FROM domain_events WHERE processed = true AND created_at < ?",
+            Timestamp.class, Timestamp.valueOf(cutoff));
+        if (oldest == null) {
+            return 0;
+        }
+        for (YearMonth month = YearMonth.from(oldest.toLocalDateTime());
+             !month.isAfter(YearMonth.from(cutoff));
+             month = month.plusMonths(1)) {
+            ensurePartition(month);
+        }
+
+        long total = 0;
+        int moved;
+        do {
+            moved = jdbcTemplate.update(MOVE_BATCH_SQL,
+                Timestamp.valueOf(cutoff), EventReplayService.ORDER_AGGREGATE, properties.getBatchSize());
+            total += moved;
+            eventsArchived.increment(moved);
+        } while (moved == properties.getBatchSize());
+        return total;
+    }
+
+    /**
+     * Detaches archive partitions for months before {@code coldBefore}. Detached partitions
+     * remain as standalone tables, ready to be dumped to cold storage and dropped.
+     *
+     * @return number of partitions detached
+     */
+    int detachColdPartitions(YearMonth coldBefore) {
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = ?", String.class, ARCHIVE_TABLE);
+
+        int detached = 0;
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(coldBefore)) {
+                jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " DETACH PARTITION " + partition);
+                partitionsDetached.increment();
+                detached++;
+                logger.info("Detached cold domain event archive partition {}", partition);
+            }
+        }
+        return detached;
+    }
+
+    private void ensurePartition(YearMonth month) {
+        try {
+            jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName(month), ARCHIVE_TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+        } catch (DataAccessException e) {
+            // Another replica created it concurrently; the move below fails loudly if it is really missing
+            logger.debug("Archive partition {} not created: {}", partitionName(month), e.getMessage());
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("%s_y%04dm%02d", ARCHIVE_TABLE, month.getYear(), month.getMonthValue());
+    }
+}
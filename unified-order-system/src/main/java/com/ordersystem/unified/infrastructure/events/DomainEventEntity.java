@@ -2,6 +2,7 @@ package com.ordersystem.unified.infrastructure.events;
 
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -11,6 +12,9 @@ import java.util.UUID;
  * All important business events are stored for audit trail and replay.
  *
  * Production-ready with indexing for performance.
+ *
+ * Ids are assigned on construction, so new events are persisted directly
+ * (no merge SELECT) and Hibernate can group their inserts into JDBC batches.
  */
 @Entity
 @Table(name = "domain_events", indexes = {
@@ -18,8 +22,10 @@ import java.util.UUID;
     @Index(name = "idx_event_type", columnList = "event_type"),
     @Index(name = "idx_correlation_id", columnList = "correlation_id"),
     @Index(name = "idx_created_at", columnList = "created_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_domain_events_stream", columnNames = {"aggregate_id", "stream_version"})
 })
-public class DomainEventEntity {
+public class DomainEventEntity implements Persistable<String> {
 
     @Id
     @Column(name = "id", length = 255)
@@ -28,15 +34,41 @@ public class DomainEventEntity {
     @Column(name = "aggregate_id", nullable = false, length = 255)
     private String aggregateId;
 
+    /**
+     * Position of this event within its aggregate stream (1-based, gap-free).
+     */
+    @Column(name = "stream_version", nullable = false)
+    private Long streamVersion;
+
+    /**
+     * Store-wide insert position assigned by the database sequence; read-only here.
+     * Positions are unique and increasing but may have gaps and commit out of order.
+     */
+    @Column(name = "global_position", insertable = false, updatable = false)
+    private Long globalPosition;
+
     @Column(name = "aggregate_type", nullable = false, length = 100)
     private String aggregateType;
 
     @Column(name = "event_type", nullable = false, length = 100)
     private String eventType;
 
-    @Column(name = "event_data", nullable = false, columnDefinition = "TEXT")
+    /**
+     * JSON payload; null when the payload is stored in binary form.
+     */
+    @Column(name = "event_data", columnDefinition = "TEXT")
     private String eventData;
 
+    /**
+     * Binary payload for non-JSON formats (see {@link PayloadFormat}).
+     */
+    @Column(name = "event_payload")
+    private byte[] eventPayload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payload_format", nullable = false, length = 20)
+    private PayloadFormat payloadFormat = PayloadFormat.JSON;
+
     @Column(name = "correlation_id", length = 255)
     private String correlationId;
 
@@ -60,6 +92,9 @@ public class DomainEventEntity {
     @Column(name = "version", nullable = false)
     private Long version = 0L;
 
+    @Transient
+    private boolean isNew = true;
+
     // Constructors
     public DomainEventEntity() {
         this.id = UUID.randomUUID().toString();
@@ -80,6 +115,7 @@ public class DomainEventEntity {
 
     public static class Builder {
         private String aggregateId;
+        private Long streamVersion;
         private String aggregateType;
         private String eventType;
         private String eventData;
@@ -92,6 +128,11 @@ public class DomainEventEntity {
             return this;
         }
 
+        public Builder streamVersion(long streamVersion) {
+            this.streamVersion = streamVersion;
+            return this;
+        }
+
         public Builder aggregateType(String aggregateType) {
             this.aggregateType = aggregateType;
             return this;
@@ -124,6 +165,7 @@ public class DomainEventEntity {
 
         public DomainEventEntity build() {
             DomainEventEntity event = new DomainEventEntity(aggregateId, aggregateType, eventType, eventData);
+            event.streamVersion = this.streamVersion;
             event.correlationId = this.correlationId;
             event.userId = this.userId;
             event.metadata = this.metadata;
@@ -137,7 +179,19 @@ public class DomainEventEntity {
         this.processedAt = LocalDateTime.now();
     }
 
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     // Getters and Setters
+    @Override
     public String getId() {
         return id;
     }
@@ -154,6 +208,14 @@ public class DomainEventEntity {
         this.aggregateId = aggregateId;
     }
 
+    public Long getStreamVersion() {
+        return streamVersion;
+    }
+
+    public void setStreamVersion(Long streamVersion) {
+        this.streamVersion = streamVersion;
+    }
+
     public String getAggregateType() {
         return aggregateType;
     }
@@ -178,6 +240,22 @@ public class DomainEventEntity {
         this.eventData = eventData;
     }
 
+    public byte[] getEventPayload() {
+        return eventPayload;
+    }
+
+    public void setEventPayload(byte[] eventPayload) {
+        this.eventPayload = eventPayload;
+    }
+
+    public PayloadFormat getPayloadFormat() {
+        return payloadFormat;
+    }
+
+    public void setPayloadFormat(PayloadFormat payloadFormat) {
+        this.payloadFormat = payloadFormat;
+    }
+
     public String getCorrelationId() {
         return correlationId;
     }
@@ -230,6 +308,10 @@ public class DomainEventEntity {
         return version;
     }
 
+    public Long getGlobalPosition() {
+        return globalPosition;
+    }
+
     public void setVersion(Long version) {
         this.version = version;
     }
@@ -237,8 +319,8 @@ public class DomainEventEntity {
     @Override
     public String toString() {
         return String.format(
-            "DomainEvent{id='%s', aggregateId='%s', type='%s', eventType='%s', createdAt=%s}",
-            id, aggregateId, aggregateType, eventType, createdAt
+            "DomainEvent{id='%s', aggregateId='%s', streamVersion=%s, type='%s', eventType='%s', createdAt=%s}",
+            id, aggregateId, streamVersion, aggregateType, eventType, createdAt
         );
     }
 }
@@ -1,17 +1,35 @@
 package com.ordersystem.unified.infrastructure.events;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ordersystem.common.messaging.MessagingConstants;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
 @ConditionalOnProperty(prefix = "app.messaging.outbox", name = "enabled", havingValue = "true")
@@ -19,62 +37,223 @@ public class DomainEventOutboxPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(DomainEventOutboxPublisher.class);
 
+    /**
+     * First key of the two-part advisory locks that guard outbox partitions.
+     */
+    static final int PARTITION_LOCK_SPACE = 0x4F42;
+
     private final DomainEventRepository domainEventRepository;
     private final RabbitTemplate rabbitTemplate;
-    private final ObjectMapper objectMapper;
+    private final EventCodecRegistry eventCodecs;
     private final OutboxMessagingProperties properties;
+    private final ExecutorService relayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService workerExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean awaitConfirms;
+    private final AtomicBoolean wakeQueued = new AtomicBoolean();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
 
     public DomainEventOutboxPublisher(DomainEventRepository domainEventRepository,
                                       RabbitTemplate rabbitTemplate,
-                                      ObjectMapper objectMapper,
-                                      OutboxMessagingProperties properties) {
+                                      EventCodecRegistry eventCodecs,
+                                      OutboxMessagingProperties properties,
+                                      PlatformTransactionManager transactionManager) {
         this.domainEventRepository = domainEventRepository;
         this.rabbitTemplate = rabbitTemplate;
-        this.objectMapper = objectMapper;
+        this.eventCodecs = eventCodecs;
         this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        ConnectionFactory connectionFactory = rabbitTemplate.getConnectionFactory();
+        this.awaitConfirms = properties.isConfirmsEnabled()
+            && connectionFactory != null
+            && connectionFactory.isPublisherConfirms();
+        if (properties.isConfirmsEnabled() && !awaitConfirms) {
+            logger.warn("Outbox confirms requested but publisher confirms are not enabled on the connection factory; "
+                + "events are marked processed once handed to the client");
+        }
+        AtomicInteger workerIds = new AtomicInteger();
+        this.workerExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getPartitions()), runnable -> {
+            Thread thread = new Thread(runnable, "outbox-worker-" + workerIds.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Wakes the relay after new events were committed (post-commit hook of this
+     * instance). Only active in notify mode; otherwise the polling sweep picks them up.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventsAppended(DomainEventsAppended appended) {
+        if (properties.isNotifyEnabled()) {
+            wake();
+        }
     }
 
+    /**
+     * Schedules an immediate drain of pending events on the relay thread.
+     * Signals arriving while a drain is already queued are coalesced into it.
+     */
+    public void wake() {
+        if (wakeQueued.compareAndSet(false, true)) {
+            relayExecutor.execute(() -> {
+                wakeQueued.set(false);
+                publishPendingEvents();
+            });
+        }
+    }
+
+    /**
+     * Drains pending events. Runs as the fixed-delay polling loop and, in notify mode,
+     * as the fallback sweep behind {@link #wake()}. Concurrent invocations on this
+     * instance collapse into one extra pass of the running drain.
+     */
     @Scheduled(fixedDelayString = "${app.messaging.outbox.fixed-delay:5000}")
     public void publishPendingEvents() {
-        List<DomainEventEntity> pendingEvents = domainEventRepository.findPendingForDispatch(
-            PageRequest.of(0, properties.getBatchSize())
-        );
-
-        if (pendingEvents.isEmpty()) {
+        if (!draining.compareAndSet(false, true)) {
+            drainRequested.set(true);
             return;
         }
+        try {
+            do {
+                drainRequested.set(false);
+                drainPendingEvents();
+            } while (drainRequested.get());
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    /**
+     * Drains every aggregate-hash partition in parallel, one worker per partition.
+     */
+    private void drainPendingEvents() {
+        List<Callable<Void>> partitionDrains = new ArrayList<>(properties.getPartitions());
+        for (int partition = 0; partition < properties.getPartitions(); partition++) {
+            int claimedPartition = partition;
+            partitionDrains.add(() -> {
+                drainPartition(claimedPartition);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> result : workerExecutor.invokeAll(partitionDrains)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Outbox partition drain failed", e.getCause());
+        }
+    }
+
+    private void drainPartition(int partition) {
+        PartitionPass pass;
+        do {
+            pass = transactionTemplate.execute(status -> dispatchClaimedBatch(partition));
+        } while (pass != null && pass.claimed() == properties.getBatchSize() && pass.dispatched() == pass.claimed());
+    }
+
+    /**
+     * Claims and dispatches one batch of a partition inside the caller's transaction.
+     * The advisory lock makes one worker across all replicas the owner of the partition,
+     * which keeps events of an aggregate in stream order; SKIP LOCKED keeps the claim
+     * itself from blocking on rows held by any other dispatcher.
+     * <p>
+     * With publisher confirms the whole batch is sent before any confirm is awaited, so
+     * the broker round trips overlap; the confirmed prefix is then marked processed with
+     * one bulk UPDATE. Anything after a nack or timeout stays pending and is resent.
+     */
+    private PartitionPass dispatchClaimedBatch(int partition) {
+        if (!domainEventRepository.tryLockOutboxPartition(PARTITION_LOCK_SPACE, partition)) {
+            return PartitionPass.NONE;
+        }
+        List<DomainEventEntity> claimed = domainEventRepository.claimPendingForPartition(
+            properties.getPartitions(), partition, properties.getBatchSize());
+        if (claimed.isEmpty()) {
+            return PartitionPass.NONE;
+        }
+
+        logger.debug("Dispatching {} claimed domain event(s) from partition {}", claimed.size(), partition);
+        List<String> sentIds = new ArrayList<>(claimed.size());
+        List<CorrelationData> inFlight = new ArrayList<>(claimed.size());
+        for (DomainEventEntity event : claimed) {
+            CorrelationData correlation = awaitConfirms ? new CorrelationData(event.getId()) : null;
+            try {
+                send(event, correlation);
+            } catch (Exception exception) {
+                logger.error(
+                    "Failed to dispatch domain event to broker: eventId={}, eventType={}",
+                    event.getId(),
+                    event.getEventType(),
+                    exception
+                );
+                // Later events may belong to the same aggregate: stop to keep stream order
+                break;
+            }
+            sentIds.add(event.getId());
+            if (correlation != null) {
+                inFlight.add(correlation);
+            }
+        }
 
-        logger.info("Dispatching {} pending domain event(s) to RabbitMQ", pendingEvents.size());
-        for (DomainEventEntity event : pendingEvents) {
-            dispatchEvent(event);
+        List<String> dispatchedIds = awaitConfirms ? awaitConfirmedPrefix(inFlight) : sentIds;
+        if (!dispatchedIds.isEmpty()) {
+            domainEventRepository.markProcessed(dispatchedIds, LocalDateTime.now());
         }
+        return new PartitionPass(claimed.size(), dispatchedIds.size());
+    }
+
+    /**
+     * Waits for the confirms of a sent batch, in send order, under one shared deadline.
+     * Returns the ids up to (excluding) the first event that was not acked in time.
+     */
+    private List<String> awaitConfirmedPrefix(List<CorrelationData> inFlight) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getConfirmTimeout());
+        List<String> confirmed = new ArrayList<>(inFlight.size());
+        for (CorrelationData correlation : inFlight) {
+            try {
+                CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (!confirm.isAck()) {
+                    logger.warn("Broker nacked domain event: eventId={}, reason={}",
+                        correlation.getId(), confirm.getReason());
+                    break;
+                }
+            } catch (TimeoutException e) {
+                logger.warn("Timed out awaiting broker confirm: eventId={}", correlation.getId());
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                logger.warn("Broker confirm failed: eventId={}", correlation.getId(), e.getCause());
+                break;
+            }
+            confirmed.add(correlation.getId());
+        }
+        return confirmed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relayExecutor.shutdownNow();
+        workerExecutor.shutdownNow();
     }
 
     @Transactional
-    public void dispatchEvent(DomainEventEntity event) {
+    public boolean dispatchEvent(DomainEventEntity event) {
         if (event.isProcessed()) {
-            return;
+            return false;
         }
 
         try {
-            OutboundRoute route = resolveRoute(event);
-            JsonNode payload = objectMapper.readTree(event.getEventData());
-
-            rabbitTemplate.convertAndSend(route.exchange(), route.routingKey(), payload, message -> {
-                message.getMessageProperties().setMessageId(event.getId());
-                message.getMessageProperties().setType(event.getEventType());
-                message.getMessageProperties().setHeader("aggregateId", event.getAggregateId());
-                message.getMessageProperties().setHeader("aggregateType", event.getAggregateType());
-                message.getMessageProperties().setHeader("eventType", event.getEventType());
-                message.getMessageProperties().setHeader("eventId", event.getId());
-                if (event.getCorrelationId() != null) {
-                    message.getMessageProperties().setHeader(
-                        MessagingConstants.CORRELATION_ID_HEADER,
-                        event.getCorrelationId()
-                    );
-                }
-                return message;
-            });
+            OutboundRoute route = send(event, null);
 
             event.markAsProcessed();
             domainEventRepository.save(event);
@@ -84,6 +263,7 @@ public class DomainEventOutboxPublisher {
                 event.getEventType(),
                 route.routingKey()
             );
+            return true;
         } catch (Exception exception) {
             logger.error(
                 "Failed to dispatch domain event to broker: eventId={}, eventType={}",
@@ -91,7 +271,38 @@ public class DomainEventOutboxPublisher {
                 event.getEventType(),
                 exception
             );
+            return false;
+        }
+    }
+
+    private OutboundRoute send(DomainEventEntity event, CorrelationData correlation) throws IOException {
+        OutboundRoute route = resolveRoute(event);
+        JsonNode payload = eventCodecs.read(event);
+
+        if (correlation == null) {
+            rabbitTemplate.convertAndSend(route.exchange(), route.routingKey(), payload, headersFor(event));
+        } else {
+            rabbitTemplate.convertAndSend(route.exchange(), route.routingKey(), payload, headersFor(event), correlation);
         }
+        return route;
+    }
+
+    private MessagePostProcessor headersFor(DomainEventEntity event) {
+        return message -> {
+            message.getMessageProperties().setMessageId(event.getId());
+            message.getMessageProperties().setType(event.getEventType());
+            message.getMessageProperties().setHeader("aggregateId", event.getAggregateId());
+            message.getMessageProperties().setHeader("aggregateType", event.getAggregateType());
+            message.getMessageProperties().setHeader("eventType", event.getEventType());
+            message.getMessageProperties().setHeader("eventId", event.getId());
+            if (event.getCorrelationId() != null) {
+                message.getMessageProperties().setHeader(
+                    MessagingConstants.CORRELATION_ID_HEADER,
+                    event.getCorrelationId()
+                );
+            }
+            return message;
+        };
     }
 
     private OutboundRoute resolveRoute(DomainEventEntity event) {
@@ -142,4 +353,8 @@ public class DomainEventOutboxPublisher {
 
     private record OutboundRoute(String exchange, String routingKey) {
     }
+
+    private record PartitionPass(int claimed, int dispatched) {
+        static final PartitionPass NONE = new PartitionPass(0, 0);
+    }
 }
@@ -1,13 +1,21 @@
 package com.ordersystem.unified.infrastructure.events;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository for domain events (Event Sourcing).
@@ -21,6 +29,32 @@ public interface DomainEventRepository extends JpaRepository<DomainEventEntity,
      */
     List<DomainEventEntity> findByAggregateIdOrderByCreatedAtAsc(String aggregateId);
 
+    /**
+     * Find the full stream of an aggregate in append order (for event replay).
+     */
+    List<DomainEventEntity> findByAggregateIdOrderByStreamVersionAsc(String aggregateId);
+
+    /**
+     * Find the events appended to an aggregate stream after a given version (replay on top of a snapshot).
+     */
+    List<DomainEventEntity> findByAggregateIdAndStreamVersionGreaterThanOrderByStreamVersionAsc(
+        String aggregateId,
+        Long streamVersion
+    );
+
+    /**
+     * Current head version of an aggregate stream, or null when the stream is empty.
+     */
+    @Query("SELECT MAX(e.streamVersion) FROM DomainEventEntity e WHERE e.aggregateId = :aggregateId")
+    Long findCurrentStreamVersion(@Param("aggregateId") String aggregateId);
+
+    /**
+     * Current head versions of several aggregate streams as (aggregateId, version) pairs.
+     */
+    @Query("SELECT e.aggregateId, MAX(e.streamVersion) FROM DomainEventEntity e " +
+           "WHERE e.aggregateId IN :aggregateIds GROUP BY e.aggregateId")
+    List<Object[]> findCurrentStreamVersions(@Param("aggregateIds") Collection<String> aggregateIds);
+
     /**
      * Find events by aggregate type.
      */
@@ -47,6 +81,68 @@ public interface DomainEventRepository extends JpaRepository<DomainEventEntity,
     @Query("SELECT e FROM DomainEventEntity e WHERE e.processed = false ORDER BY e.createdAt ASC")
     List<DomainEventEntity> findPendingForDispatch(Pageable pageable);
 
+    /**
+     * Try to take the transaction-scoped advisory lock that owns an outbox partition.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockSpace, :partition)", nativeQuery = true)
+    boolean tryLockOutboxPartition(@Param("lockSpace") int lockSpace, @Param("partition") int partition);
+
+    /**
+     * Claim a batch of unprocessed events of one aggregate-hash partition, skipping rows
+     * locked by other dispatchers. Rows stay locked until the calling transaction ends.
+     * Ordered by global position, which follows each stream's versions (an event is only
+     * inserted after the one before it on its stream committed), unlike created_at, which
+     * comes from the clock of whichever replica wrote the event.
+     */
+    @Query(value = "SELECT * FROM domain_events " +
+                   "WHERE processed = false " +
+                   "AND ((hashtext(aggregate_id) % :partitions) + :partitions) % :partitions = :partition " +
+                   "ORDER BY global_position " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<DomainEventEntity> claimPendingForPartition(@Param("partitions") int partitions,
+                                                     @Param("partition") int partition,
+                                                     @Param("limit") int limit);
+
+    /**
+     * Read events in global (store-wide) order after a checkpoint, for projections.
+     */
+    List<DomainEventEntity> findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(Long globalPosition,
+                                                                                  Pageable pageable);
+
+    /**
+     * Read the events at given global positions, in global order.
+     */
+    List<DomainEventEntity> findByGlobalPositionInOrderByGlobalPositionAsc(Collection<Long> globalPositions);
+
+    /**
+     * Stream events of a global position range, including archived history, through a
+     * database cursor. Must be consumed (and closed) inside a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT id, aggregate_id, stream_version, global_position, aggregate_type, event_type, " +
+                   "event_data, event_payload, payload_format, correlation_id, user_id, metadata, created_at, " +
+                   "processed, processed_at, version " +
+                   "FROM domain_events WHERE global_position > :fromExclusive AND global_position <= :toInclusive " +
+                   "UNION ALL " +
+                   "SELECT id, aggregate_id, stream_version, global_position, aggregate_type, event_type, " +
+                   "event_data, event_payload, payload_format, correlation_id, user_id, metadata, created_at, " +
+                   "true, processed_at, 0 " +
+                   "FROM domain_events_archive WHERE global_position > :fromExclusive AND global_position <= :toInclusive " +
+                   "ORDER BY global_position", nativeQuery = true)
+    Stream<DomainEventEntity> streamByGlobalPositionRange(@Param("fromExclusive") long fromExclusive,
+                                                          @Param("toInclusive") long toInclusive);
+
+    /**
+     * Mark a dispatched batch processed in a single statement.
+     */
+    @Modifying
+    @Query("UPDATE DomainEventEntity e SET e.processed = true, e.processedAt = :processedAt, " +
+           "e.version = e.version + 1 WHERE e.id IN :ids AND e.processed = false")
+    int markProcessed(@Param("ids") Collection<String> ids, @Param("processedAt") LocalDateTime processedAt);
+
     /**
      * Find events created within time range.
      */
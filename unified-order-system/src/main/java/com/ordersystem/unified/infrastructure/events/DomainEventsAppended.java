@@ -0,0 +1,10 @@
+package com.ordersystem.unified.infrastructure.events;
+
+/**
+ * Application event raised when rows are appended to the event store.
+ * Listeners bound to the commit phase use it as a wake-up signal for the outbox relay.
+ *
+ * @param count number of rows appended
+ */
+public record DomainEventsAppended(int count) {
+}
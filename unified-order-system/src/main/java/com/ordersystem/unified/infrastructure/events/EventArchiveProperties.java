@@ -0,0 +1,52 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.events.archive")
+public class EventArchiveProperties {
+
+    private boolean enabled = false;
+    /**
+     * Processed events younger than this stay in the hot domain_events table.
+     */
+    private int retentionDays = 30;
+    /**
+     * Archive partitions whose month ended longer ago than this are detached.
+     */
+    private int coldAfterMonths = 12;
+    private int batchSize = 5000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public void setRetentionDays(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    public int getColdAfterMonths() {
+        return coldAfterMonths;
+    }
+
+    public void setColdAfterMonths(int coldAfterMonths) {
+        this.coldAfterMonths = coldAfterMonths;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
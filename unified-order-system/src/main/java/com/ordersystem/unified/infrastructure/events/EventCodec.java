@@ -0,0 +1,19 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * Serializes event payloads for the event store in one {@link PayloadFormat}.
+ * Every codec decodes into the same JSON tree so readers stay format-agnostic.
+ */
+public interface EventCodec {
+
+    PayloadFormat format();
+
+    byte[] encode(Object event) throws JsonProcessingException;
+
+    JsonNode decode(byte[] payload) throws IOException;
+}
@@ -0,0 +1,60 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes event payloads in the configured {@code app.events.payload-format} and reads
+ * any row back according to its own payload_format, so old JSON rows keep working
+ * after the write format changes.
+ */
+@Component
+public class EventCodecRegistry {
+
+    private final Map<PayloadFormat, EventCodec> codecs = new EnumMap<>(PayloadFormat.class);
+    private final EventCodec writeCodec;
+
+    public EventCodecRegistry(ObjectMapper objectMapper, EventStoreProperties properties) {
+        register(new JsonEventCodec(objectMapper));
+        register(new SmileEventCodec(objectMapper));
+        this.writeCodec = codecs.get(properties.getPayloadFormat());
+    }
+
+    private void register(EventCodec codec) {
+        codecs.put(codec.format(), codec);
+    }
+
+    /**
+     * Encodes an event into the payload columns of a new event row.
+     */
+    public void write(DomainEventEntity entity, Object event) throws JsonProcessingException {
+        byte[] encoded = writeCodec.encode(event);
+        entity.setPayloadFormat(writeCodec.format());
+        if (writeCodec.format() == PayloadFormat.JSON) {
+            entity.setEventData(new String(encoded, StandardCharsets.UTF_8));
+            entity.setEventPayload(null);
+        } else {
+            entity.setEventData(null);
+            entity.setEventPayload(encoded);
+        }
+    }
+
+    /**
+     * Decodes the payload of a stored event row into a JSON tree.
+     */
+    public JsonNode read(DomainEventEntity entity) throws IOException {
+        PayloadFormat format = entity.getPayloadFormat() != null ? entity.getPayloadFormat() : PayloadFormat.JSON;
+        EventCodec codec = codecs.get(format);
+        if (format == PayloadFormat.JSON) {
+            return codec.decode(entity.getEventData().getBytes(StandardCharsets.UTF_8));
+        }
+        return codec.decode(entity.getEventPayload());
+    }
+}
@@ -1,16 +1,26 @@
 package com.ordersystem.unified.infrastructure.events;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ordersystem.unified.domain.events.BaseEvent;
+import com.ordersystem.unified.domain.events.InventoryLedgerEvent;
+import com.ordersystem.unified.shared.exceptions.ConcurrencyException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Event Publisher for domain events (Event Sourcing Pattern).
@@ -27,41 +37,42 @@ public class EventPublisher {
     private DomainEventRepository eventRepository;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private EventCodecRegistry eventCodecs;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     /**
-     * Publishes a domain event by persisting it to the event store.
-     * Uses REQUIRES_NEW to ensure event is persisted even if parent transaction fails.
+     * Expected version to pass to {@link #append} when the stream must not exist yet.
+     */
+    public static final long NO_STREAM = 0L;
+
+    /**
+     * Expected version to pass to {@link #append} to skip the concurrency check.
+     */
+    public static final long ANY_VERSION = -1L;
+
+    /**
+     * Attempts at an append the publisher runs in a transaction of its own.
+     */
+    private static final int APPEND_ATTEMPTS = 3;
+
+    /**
+     * Publishes a domain event by appending it to its aggregate stream.
+     * Joins the caller's transaction if there is one; see {@link #appendToStreams}.
      *
      * @param event Domain event to publish
+     * @throws ConcurrencyException if another writer got to the stream first
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void publish(BaseEvent event) {
+        logger.debug("Publishing event: type={}", event.getClass().getSimpleName());
         try {
-            logger.debug("Publishing event: type={}, aggregateId={}",
-                        event.getClass().getSimpleName(), getAggregateId(event));
-
-            // Serialize event data to JSON
-            String eventData = objectMapper.writeValueAsString(event);
-
-            // Create event entity
-            DomainEventEntity eventEntity = DomainEventEntity.builder()
-                .aggregateId(getAggregateId(event))
-                .aggregateType(getAggregateType(event))
-                .eventType(event.getClass().getSimpleName())
-                .eventData(eventData)
-                .correlationId(event.getCorrelationId())
-                .build();
-
-            // Persist event
-            eventRepository.save(eventEntity);
-
-            logger.info("Event published successfully: type={}, id={}",
-                       eventEntity.getEventType(), eventEntity.getId());
-
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize event: {}", event.getClass().getSimpleName(), e);
-            throw new RuntimeException("Event serialization failed", e);
+            appendToStreams(List.of(event), false);
+        } catch (ConcurrencyException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to publish event: {}", event.getClass().getSimpleName(), e);
             throw new RuntimeException("Event publishing failed", e);
@@ -70,72 +81,106 @@ public class EventPublisher {
 
     /**
      * Publishes an event within the caller's existing transaction (no new connection needed).
-     * Use this from service methods that are already transactional and don't need
-     * the event to survive a rollback of the parent transaction.
+     * Failures other than a stream conflict are logged and swallowed; a conflict is rethrown,
+     * since it leaves the caller's transaction unable to commit anyway.
      *
      * @param event Domain event to publish
+     * @throws ConcurrencyException if another writer got to the stream first
      */
-    @Transactional(propagation = Propagation.REQUIRED)
     public void publishWithinTransaction(BaseEvent event) {
         try {
-            String eventData = objectMapper.writeValueAsString(event);
-            DomainEventEntity eventEntity = DomainEventEntity.builder()
-                .aggregateId(getAggregateId(event))
-                .aggregateType(getAggregateType(event))
-                .eventType(event.getClass().getSimpleName())
-                .eventData(eventData)
-                .correlationId(event.getCorrelationId())
-                .build();
-            eventRepository.save(eventEntity);
-            logger.debug("Event published within current tx: type={}", eventEntity.getEventType());
+            appendToStreams(List.of(event), false);
+            logger.debug("Event published within current tx: type={}", event.getClass().getSimpleName());
+        } catch (ConcurrencyException e) {
+            throw e;
         } catch (Exception e) {
             logger.warn("Failed to publish event within transaction: {} — {}", event.getClass().getSimpleName(), e.getMessage());
         }
     }
 
     /**
-     * Publishes multiple events in a single transaction.
+     * Publishes all events of a command as one batch in the caller's transaction.
+     * Stream heads are resolved with a single query and the rows are written with
+     * one JDBC batch insert (see hibernate.jdbc.batch_size).
      *
      * @param events List of events to publish
+     * @throws ConcurrencyException if another writer got to one of the streams first
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void publishAll(List<BaseEvent> events) {
+    public void publishAll(List<? extends BaseEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
         logger.debug("Publishing {} events", events.size());
+        int published = appendToStreams(events, true);
+        logger.info("Published {} events successfully", published);
+    }
 
+    /**
+     * Appends events to an aggregate stream with an optimistic concurrency check.
+     * The append succeeds only if the stream is still at {@code expectedVersion};
+     * a concurrent writer is detected either by the head check or by the unique
+     * (aggregate_id, stream_version) index, so no row locks are taken.
+     * Runs in the caller's transaction.
+     *
+     * @param aggregateId     Aggregate identifier
+     * @param expectedVersion Stream version the caller last observed,
+     *                        {@link #NO_STREAM} for a new stream or {@link #ANY_VERSION}
+     * @param events          Events to append, in order
+     * @return New head version of the stream
+     * @throws ConcurrencyException if the stream moved past {@code expectedVersion}
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public long append(String aggregateId, long expectedVersion, List<? extends BaseEvent> events) {
+        long currentVersion = currentStreamVersion(aggregateId);
+        if (expectedVersion != ANY_VERSION && expectedVersion != currentVersion) {
+            logger.warn("Stream version conflict: aggregateId={}, expected={}, actual={}",
+                       aggregateId, expectedVersion, currentVersion);
+            throw new ConcurrencyException("event stream " + aggregateId, "append");
+        }
+        if (events.isEmpty()) {
+            return currentVersion;
+        }
+
+        List<DomainEventEntity> entities = new ArrayList<>(events.size());
+        long streamVersion = currentVersion;
         for (BaseEvent event : events) {
             try {
-                String eventData = objectMapper.writeValueAsString(event);
-
-                DomainEventEntity eventEntity = DomainEventEntity.builder()
-                    .aggregateId(getAggregateId(event))
-                    .aggregateType(getAggregateType(event))
-                    .eventType(event.getClass().getSimpleName())
-                    .eventData(eventData)
-                    .correlationId(event.getCorrelationId())
-                    .build();
-
-                eventRepository.save(eventEntity);
-
+                entities.add(toEntity(event, aggregateId, ++streamVersion));
             } catch (JsonProcessingException e) {
-                logger.error("Failed to serialize event in batch: {}",
-                           event.getClass().getSimpleName(), e);
-                // Continue with other events
+                logger.error("Failed to serialize event: {}", event.getClass().getSimpleName(), e);
+                throw new RuntimeException("Event serialization failed", e);
             }
         }
 
-        logger.info("Published {} events successfully", events.size());
+        insert(entities, "event stream " + aggregateId);
+
+        logger.debug("Appended {} events: aggregateId={}, streamVersion={}",
+                    entities.size(), aggregateId, streamVersion);
+        return streamVersion;
+    }
+
+    /**
+     * Returns the head version of an aggregate stream ({@link #NO_STREAM} if empty).
+     *
+     * @param aggregateId Aggregate identifier
+     * @return Current stream version
+     */
+    @Transactional(readOnly = true)
+    public long currentStreamVersion(String aggregateId) {
+        Long version = eventRepository.findCurrentStreamVersion(aggregateId);
+        return version != null ? version : NO_STREAM;
     }
 
     /**
      * Retrieves event history for an aggregate (for event replay).
      *
      * @param aggregateId Aggregate identifier
-     * @return List of events in chronological order
+     * @return List of events in stream order
      */
     @Transactional(readOnly = true)
     public List<DomainEventEntity> getEventHistory(String aggregateId) {
         logger.debug("Retrieving event history for aggregate: {}", aggregateId);
-        return eventRepository.findByAggregateIdOrderByCreatedAtAsc(aggregateId);
+        return eventRepository.findByAggregateIdOrderByStreamVersionAsc(aggregateId);
     }
 
     /**
@@ -164,6 +209,105 @@ public class EventPublisher {
         });
     }
 
+    /**
+     * Lets commit-bound listeners (the outbox relay) know new rows are waiting.
+     */
+    private void signalAppended(int count) {
+        applicationEventPublisher.publishEvent(new DomainEventsAppended(count));
+    }
+
+    /**
+     * Appends events after the current head of each of their streams, as {@link #append} does
+     * with the heads just read. Inside a caller's transaction a concurrent writer fails the
+     * append, and with it the caller's unit of work, with a {@link ConcurrencyException}; the
+     * failed insert has aborted that transaction, so it cannot be retried there. Otherwise each
+     * attempt runs in a transaction of its own and is retried against the new heads.
+     *
+     * @return Number of events appended
+     */
+    private int appendToStreams(List<? extends BaseEvent> events, boolean skipUnserializable) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return appendAtCurrentHeads(events, skipUnserializable);
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> appendAtCurrentHeads(events, skipUnserializable));
+            } catch (ConcurrencyException e) {
+                if (attempt >= APPEND_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Concurrent append, retrying: attempt={}", attempt);
+            }
+        }
+    }
+
+    private int appendAtCurrentHeads(List<? extends BaseEvent> events, boolean skipUnserializable) {
+        Map<String, List<BaseEvent>> streams = new LinkedHashMap<>();
+        for (BaseEvent event : events) {
+            streams.computeIfAbsent(getAggregateId(event), id -> new ArrayList<>()).add(event);
+        }
+        Map<String, Long> streamHeads = new HashMap<>();
+        for (Object[] row : eventRepository.findCurrentStreamVersions(streams.keySet())) {
+            streamHeads.put((String) row[0], (Long) row[1]);
+        }
+
+        List<DomainEventEntity> entities = new ArrayList<>(events.size());
+        for (Map.Entry<String, List<BaseEvent>> stream : streams.entrySet()) {
+            long streamVersion = streamHeads.getOrDefault(stream.getKey(), NO_STREAM);
+            for (BaseEvent event : stream.getValue()) {
+                try {
+                    entities.add(toEntity(event, stream.getKey(), streamVersion + 1));
+                    streamVersion++;
+                } catch (JsonProcessingException e) {
+                    if (!skipUnserializable) {
+                        throw new RuntimeException("Event serialization failed", e);
+                    }
+                    logger.error("Failed to serialize event in batch: {}",
+                               event.getClass().getSimpleName(), e);
+                    // Continue with other events
+                }
+            }
+        }
+
+        insert(entities, "event streams " + streams.keySet());
+        return entities.size();
+    }
+
+    /**
+     * Writes new stream events; a version taken by a concurrent writer trips the unique
+     * (aggregate_id, stream_version) index at flush.
+     */
+    private void insert(List<DomainEventEntity> entities, String resource) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        try {
+            eventRepository.saveAllAndFlush(entities);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Concurrent append detected: {}", resource);
+            throw new ConcurrencyException(resource, "append", e);
+        }
+        signalAppended(entities.size());
+    }
+
+    private DomainEventEntity toEntity(BaseEvent event, String aggregateId, long streamVersion)
+            throws JsonProcessingException {
+        DomainEventEntity entity = DomainEventEntity.builder()
+            .aggregateId(aggregateId)
+            .streamVersion(streamVersion)
+            .aggregateType(getAggregateType(event))
+            .eventType(event.getClass().getSimpleName())
+            .correlationId(event.getCorrelationId())
+            .build();
+        eventCodecs.write(entity, event);
+        // Ledger deltas only feed the stock write-behind projection; they never reach the broker
+        if (event instanceof InventoryLedgerEvent) {
+            entity.markAsProcessed();
+        }
+        return entity;
+    }
+
     // Helper methods to extract aggregate information from events
     private String getAggregateId(BaseEvent event) {
         // Use reflection or pattern matching to extract aggregate ID
@@ -183,9 +327,10 @@ public class EventPublisher {
             return ((com.ordersystem.unified.domain.events.InventoryReleasedEvent) event).getOrderId();
         }
 
+        // Unmapped events get a stream of their own rather than sharing one contended stream
         logger.warn("Unknown event type for aggregate ID extraction: {}",
                    event.getClass().getSimpleName());
-        return "UNKNOWN";
+        return "UNKNOWN-" + event.getEventId();
     }
 
     private String getAggregateType(BaseEvent event) {
@@ -0,0 +1,35 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.events")
+public class EventStoreProperties {
+
+    /**
+     * Number of events replayed on top of the latest snapshot before a new snapshot is taken.
+     */
+    private int snapshotInterval = 50;
+
+    /**
+     * Encoding used for newly appended event payloads.
+     */
+    private PayloadFormat payloadFormat = PayloadFormat.JSON;
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(int snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public PayloadFormat getPayloadFormat() {
+        return payloadFormat;
+    }
+
+    public void setPayloadFormat(PayloadFormat payloadFormat) {
+        this.payloadFormat = payloadFormat;
+    }
+}
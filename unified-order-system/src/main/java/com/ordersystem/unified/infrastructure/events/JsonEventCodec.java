@@ -0,0 +1,34 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Plain JSON payloads, the historical format of domain_events.event_data.
+ */
+public class JsonEventCodec implements EventCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public PayloadFormat format() {
+        return PayloadFormat.JSON;
+    }
+
+    @Override
+    public byte[] encode(Object event) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Override
+    public JsonNode decode(byte[] payload) throws IOException {
+        return objectMapper.readTree(payload);
+    }
+}
@@ -10,6 +10,19 @@ public class OutboxMessagingProperties {
     private boolean enabled = false;
     private int batchSize = 50;
     private long fixedDelay = 5000L;
+    /**
+     * Number of aggregate-hash partitions (and worker threads) used for dispatch.
+     * Must be identical on every replica.
+     */
+    private int partitions = 4;
+    private boolean notifyEnabled = false;
+    private int notifyPollTimeout = 10000;
+    /**
+     * Waits for broker confirms before marking a batch processed. Only takes effect
+     * when the connection factory has correlated publisher confirms enabled.
+     */
+    private boolean confirmsEnabled = true;
+    private long confirmTimeout = 5000L;
 
     public boolean isEnabled() {
         return enabled;
@@ -34,4 +47,44 @@ public class OutboxMessagingProperties {
     public void setFixedDelay(long fixedDelay) {
         this.fixedDelay = fixedDelay;
     }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public boolean isNotifyEnabled() {
+        return notifyEnabled;
+    }
+
+    public void setNotifyEnabled(boolean notifyEnabled) {
+        this.notifyEnabled = notifyEnabled;
+    }
+
+    public int getNotifyPollTimeout() {
+        return notifyPollTimeout;
+    }
+
+    public void setNotifyPollTimeout(int notifyPollTimeout) {
+        this.notifyPollTimeout = notifyPollTimeout;
+    }
+
+    public boolean isConfirmsEnabled() {
+        return confirmsEnabled;
+    }
+
+    public void setConfirmsEnabled(boolean confirmsEnabled) {
+        this.confirmsEnabled = confirmsEnabled;
+    }
+
+    public long getConfirmTimeout() {
+        return confirmTimeout;
+    }
+
+    public void setConfirmTimeout(long confirmTimeout) {
+        this.confirmTimeout = confirmTimeout;
+    }
 }
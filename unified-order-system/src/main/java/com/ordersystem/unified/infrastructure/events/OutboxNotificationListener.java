@@ -0,0 +1,95 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Push side of the outbox relay: LISTENs on the channel notified by the
+ * domain_events insert trigger and wakes {@link DomainEventOutboxPublisher}, so
+ * events committed by any replica are dispatched within milliseconds.
+ * Holds one pooled connection for the lifetime of the application.
+ */
+@Component
+@ConditionalOnExpression("${app.messaging.outbox.enabled:false} and ${app.messaging.outbox.notify-enabled:false}")
+public class OutboxNotificationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxNotificationListener.class);
+
+    static final String CHANNEL = "domain_events_appended";
+    private static final long RECONNECT_BACKOFF_MS = 5000L;
+
+    private final DataSource dataSource;
+    private final DomainEventOutboxPublisher outboxPublisher;
+    private final OutboxMessagingProperties properties;
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public OutboxNotificationListener(DataSource dataSource,
+                                      DomainEventOutboxPublisher outboxPublisher,
+                                      OutboxMessagingProperties properties) {
+        this.dataSource = dataSource;
+        this.outboxPublisher = outboxPublisher;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "outbox-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                logger.info("Outbox relay listening on channel {}", CHANNEL);
+
+                // Catch up on anything committed while we were not listening
+                outboxPublisher.wake();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(properties.getNotifyPollTimeout());
+                    if (notifications != null && notifications.length > 0) {
+                        outboxPublisher.wake();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Outbox notification listener lost its connection, retrying in {} ms: {}",
+                           RECONNECT_BACKOFF_MS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_BACKOFF_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ordersystem.unified.infrastructure.events;
+
+/**
+ * Encoding of a stored event payload (domain_events.payload_format).
+ */
+public enum PayloadFormat {
+    /** UTF-8 JSON text in event_data. */
+    JSON,
+    /** Jackson Smile (binary JSON) bytes in event_payload. */
+    SMILE
+}
@@ -0,0 +1,42 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.IOException;
+
+/**
+ * Binary payloads using Jackson Smile. Field names and repeated string values are
+ * back-referenced, so payloads are markedly smaller than JSON and cheaper to parse,
+ * while staying schema-less like the JSON rows they replace.
+ */
+public class SmileEventCodec implements EventCodec {
+
+    private final ObjectMapper smileMapper;
+
+    public SmileEventCodec(ObjectMapper objectMapper) {
+        SmileFactory smileFactory = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+        // Same modules and settings as the application mapper, different wire format
+        this.smileMapper = objectMapper.copyWith(smileFactory);
+    }
+
+    @Override
+    public PayloadFormat format() {
+        return PayloadFormat.SMILE;
+    }
+
+    @Override
+    public byte[] encode(Object event) throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(event);
+    }
+
+    @Override
+    public JsonNode decode(byte[] payload) throws IOException {
+        return smileMapper.readTree(payload);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides when a replayed aggregate is worth snapshotting:
+ * every {@code app.events.snapshot-interval} events, or as soon as the aggregate
+ * reaches a terminal state (its stream will rarely grow afterwards).
+ */
+@Component
+public class SnapshotPolicy {
+
+    private final EventStoreProperties properties;
+
+    public SnapshotPolicy(EventStoreProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean shouldSnapshot(long eventsSinceSnapshot, boolean terminal) {
+        if (eventsSinceSnapshot <= 0) {
+            return false;
+        }
+        return terminal || eventsSinceSnapshot >= properties.getSnapshotInterval();
+    }
+}
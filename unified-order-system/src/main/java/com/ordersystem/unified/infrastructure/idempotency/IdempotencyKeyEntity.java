@@ -0,0 +1,82 @@
+package com.ordersystem.unified.infrastructure.idempotency;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Mapping of {@code idempotency_keys} (V21), so that schemas generated by Hibernate, as in the
+ * dev profile, have the table too. {@link IdempotencyService} reads and writes it with
+ * {@code JdbcTemplate}; nothing loads these entities.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+@IdClass(IdempotencyKeyEntity.Key.class)
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "scope", length = 255)
+    private String scope;
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "claimed_at", nullable = false)
+    private LocalDateTime claimedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    protected IdempotencyKeyEntity() {
+    }
+
+    /**
+     * Primary key: the key is unique per endpoint and caller.
+     */
+    public static class Key implements Serializable {
+
+        private String scope;
+        private String idempotencyKey;
+
+        public Key() {
+        }
+
+        public Key(String scope, String idempotencyKey) {
+            this.scope = scope;
+            this.idempotencyKey = idempotencyKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(scope, other.scope) && Objects.equals(idempotencyKey, other.idempotencyKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, idempotencyKey);
+        }
+    }
+}
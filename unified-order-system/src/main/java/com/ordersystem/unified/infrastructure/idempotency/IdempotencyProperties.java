@@ -0,0 +1,76 @@
+package com.ordersystem.unified.infrastructure.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * How long a stored response is replayed for its key.
+     */
+    private long ttl = 86400000;
+    /**
+     * A request still IN_PROGRESS after this long is taken for dead and its key may be claimed again.
+     */
+    private long inProgressTimeout = 300000;
+    /**
+     * Completed responses kept in the local LRU cache in front of the table.
+     */
+    private int localCacheSize = 10000;
+    /**
+     * Writes of a completed response tried before giving up; the key is never released meanwhile.
+     */
+    private int storeAttempts = 3;
+    private long storeRetryDelay = 200;
+    private long purgeDelay = 600000;
+
+    public long getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(long ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getInProgressTimeout() {
+        return inProgressTimeout;
+    }
+
+    public void setInProgressTimeout(long inProgressTimeout) {
+        this.inProgressTimeout = inProgressTimeout;
+    }
+
+    public int getLocalCacheSize() {
+        return localCacheSize;
+    }
+
+    public void setLocalCacheSize(int localCacheSize) {
+        this.localCacheSize = localCacheSize;
+    }
+
+    public int getStoreAttempts() {
+        return storeAttempts;
+    }
+
+    public void setStoreAttempts(int storeAttempts) {
+        this.storeAttempts = storeAttempts;
+    }
+
+    public long getStoreRetryDelay() {
+        return storeRetryDelay;
+    }
+
+    public void setStoreRetryDelay(long storeRetryDelay) {
+        this.storeRetryDelay = storeRetryDelay;
+    }
+
+    public long getPurgeDelay() {
+        return purgeDelay;
+    }
+
+    public void setPurgeDelay(long purgeDelay) {
+        this.purgeDelay = purgeDelay;
+    }
+}
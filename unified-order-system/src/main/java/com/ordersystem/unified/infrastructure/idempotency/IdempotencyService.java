@@ -0,0 +1,301 @@
+package com.ordersystem.unified.infrastructure.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.unified.shared.exceptions.IdempotencyKeyException;
+import com.ordersystem.unified.shared.exceptions.InvalidOrderException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes keyed POST endpoints safe to retry.
+ * <p>
+ * The first request carrying an {@code Idempotency-Key} claims the key in
+ * {@code idempotency_keys} and runs. Its 2xx response (status and JSON body) is stored and
+ * replayed, without running the endpoint again, to every later request with the same key,
+ * caller and payload until {@code app.idempotency.ttl} passes. A bounded LRU of completed
+ * responses answers most retries without touching the table. A failed or non-2xx attempt
+ * frees its key, so the retry runs for real.
+ * <p>
+ * A retry arriving while the first request still runs gets 409; reusing a key for a different
+ * payload gets 422. A claim left IN_PROGRESS by a crashed node is taken over after
+ * {@code app.idempotency.in-progress-timeout}. Once the action went through, its key is never
+ * freed: storing the response is retried instead.
+ */
+@Component
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETED = "COMPLETED";
+    private static final List<String> RESOURCE_ID_FIELDS = List.of("orderId", "paymentId");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final Map<String, StoredResponse> localCache;
+
+    public IdempotencyService(JdbcTemplate jdbcTemplate,
+                              ObjectMapper objectMapper,
+                              IdempotencyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        int capacity = properties.getLocalCacheSize();
+        this.localCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Runs {@code action} once per key, replaying its stored response to retries.
+     *
+     * @param scope   the endpoint the key belongs to; the caller's name is appended
+     * @param key     the {@code Idempotency-Key} header, or null to just run the action
+     * @param request the request body, compared across retries by hash
+     * @throws IdempotencyKeyException if the key is in use or was used for another request
+     */
+    public ResponseEntity<?> execute(String scope, String key, Object request,
+                                     Supplier<? extends ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidOrderException(IDEMPOTENCY_KEY_HEADER + " cannot exceed " + MAX_KEY_LENGTH + " characters");
+        }
+        String callerScope = scope + " " + caller();
+        String cacheKey = callerScope + "\n" + key;
+        String requestHash = hash(request);
+
+        StoredResponse cached = cached(cacheKey);
+        if (cached != null) {
+            return replay(cached, key, requestHash);
+        }
+
+        if (!claim(callerScope, key, requestHash)) {
+            StoredResponse stored = load(callerScope, key);
+            if (stored == null || !COMPLETED.equals(stored.status())) {
+                throw IdempotencyKeyException.inProgress(key);
+            }
+            cache(cacheKey, stored);
+            return replay(stored, key, requestHash);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(callerScope, key);
+            throw e;
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(callerScope, key);
+            return response;
+        }
+
+        cache(cacheKey, complete(callerScope, key, requestHash, response));
+        return response;
+    }
+
+    /**
+     * Deletes expired keys; their cached copies lapse on their own.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-delay:600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?",
+            Timestamp.valueOf(LocalDateTime.now()));
+        if (purged > 0) {
+            logger.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private boolean claim(String scope, String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp claimedAt = Timestamp.valueOf(now);
+        Timestamp expiresAt = Timestamp.valueOf(now.plusNanos(properties.getTtl() * 1_000_000));
+        try {
+            jdbcTemplate.update(
+                "INSERT INTO idempotency_keys (scope, idempotency_key, request_hash, status, claimed_at, expires_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)",
+                scope, key, requestHash, IN_PROGRESS, claimedAt, expiresAt);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Take over an expired key, or a claim abandoned by a request that never finished
+            Timestamp abandonedBefore = Timestamp.valueOf(now.minusNanos(properties.getInProgressTimeout() * 1_000_000));
+            return jdbcTemplate.update(
+                "UPDATE idempotency_keys SET request_hash = ?, status = ?, response_status = NULL, response_body = NULL, " +
+                "claimed_at = ?, expires_at = ? " +
+                "WHERE scope = ? AND idempotency_key = ? AND (expires_at < ? OR (status = ? AND claimed_at < ?))",
+                requestHash, IN_PROGRESS, claimedAt, expiresAt,
+                scope, key, claimedAt, IN_PROGRESS, abandonedBefore) == 1;
+        }
+    }
+
+    private StoredResponse load(String scope, String key) {
+        // Read with getString: the TEXT body comes back as a CLOB on H2
+        List<StoredResponse> rows = jdbcTemplate.query(
+            "SELECT request_hash, status, response_status, response_body, expires_at " +
+            "FROM idempotency_keys WHERE scope = ? AND idempotency_key = ?",
+            (rs, rowNum) -> new StoredResponse(
+                rs.getString("request_hash"),
+                rs.getString("status"),
+                rs.getInt("response_status"),
+                rs.getString("response_body"),
+                rs.getTimestamp("expires_at").toLocalDateTime()),
+            scope, key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Stores the response of an action that went through. The key is not released whatever
+     * happens, so the action never runs twice: a body that cannot be serialized is stored
+     * without it, and a failed write is retried up to {@code app.idempotency.store-attempts}
+     * times, the response being kept in the local cache regardless.
+     */
+    private StoredResponse complete(String scope, String key, String requestHash, ResponseEntity<?> response) {
+        String body = null;
+        if (response.hasBody()) {
+            try {
+                body = objectMapper.writeValueAsString(response.getBody());
+            } catch (JsonProcessingException e) {
+                // Replaying the status alone beats running the action a second time
+                logger.warn("Cannot store response body for Idempotency-Key {} ({}): {}",
+                    key, resource(response), e.getMessage());
+            }
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(properties.getTtl() * 1_000_000);
+        int status = response.getStatusCode().value();
+        StoredResponse stored = new StoredResponse(requestHash, COMPLETED, status, body, expiresAt);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.update(
+                    "UPDATE idempotency_keys SET status = ?, response_status = ?, response_body = ?, expires_at = ? " +
+                    "WHERE scope = ? AND idempotency_key = ?",
+                    COMPLETED, status, body, Timestamp.valueOf(expiresAt), scope, key);
+                return stored;
+            } catch (DataAccessException e) {
+                if (attempt >= properties.getStoreAttempts()) {
+                    logger.error("Response for Idempotency-Key {} ({}) not stored after {} attempts; the key stays " +
+                        "IN_PROGRESS and only this node replays it", key, resource(response), attempt, e);
+                    return stored;
+                }
+                logger.warn("Storing response for Idempotency-Key {} ({}) failed on attempt {}: {}",
+                    key, resource(response), attempt, e.getMessage());
+                pause(properties.getStoreRetryDelay());
+            }
+        }
+    }
+
+    /**
+     * The order or payment a response is about, so a response that could not be stored can be
+     * traced from the logs.
+     */
+    private String resource(ResponseEntity<?> response) {
+        if (!response.hasBody()) {
+            return "no body";
+        }
+        try {
+            JsonNode body = objectMapper.valueToTree(response.getBody());
+            List<String> ids = new ArrayList<>();
+            for (String field : RESOURCE_ID_FIELDS) {
+                if (body.hasNonNull(field)) {
+                    ids.add(field + "=" + body.get(field).asText());
+                }
+            }
+            if (!ids.isEmpty()) {
+                return String.join(", ", ids);
+            }
+        } catch (IllegalArgumentException e) {
+            // Not serializable either; fall back to the type
+        }
+        return response.getBody().getClass().getSimpleName();
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void release(String scope, String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE scope = ? AND idempotency_key = ? AND status = ?",
+            scope, key, IN_PROGRESS);
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String key, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw IdempotencyKeyException.reused(key);
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.responseStatus())
+            .header(REPLAYED_HEADER, "true");
+        if (stored.body() == null) {
+            return builder.build();
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON).body(stored.body());
+    }
+
+    private StoredResponse cached(String cacheKey) {
+        synchronized (localCache) {
+            StoredResponse stored = localCache.get(cacheKey);
+            if (stored != null && !stored.expiresAt().isAfter(LocalDateTime.now())) {
+                localCache.remove(cacheKey);
+                return null;
+            }
+            return stored;
+        }
+    }
+
+    private void cache(String cacheKey, StoredResponse stored) {
+        synchronized (localCache) {
+            localCache.put(cacheKey, stored);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash request for " + IDEMPOTENCY_KEY_HEADER, e);
+        }
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private record StoredResponse(String requestHash, String status, int responseStatus, String body,
+                                  LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.ordersystem.unified.infrastructure.scheduler;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.reservations.expiry")
+public class ReservationExpiryProperties {
+
+    /**
+     * Sweep expired reservations in bulk batches (PostgreSQL only) instead of one
+     * transaction per reservation.
+     */
+    private boolean bulkEnabled = false;
+    private int batchSize = 500;
+    /**
+     * Reservation-id hash partitions swept in parallel; keep equal across replicas.
+     */
+    private int partitions = 4;
+    private long fixedDelay = 60000;
+    /**
+     * Release each reservation at its expiry instant from an in-process timer; the sweep
+     * becomes the safety net. Requires bulk-enabled.
+     */
+    private boolean timerEnabled = false;
+    /**
+     * Reservations the timer tracks at most; beyond that, expiry falls back to the sweep.
+     */
+    private int timerCapacity = 200000;
+
+    public boolean isBulkEnabled() {
+        return bulkEnabled;
+    }
+
+    public void setBulkEnabled(boolean bulkEnabled) {
+        this.bulkEnabled = bulkEnabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public long getFixedDelay() {
+        return fixedDelay;
+    }
+
+    public void setFixedDelay(long fixedDelay) {
+        this.fixedDelay = fixedDelay;
+    }
+
+    public boolean isTimerEnabled() {
+        return timerEnabled;
+    }
+
+    public void setTimerEnabled(boolean timerEnabled) {
+        this.timerEnabled = timerEnabled;
+    }
+
+    public int getTimerCapacity() {
+        return timerCapacity;
+    }
+
+    public void setTimerCapacity(int timerCapacity) {
+        this.timerCapacity = timerCapacity;
+    }
+}
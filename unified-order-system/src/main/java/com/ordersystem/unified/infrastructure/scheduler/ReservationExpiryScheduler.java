@@ -5,6 +5,7 @@ import com.ordersystem.unified.inventory.repository.ReservationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -16,8 +17,12 @@ import java.util.List;
  *
  * Production-ready with proper logging and error handling.
  * Implements automatic compensation for expired reservations.
+ *
+ * Releases one reservation per transaction; with {@code app.reservations.expiry.bulk-enabled}
+ * the {@link ReservationExpirySweeper} takes over instead.
  */
 @Component
+@ConditionalOnProperty(prefix = "app.reservations.expiry", name = "bulk-enabled", havingValue = "false", matchIfMissing = true)
 public class ReservationExpiryScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(ReservationExpiryScheduler.class);
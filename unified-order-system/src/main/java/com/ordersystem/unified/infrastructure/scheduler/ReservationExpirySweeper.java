@@ -0,0 +1,269 @@
+package com.ordersystem.unified.infrastructure.scheduler;
+
+import com.ordersystem.unified.domain.events.InventoryReleasedEvent;
+import com.ordersystem.unified.domain.events.OrderItem;
+import com.ordersystem.unified.infrastructure.events.EventPublisher;
+import com.ordersystem.unified.inventory.ExpiredStockRestorer;
+import com.ordersystem.unified.inventory.model.ReservationItem;
+import com.ordersystem.unified.inventory.repository.ReservationItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Releases expired reservations in bulk. PostgreSQL only.
+ * <p>
+ * Due reservations are split into reservation-id hash partitions that are swept in parallel,
+ * one worker per partition. Each batch claims up to {@code app.reservations.expiry.batch-size}
+ * rows through the {@code (status, expiry_time)} index with SKIP LOCKED, marks them EXPIRED
+ * with the same statement, returns their stock through {@link ExpiredStockRestorer} and
+ * publishes their {@link InventoryReleasedEvent}s, all in one transaction, so replicas
+ * sweeping concurrently never wait on or double-release a row.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.reservations.expiry", name = "bulk-enabled", havingValue = "true")
+public class ReservationExpirySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExpirySweeper.class);
+
+    static final String EXPIRE_BATCH_SQL =
+        "UPDATE reservations r SET status = 'EXPIRED', updated_at = CURRENT_TIMESTAMP " +
+        "WHERE r.id IN (" +
+        "  SELECT c.id FROM reservations c" +
+        "  WHERE c.status IN ('RESERVED', 'PARTIAL') AND c.expiry_time < ?" +
+        "    AND ((hashtext(c.id) % ?) + ?) % ? = ?" +
+        "  ORDER BY c.expiry_time" +
+        "  LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING r.id, r.order_id, r.correlation_id, r.expiry_time";
+
+    static final String EXPIRE_BY_ID_SQL =
+        "UPDATE reservations r SET status = 'EXPIRED', updated_at = CURRENT_TIMESTAMP " +
+        "WHERE r.id IN (" +
+        "  SELECT c.id FROM reservations c" +
+        "  WHERE c.id = ANY(?) AND c.status IN ('RESERVED', 'PARTIAL') AND c.expiry_time <= ?" +
+        "  FOR UPDATE SKIP LOCKED) " +
+        "RETURNING r.id, r.order_id, r.correlation_id, r.expiry_time";
+
+    private static final RowMapper<ExpiredReservation> EXPIRED_RESERVATION = (rs, rowNum) -> new ExpiredReservation(
+        rs.getString("id"), rs.getString("order_id"), rs.getString("correlation_id"),
+        rs.getTimestamp("expiry_time").toLocalDateTime());
+
+    private static final String BACKLOG_SQL =
+        "SELECT COUNT(*) AS due, MIN(expiry_time) AS oldest FROM reservations " +
+        "WHERE status IN ('RESERVED', 'PARTIAL') AND expiry_time < ?";
+
+    private static final String RELEASE_REASON = "Automatic release due to expiration";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReservationItemRepository reservationItemRepository;
+    private final ExpiredStockRestorer expiredStockRestorer;
+    private final EventPublisher eventPublisher;
+    private final ReservationExpiryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workerExecutor;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestDueSeconds = new AtomicLong();
+    private final Counter released;
+    private final Timer releaseLag;
+
+    public ReservationExpirySweeper(JdbcTemplate jdbcTemplate,
+                                    ReservationItemRepository reservationItemRepository,
+                                    ExpiredStockRestorer expiredStockRestorer,
+                                    EventPublisher eventPublisher,
+                                    ReservationExpiryProperties properties,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationItemRepository = reservationItemRepository;
+        this.expiredStockRestorer = expiredStockRestorer;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger workerIds = new AtomicInteger();
+        this.workerExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getPartitions()), runnable -> {
+            Thread thread = new Thread(runnable, "reservation-expiry-" + workerIds.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("reservation.expiry.backlog", backlog, AtomicLong::get)
+                .description("Expired reservations still active when the last sweep started")
+                .register(meterRegistry);
+        Gauge.builder("reservation.expiry.oldest.seconds", oldestDueSeconds, AtomicLong::get)
+                .description("Seconds the oldest unreleased reservation was past its expiry when the last sweep started")
+                .register(meterRegistry);
+        this.released = Counter.builder("reservation.expiry.released")
+                .description("Expired reservations released by the sweeper and the expiry timer")
+                .register(meterRegistry);
+        this.releaseLag = Timer.builder("reservation.expiry.release.lag")
+                .description("Time between a reservation's expiry and its release")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reservations.expiry.fixed-delay:60000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            measureBacklog(now);
+            if (backlog.get() == 0) {
+                return;
+            }
+            long total = sweepPartitions(now);
+            logger.info("Released {} expired reservation(s) of a backlog of {}", total, backlog.get());
+        } catch (RuntimeException e) {
+            logger.error("Expired reservation sweep failed", e);
+        }
+    }
+
+    /**
+     * Drains every partition in parallel, one worker per partition.
+     *
+     * @return number of reservations released
+     */
+    long sweepPartitions(LocalDateTime now) {
+        List<Callable<Long>> partitionSweeps = new ArrayList<>(properties.getPartitions());
+        for (int partition = 0; partition < properties.getPartitions(); partition++) {
+            int claimedPartition = partition;
+            partitionSweeps.add(() -> sweepPartition(claimedPartition, now));
+        }
+        long total = 0;
+        try {
+            for (Future<Long> result : workerExecutor.invokeAll(partitionSweeps)) {
+                try {
+                    total += result.get();
+                } catch (ExecutionException e) {
+                    // Rows of the failed batch stay active and are claimed again by the next sweep
+                    logger.error("Reservation expiry partition sweep failed", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return total;
+    }
+
+    private long sweepPartition(int partition, LocalDateTime now) {
+        long total = 0;
+        int expired;
+        do {
+            Integer batch = transactionTemplate.execute(status -> expireBatch(partition, now));
+            expired = batch != null ? batch : 0;
+            total += expired;
+        } while (expired == properties.getBatchSize());
+        return total;
+    }
+
+    /**
+     * Claims, expires and announces one batch of a partition inside the caller's transaction.
+     *
+     * @return number of reservations expired
+     */
+    int expireBatch(int partition, LocalDateTime now) {
+        int partitions = properties.getPartitions();
+        List<ExpiredReservation> expired = jdbcTemplate.query(EXPIRE_BATCH_SQL, EXPIRED_RESERVATION,
+            Timestamp.valueOf(now), partitions, partitions, partitions, partition, properties.getBatchSize());
+        release(expired, now);
+        logger.debug("Expired {} reservation(s) in partition {}", expired.size(), partition);
+        return expired.size();
+    }
+
+    /**
+     * Expires the given reservations that are still active and due, in a transaction of its
+     * own. Reservations already released, confirmed or claimed by another sweeper are skipped.
+     *
+     * @return number of reservations expired
+     */
+    public int expireDue(Collection<String> reservationIds, LocalDateTime now) {
+        if (reservationIds.isEmpty()) {
+            return 0;
+        }
+        Integer expired = transactionTemplate.execute(status -> {
+            List<ExpiredReservation> claimed = jdbcTemplate.query(EXPIRE_BY_ID_SQL, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("varchar", reservationIds.toArray()));
+                ps.setTimestamp(2, Timestamp.valueOf(now));
+            }, EXPIRED_RESERVATION);
+            release(claimed, now);
+            return claimed.size();
+        });
+        return expired != null ? expired : 0;
+    }
+
+    /**
+     * Returns the stock of reservations just marked EXPIRED and announces their release, in the
+     * caller's transaction.
+     */
+    private void release(List<ExpiredReservation> expired, LocalDateTime now) {
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        List<ReservationItem> reservationItems = reservationItemRepository.findByReservationIdIn(
+            expired.stream().map(ExpiredReservation::id).toList());
+        expiredStockRestorer.restore(reservationItems);
+
+        Map<String, List<OrderItem>> itemsByReservation = new HashMap<>();
+        for (ReservationItem item : reservationItems) {
+            itemsByReservation.computeIfAbsent(item.getReservation().getId(), id -> new ArrayList<>())
+                .add(new OrderItem(item.getProductId(), "", item.getReservedQuantity(), null));
+        }
+
+        List<InventoryReleasedEvent> events = new ArrayList<>(expired.size());
+        for (ExpiredReservation reservation : expired) {
+            List<OrderItem> items = itemsByReservation.get(reservation.id());
+            if (items == null) {
+                continue;
+            }
+            InventoryReleasedEvent event = new InventoryReleasedEvent(
+                reservation.id(), reservation.orderId(), items, RELEASE_REASON, reservation.correlationId());
+            event.setAutoReleased(true);
+            events.add(event);
+        }
+        eventPublisher.publishAll(events);
+
+        released.increment(expired.size());
+        for (ExpiredReservation reservation : expired) {
+            releaseLag.record(Duration.between(reservation.expiryTime(), now));
+        }
+    }
+
+    private void measureBacklog(LocalDateTime now) {
+        jdbcTemplate.query(BACKLOG_SQL, rs -> {
+            backlog.set(rs.getLong("due"));
+            Timestamp oldest = rs.getTimestamp("oldest");
+            oldestDueSeconds.set(oldest != null ? Duration.between(oldest.toLocalDateTime(), now).getSeconds() : 0);
+        }, Timestamp.valueOf(now));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerExecutor.shutdownNow();
+    }
+
+    record ExpiredReservation(String id, String orderId, String correlationId, LocalDateTime expiryTime) {
+    }
+}
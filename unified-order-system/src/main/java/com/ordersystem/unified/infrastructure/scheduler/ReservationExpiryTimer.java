@@ -0,0 +1,201 @@
+package com.ordersystem.unified.infrastructure.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Releases reservations at their expiry instant instead of on the next sweep.
+ * <p>
+ * Reservations are tracked in a {@link DelayQueue}: registered by {@code InventoryService}
+ * as they are created and loaded from {@code reservations} on startup. One thread takes
+ * whatever falls due, drains everything else due with it, and expires the lot through
+ * {@link ReservationExpirySweeper#expireDue}, which skips reservations already settled or
+ * claimed by another replica. Anything the timer misses (a failed release, a full queue,
+ * a reservation created on another replica) is left to the periodic sweep.
+ * <p>
+ * Reservations confirmed or released before their expiry are cancelled: they stop counting
+ * toward the capacity at once, and their queue entries are skipped when they fall due or
+ * purged once they pile up.
+ */
+@Component
+@ConditionalOnExpression("${app.reservations.expiry.bulk-enabled:false} and ${app.reservations.expiry.timer-enabled:false}")
+public class ReservationExpiryTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExpiryTimer.class);
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    /** Live entry of each tracked reservation; queue entries missing here are cancelled. */
+    private final Map<String, Expiry> live = new ConcurrentHashMap<>();
+    private final ReservationExpirySweeper sweeper;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReservationExpiryProperties properties;
+    private final Counter refused;
+    private volatile boolean running;
+    private Thread timerThread;
+
+    public ReservationExpiryTimer(ReservationExpirySweeper sweeper,
+                                  JdbcTemplate jdbcTemplate,
+                                  ReservationExpiryProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.sweeper = sweeper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        Gauge.builder("reservation.expiry.timer.tracked", live, Map::size)
+                .description("Reservations waiting in the in-process expiry timer")
+                .register(meterRegistry);
+        this.refused = Counter.builder("reservation.expiry.timer.refused")
+                .description("Reservations the full expiry timer left to the periodic sweep")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild();
+        running = true;
+        timerThread = new Thread(this::run, "reservation-expiry-timer");
+        timerThread.setDaemon(true);
+        timerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (timerThread != null) {
+            timerThread.interrupt();
+        }
+    }
+
+    /**
+     * Tracks a reservation until its expiry.
+     *
+     * @return false if the timer is full and the reservation is left to the sweep
+     */
+    public synchronized boolean schedule(String reservationId, LocalDateTime expiryTime) {
+        if (expiryTime == null) {
+            return false;
+        }
+        if (live.size() >= properties.getTimerCapacity()) {
+            refused.increment();
+            return false;
+        }
+        Expiry expiry = new Expiry(reservationId, System.nanoTime() + Duration.between(LocalDateTime.now(), expiryTime).toNanos());
+        live.put(reservationId, expiry);
+        queue.offer(expiry);
+        if (queue.size() - live.size() >= properties.getTimerCapacity()) {
+            purge();
+        }
+        return true;
+    }
+
+    /**
+     * Stops tracking a reservation that was confirmed or released before its expiry.
+     */
+    public void cancel(String reservationId) {
+        live.remove(reservationId);
+    }
+
+    /**
+     * Drops the queue entries of cancelled reservations. Removing them one by one from the
+     * queue would scan it on every cancel, so they are left in place until they add up to
+     * the capacity.
+     */
+    private void purge() {
+        Object[] entries = queue.toArray();
+        queue.clear();
+        for (Object entry : entries) {
+            Expiry expiry = (Expiry) entry;
+            if (live.get(expiry.reservationId()) == expiry) {
+                queue.offer(expiry);
+            }
+        }
+        logger.debug("Expiry timer purged {} cancelled entries", entries.length - queue.size());
+    }
+
+    /**
+     * Loads the active reservations that expire first, up to the timer's capacity.
+     */
+    void rebuild() {
+        List<Object[]> active = jdbcTemplate.query(
+            "SELECT id, expiry_time FROM reservations WHERE status IN ('RESERVED', 'PARTIAL') " +
+            "AND expiry_time IS NOT NULL ORDER BY expiry_time LIMIT ?",
+            (rs, rowNum) -> new Object[] {rs.getString("id"), rs.getTimestamp("expiry_time")},
+            properties.getTimerCapacity());
+        for (Object[] row : active) {
+            schedule((String) row[0], ((Timestamp) row[1]).toLocalDateTime());
+        }
+        logger.info("Reservation expiry timer loaded {} active reservation(s)", active.size());
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                List<Expiry> due = new ArrayList<>();
+                due.add(queue.take());
+                queue.drainTo(due, properties.getBatchSize() - 1);
+                fire(due);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    void fire(List<Expiry> due) {
+        List<String> reservationIds = new ArrayList<>(due.size());
+        for (Expiry expiry : due) {
+            if (live.remove(expiry.reservationId(), expiry)) {
+                reservationIds.add(expiry.reservationId());
+            }
+        }
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        try {
+            int expired = sweeper.expireDue(reservationIds, LocalDateTime.now());
+            logger.debug("Expiry timer released {} of {} due reservation(s)", expired, reservationIds.size());
+        } catch (RuntimeException e) {
+            // Still active in the table, so the next sweep releases them
+            logger.error("Expiry timer failed to release {} reservation(s)", reservationIds.size(), e);
+        }
+    }
+
+    int tracked() {
+        return live.size();
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    record Expiry(String reservationId, long dueAtNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtNanos, ((Expiry) other).dueAtNanos);
+        }
+    }
+}
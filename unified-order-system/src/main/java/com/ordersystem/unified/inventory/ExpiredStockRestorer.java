@@ -0,0 +1,175 @@
+package com.ordersystem.unified.inventory;
+
+import com.ordersystem.unified.inventory.escrow.StockEscrow;
+import com.ordersystem.unified.inventory.ledger.StockLedger;
+import com.ordersystem.unified.inventory.model.ReservationItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Returns the stock held by expired reservations, in the caller's transaction.
+ * <p>
+ * With row-based strategies the reserved quantities of the whole batch are summed per Stock
+ * row, the rows are locked in product and warehouse order (the order reservations lock them in) and the
+ * sums are applied with one {@code UPDATE ... FROM (VALUES ...)}. A single reservation expired
+ * by the per-reservation scheduler is restored with portable per-row updates instead. The
+ * LEDGER and ESCROW strategies hand each reservation back to their counters, as an explicit
+ * release does.
+ * <p>
+ * Like {@code StockRepository#releaseReserved}, a row is only updated while it still holds at
+ * least the quantity being returned, so a row another path already released never goes
+ * negative; such rows are left as they are and logged.
+ */
+@Component
+public class ExpiredStockRestorer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredStockRestorer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StockLedger stockLedger;
+    private final StockEscrow stockEscrow;
+    private final boolean mockMode;
+    private final ReservationStrategy reservationStrategy;
+
+    public ExpiredStockRestorer(JdbcTemplate jdbcTemplate,
+                                ObjectProvider<StockLedger> stockLedger,
+                                ObjectProvider<StockEscrow> stockEscrow,
+                                @Value("${inventory.mock-mode:false}") boolean mockMode,
+                                @Value("${inventory.reservation-strategy:PESSIMISTIC}") ReservationStrategy reservationStrategy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stockLedger = stockLedger.getIfAvailable();
+        this.stockEscrow = stockEscrow.getIfAvailable();
+        this.mockMode = mockMode;
+        this.reservationStrategy = reservationStrategy;
+    }
+
+    /**
+     * Restores the reserved quantity of the given items, which must belong to reservations
+     * just marked EXPIRED and be loaded with their reservation.
+     *
+     * @return number of Stock rows updated
+     */
+    public int restore(List<ReservationItem> items) {
+        if (mockMode || items.isEmpty() || restoredToCounters(items)) {
+            return 0;
+        }
+        Map<String, Integer> quantities = quantitiesByStock(items);
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+        lockStockRows(quantities);
+
+        List<Object> args = new ArrayList<>(quantities.size() * 2);
+        quantities.forEach((stockId, quantity) -> {
+            args.add(stockId);
+            args.add(quantity);
+        });
+        int updated = jdbcTemplate.update(
+            "UPDATE stocks s SET available_quantity = s.available_quantity + CAST(v.quantity AS INTEGER), " +
+            "reserved_quantity = s.reserved_quantity - CAST(v.quantity AS INTEGER), " +
+            "last_stock_update = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP " +
+            "FROM (VALUES " + String.join(", ", Collections.nCopies(quantities.size(), "(?, ?)")) + ") " +
+            "AS v(stock_id, quantity) WHERE s.id = v.stock_id " +
+            "AND s.reserved_quantity >= CAST(v.quantity AS INTEGER)",
+            args.toArray());
+        if (updated != quantities.size()) {
+            logger.error("Restored expired stock on {} of {} stock rows: reserved quantity too low or row missing on {}",
+                updated, quantities.size(), quantities.keySet());
+        }
+        return updated;
+    }
+
+    /**
+     * Restores the reserved quantity of one reservation just marked EXPIRED with one delta
+     * UPDATE per Stock row, in SQL that also runs on H2.
+     *
+     * @return number of Stock rows updated
+     */
+    public int restoreReservation(List<ReservationItem> items) {
+        if (mockMode || items.isEmpty() || restoredToCounters(items)) {
+            return 0;
+        }
+        Map<String, Integer> quantities = quantitiesByStock(items);
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+        lockStockRows(quantities);
+
+        int updated = 0;
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            int rows = jdbcTemplate.update(
+                "UPDATE stocks SET available_quantity = available_quantity + ?, " +
+                "reserved_quantity = reserved_quantity - ?, " +
+                "last_stock_update = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE id = ? AND reserved_quantity >= ?",
+                entry.getValue(), entry.getValue(), entry.getKey(), entry.getValue());
+            if (rows == 0) {
+                logger.error("Failed to restore expired stock on stock row {}: reserved quantity too low", entry.getKey());
+            }
+            updated += rows;
+        }
+        return updated;
+    }
+
+    /**
+     * Hands the items back to the LEDGER or ESCROW counters.
+     *
+     * @return false if the strategy keeps its stock in the Stock rows
+     */
+    private boolean restoredToCounters(List<ReservationItem> items) {
+        if (reservationStrategy == ReservationStrategy.LEDGER && stockLedger != null) {
+            byReservation(items).forEach((reservationId, lines) ->
+                stockLedger.release(reservationId, lines.get(0).getReservation().getOrderId(), quantitiesOf(lines)));
+            return true;
+        }
+        if (reservationStrategy == ReservationStrategy.ESCROW && stockEscrow != null) {
+            byReservation(items).forEach((reservationId, lines) -> stockEscrow.release(quantitiesOf(lines)));
+            return true;
+        }
+        return false;
+    }
+
+    private static Map<String, Integer> quantitiesByStock(List<ReservationItem> items) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        for (ReservationItem item : items) {
+            if (item.getStock() != null) {
+                quantities.merge(item.getStock().getId(), item.getReservedQuantity(), Integer::sum);
+            }
+        }
+        return quantities;
+    }
+
+    private void lockStockRows(Map<String, Integer> quantities) {
+        String placeholders = String.join(", ", Collections.nCopies(quantities.size(), "?"));
+        jdbcTemplate.queryForList(
+            "SELECT id FROM stocks WHERE id IN (" + placeholders + ") ORDER BY product_id, warehouse_id FOR UPDATE",
+            String.class, quantities.keySet().toArray());
+    }
+
+    private static Map<String, List<ReservationItem>> byReservation(List<ReservationItem> items) {
+        Map<String, List<ReservationItem>> grouped = new LinkedHashMap<>();
+        for (ReservationItem item : items) {
+            grouped.computeIfAbsent(item.getReservation().getId(), id -> new ArrayList<>()).add(item);
+        }
+        return grouped;
+    }
+
+    private static Map<String, Integer> quantitiesOf(List<ReservationItem> items) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        for (ReservationItem item : items) {
+            quantities.merge(item.getProductId(), item.getReservedQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
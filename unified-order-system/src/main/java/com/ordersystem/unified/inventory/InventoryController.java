@@ -1,23 +1,34 @@
 package com.ordersystem.unified.inventory;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ordersystem.unified.inventory.dto.*;
 import com.ordersystem.unified.inventory.model.*;
 import com.ordersystem.unified.inventory.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * REST controller for inventory operations.
+ * <p>
+ * Product listings read each product with its stock summed over all warehouses in one
+ * grouped query per page, paged by product ID. With {@code limit} a listing returns one page
+ * and the cursor of the next one in {@value #NEXT_CURSOR_HEADER}; without it the whole
+ * catalog is streamed, page by page, as one JSON array.
  */
 @RestController
 @RequestMapping("/api/inventory")
@@ -27,19 +38,26 @@ public class InventoryController {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryController.class);
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int LISTING_PAGE_SIZE = 500;
+    private static final int MAX_LISTING_LIMIT = 1000;
+
     private final InventoryService inventoryService;
     private final ProductRepository productRepository;
     private final StockRepository stockRepository;
     private final ReservationRepository reservationRepository;
+    private final ObjectMapper objectMapper;
 
     public InventoryController(InventoryService inventoryService,
                                ProductRepository productRepository,
                                StockRepository stockRepository,
-                               ReservationRepository reservationRepository) {
+                               ReservationRepository reservationRepository,
+                               ObjectMapper objectMapper) {
         this.inventoryService = inventoryService;
         this.productRepository = productRepository;
         this.stockRepository = stockRepository;
         this.reservationRepository = reservationRepository;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/check/{productId}")
@@ -248,10 +266,16 @@ public class InventoryController {
     @GetMapping("/status")
     @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getInventoryStatus() {
-        List<Product> products = productRepository.findByActiveTrue();
-        List<Map<String, Object>> items = products.stream()
-            .map(this::mapInventoryStatusItem)
-            .collect(Collectors.toList());
+        List<Map<String, Object>> items = new ArrayList<>();
+        String cursor = "";
+        List<ProductStockSummary> page;
+        do {
+            page = summaries(null, cursor, LISTING_PAGE_SIZE);
+            for (ProductStockSummary summary : page) {
+                items.add(mapInventoryStatusItem(summary));
+                cursor = summary.productId();
+            }
+        } while (page.size() == LISTING_PAGE_SIZE);
 
         int totalAvailable = items.stream()
             .mapToInt(item -> ((Number) item.get("availableQuantity")).intValue())
@@ -268,8 +292,8 @@ public class InventoryController {
             .count();
 
         Map<String, Object> status = new HashMap<>();
-        status.put("products", products.size());
-        status.put("totalProducts", products.size());
+        status.put("products", items.size());
+        status.put("totalProducts", items.size());
         status.put("totalAvailable", totalAvailable);
         status.put("totalReserved", totalReserved);
         status.put("lowStockItems", lowStockItems);
@@ -281,45 +305,24 @@ public class InventoryController {
 
     @GetMapping("/products")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Map<String, Object>>> getAllProducts() {
-        List<Product> products = productRepository.findByActiveTrue();
-        List<Map<String, Object>> result = products.stream()
-            .map(this::mapProductToResponse)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(result);
+    public ResponseEntity<?> getAllProducts(@RequestParam(defaultValue = "") String after,
+                                            @RequestParam(required = false) Integer limit) {
+        return listing(null, after, limit, this::mapProductToResponse);
     }
 
     @GetMapping("/products/search")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Map<String, Object>>> searchProducts(@RequestParam("q") String query) {
-        List<Product> products = productRepository.findByNameContainingIgnoreCaseAndActiveTrue(query);
-        List<Map<String, Object>> result = products.stream()
-            .map(this::mapProductToResponse)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(result);
+    public ResponseEntity<?> searchProducts(@RequestParam("q") String query,
+                                            @RequestParam(defaultValue = "") String after,
+                                            @RequestParam(required = false) Integer limit) {
+        return listing(query, after, limit, this::mapProductToResponse);
     }
 
     @GetMapping
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Map<String, Object>>> getAllInventory() {
-        List<Product> products = productRepository.findByActiveTrue();
-        List<Map<String, Object>> inventory = products.stream().map(product -> {
-            Integer available = stockRepository.getTotalAvailableQuantityByProductId(product.getId());
-            Integer reserved = stockRepository.getTotalReservedQuantityByProductId(product.getId());
-            int totalStock = (available != null ? available : 0) + (reserved != null ? reserved : 0);
-
-            Map<String, Object> item = new HashMap<>();
-            item.put("productId", product.getId());
-            item.put("name", product.getName());
-            item.put("stock", totalStock);
-            item.put("reserved", reserved != null ? reserved : 0);
-            item.put("available", available != null ? available : 0);
-            item.put("price", product.getPrice() != null ? product.getPrice().doubleValue() : 0.0);
-            item.put("status", available == null || available <= 0 ? "OUT_OF_STOCK" : available <= 10 ? "LOW_STOCK" : "IN_STOCK");
-            item.put("timestamp", System.currentTimeMillis());
-            return item;
-        }).collect(Collectors.toList());
-        return ResponseEntity.ok(inventory);
+    public ResponseEntity<?> getAllInventory(@RequestParam(defaultValue = "") String after,
+                                             @RequestParam(required = false) Integer limit) {
+        return listing(null, after, limit, this::mapInventoryItem);
     }
 
     @PostMapping("/products")
@@ -378,37 +381,84 @@ public class InventoryController {
         return ResponseEntity.ok(health);
     }
 
-    private Map<String, Object> mapProductToResponse(Product product) {
+    /**
+     * Returns one page of a product listing when {@code limit} is given, otherwise streams the
+     * whole listing. Streaming runs after the request thread returns, one short read per page.
+     */
+    private ResponseEntity<?> listing(String nameFilter, String after, Integer limit,
+                                      Function<ProductStockSummary, Map<String, Object>> mapper) {
+        if (limit != null) {
+            int pageSize = Math.max(1, Math.min(limit, MAX_LISTING_LIMIT));
+            List<ProductStockSummary> page = summaries(nameFilter, after, pageSize);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.size() == pageSize) {
+                response.header(NEXT_CURSOR_HEADER, page.get(page.size() - 1).productId());
+            }
+            return response.body(page.stream().map(mapper).collect(Collectors.toList()));
+        }
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.createGenerator(out)) {
+                json.writeStartArray();
+                String cursor = after;
+                List<ProductStockSummary> page;
+                do {
+                    page = summaries(nameFilter, cursor, LISTING_PAGE_SIZE);
+                    for (ProductStockSummary summary : page) {
+                        json.writeObject(mapper.apply(summary));
+                        cursor = summary.productId();
+                    }
+                    json.flush();
+                } while (page.size() == LISTING_PAGE_SIZE);
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private List<ProductStockSummary> summaries(String nameFilter, String after, int pageSize) {
+        PageRequest page = PageRequest.of(0, pageSize);
+        return nameFilter != null
+            ? productRepository.findActiveStockSummariesByName(nameFilter, after, page)
+            : productRepository.findActiveStockSummaries(after, page);
+    }
+
+    private Map<String, Object> mapProductToResponse(ProductStockSummary summary) {
         Map<String, Object> map = new HashMap<>();
-        map.put("id", product.getId());
-        map.put("productId", product.getId());
-        map.put("name", product.getName());
-        map.put("description", product.getDescription());
-        map.put("sku", product.getSku());
-        map.put("price", product.getPrice() != null ? product.getPrice().doubleValue() : 0.0);
-        map.put("category", product.getCategory());
-
-        Integer available = stockRepository.getTotalAvailableQuantityByProductId(product.getId());
-        Integer reserved = stockRepository.getTotalReservedQuantityByProductId(product.getId());
-        map.put("stock", (available != null ? available : 0) + (reserved != null ? reserved : 0));
-        map.put("available", available != null ? available : 0);
-        map.put("reserved", reserved != null ? reserved : 0);
+        map.put("id", summary.productId());
+        map.put("productId", summary.productId());
+        map.put("name", summary.name());
+        map.put("description", summary.description());
+        map.put("sku", summary.sku());
+        map.put("price", summary.price() != null ? summary.price().doubleValue() : 0.0);
+        map.put("category", summary.category());
+        map.put("stock", summary.totalQuantity());
+        map.put("available", summary.availableQuantity());
+        map.put("reserved", summary.reservedQuantity());
         return map;
     }
 
-    private Map<String, Object> mapInventoryStatusItem(Product product) {
-        Integer available = stockRepository.getTotalAvailableQuantityByProductId(product.getId());
-        Integer reserved = stockRepository.getTotalReservedQuantityByProductId(product.getId());
-        int availableQuantity = available != null ? available : 0;
-        int reservedQuantity = reserved != null ? reserved : 0;
-        int totalQuantity = availableQuantity + reservedQuantity;
+    private Map<String, Object> mapInventoryItem(ProductStockSummary summary) {
+        int available = summary.availableQuantity();
+        Map<String, Object> item = new HashMap<>();
+        item.put("productId", summary.productId());
+        item.put("name", summary.name());
+        item.put("stock", summary.totalQuantity());
+        item.put("reserved", summary.reservedQuantity());
+        item.put("available", available);
+        item.put("price", summary.price() != null ? summary.price().doubleValue() : 0.0);
+        item.put("status", available <= 0 ? "OUT_OF_STOCK" : available <= 10 ? "LOW_STOCK" : "IN_STOCK");
+        item.put("timestamp", System.currentTimeMillis());
+        return item;
+    }
 
+    private Map<String, Object> mapInventoryStatusItem(ProductStockSummary summary) {
         Map<String, Object> item = new HashMap<>();
-        item.put("productId", product.getId());
-        item.put("productName", product.getName());
-        item.put("availableQuantity", availableQuantity);
-        item.put("reservedQuantity", reservedQuantity);
-        item.put("totalQuantity", totalQuantity);
+        item.put("productId", summary.productId());
+        item.put("productName", summary.name());
+        item.put("availableQuantity", summary.availableQuantity());
+        item.put("reservedQuantity", summary.reservedQuantity());
+        item.put("totalQuantity", summary.totalQuantity());
         return item;
     }
 }
@@ -1,22 +1,36 @@
 package com.ordersystem.unified.inventory;
 
+import com.ordersystem.unified.infrastructure.scheduler.ReservationExpiryTimer;
+import com.ordersystem.unified.inventory.allocation.AllocationPlan;
+import com.ordersystem.unified.inventory.allocation.StockAllocation;
+import com.ordersystem.unified.inventory.allocation.WarehouseAllocator;
 import com.ordersystem.unified.inventory.domain.InventoryBusinessRules;
 import com.ordersystem.unified.inventory.dto.ReservationResponse;
 import com.ordersystem.unified.inventory.dto.ReservationStatus;
+import com.ordersystem.unified.inventory.escrow.StockEscrow;
+import com.ordersystem.unified.inventory.ledger.StockLedger;
 import com.ordersystem.unified.inventory.model.Reservation;
 import com.ordersystem.unified.inventory.model.ReservationItem;
 import com.ordersystem.unified.inventory.model.Stock;
+import com.ordersystem.unified.inventory.repository.ProductRepository;
 import com.ordersystem.unified.inventory.repository.ReservationItemRepository;
 import com.ordersystem.unified.inventory.repository.ReservationRepository;
 import com.ordersystem.unified.inventory.repository.StockRepository;
 import com.ordersystem.unified.domain.events.OrderItem;
+import com.ordersystem.unified.shared.exceptions.InventoryReservationException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -35,6 +49,10 @@ import java.util.stream.Collectors;
  *
  * In mock mode, products not found in the Stock table fall back to
  * {@code inventory.default-stock}. In real mode, missing stock is treated as zero availability.
+ *
+ * In real mode {@code inventory.reservation-strategy} selects how Stock rows are updated,
+ * see {@link ReservationStrategy}. With the PESSIMISTIC strategy, {@code inventory.allocation.policy}
+ * may spread orders across warehouses, see {@link WarehouseAllocator}.
  */
 @Service
 @Transactional
@@ -42,6 +60,8 @@ public class InventoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
 
+    private static final String DEFAULT_WAREHOUSE = "DEFAULT";
+
     @Autowired
     private StockRepository stockRepository;
 
@@ -51,9 +71,33 @@ public class InventoryService {
     @Autowired
     private ReservationItemRepository reservationItemRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
     @Autowired
     private InventoryBusinessRules businessRules;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private WarehouseAllocator warehouseAllocator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Present only with {@code inventory.reservation-strategy=LEDGER}. */
+    @Autowired(required = false)
+    private StockLedger stockLedger;
+
+    /** Present only with {@code inventory.reservation-strategy=ESCROW}. */
+    @Autowired(required = false)
+    private StockEscrow stockEscrow;
+
+    /** Present only with {@code app.reservations.expiry.timer-enabled}. */
+    @Autowired(required = false)
+    private ReservationExpiryTimer reservationExpiryTimer;
+
     /** When true, skip Stock DB mutations and only persist the Reservation for audit. */
     @Value("${inventory.mock-mode:false}")
     private boolean mockMode;
@@ -62,6 +106,10 @@ public class InventoryService {
     @Value("${inventory.default-stock:100}")
     private int defaultStock;
 
+    /** How real-mode reservations update Stock rows. */
+    @Value("${inventory.reservation-strategy:PESSIMISTIC}")
+    private ReservationStrategy reservationStrategy;
+
     // ---------------------------------------------------------------
     // Legacy Map-based API (backward compatibility with old callers)
     // ---------------------------------------------------------------
@@ -104,8 +152,9 @@ public class InventoryService {
      * Reserves the given items for the specified order.
      *
      * <ul>
-     *   <li>In real mode: validates stock availability, acquires pessimistic locks on Stock
-     *       rows, creates Reservation + ReservationItem entities, and updates Stock counters.</li>
+     *   <li>In real mode: the configured strategy decides availability from the Stock rows or
+     *       counters it reserves against, in the same pass that reserves them; no separate
+     *       availability query is issued.</li>
      *   <li>In mock mode: persists only the Reservation row (for audit) and returns success.</li>
      * </ul>
      */
@@ -116,17 +165,83 @@ public class InventoryService {
             return createMockReservation(orderId, items);
         }
 
-        // Pre-flight check (no locks yet)
-        for (OrderItem item : items) {
-            int available = getAvailableQuantity(item.getProductId());
-            if (item.getQuantity() > available) {
-                logger.warn("Insufficient stock: product={}, available={}, requested={}",
-                        item.getProductId(), available, item.getQuantity());
-                return insufficientStockResponse(item.getProductId());
+        if (reservationStrategy == ReservationStrategy.CONDITIONAL_UPDATE) {
+            return createConditionalReservation(orderId, items);
+        }
+        if (ledgerMode()) {
+            return createLedgerReservation(orderId, items);
+        }
+        if (escrowMode()) {
+            return createEscrowReservation(orderId, items);
+        }
+        return createRealReservation(orderId, items);
+    }
+
+    /**
+     * Reserves the items of several orders, each order all-or-nothing, in the caller's
+     * transaction. Results are keyed by order id, in the iteration order of {@code itemsByOrder}.
+     * <p>
+     * With the default pessimistic strategy every Stock row the batch touches is locked in one
+     * statement, in product id order, and the orders are then decided one after the other
+     * against the locked rows. Other strategies reserve order by order.
+     */
+    public Map<String, ReservationResponse> reserveBatch(Map<String, List<OrderItem>> itemsByOrder) {
+        Map<String, ReservationResponse> results = new LinkedHashMap<>();
+        if (mockMode || conditionalUpdates() || ledgerMode() || escrowMode() || warehouseAllocator.isEnabled()) {
+            itemsByOrder.forEach((orderId, items) -> results.put(orderId, reserveItems(orderId, items)));
+            return results;
+        }
+
+        Set<String> productIds = new TreeSet<>();
+        itemsByOrder.values().forEach(items -> productIds.addAll(quantitiesByProduct(items).keySet()));
+        Map<String, Stock> stocks = new HashMap<>();
+        for (Stock stock : stockRepository.findByProductIdInAndWarehouseIdWithLock(productIds, DEFAULT_WAREHOUSE)) {
+            stocks.put(stock.getProduct().getId(), stock);
+        }
+
+        List<Reservation> reservations = new ArrayList<>();
+        List<ReservationItem> reservationItems = new ArrayList<>();
+        for (Map.Entry<String, List<OrderItem>> order : itemsByOrder.entrySet()) {
+            Map<String, Integer> quantities = quantitiesByProduct(order.getValue());
+            String shortProduct = null;
+            for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+                Stock stock = stocks.get(line.getKey());
+                if (stock == null || !stock.canReserve(line.getValue())) {
+                    shortProduct = line.getKey();
+                    break;
+                }
+            }
+            if (shortProduct != null) {
+                logger.warn("Insufficient stock for batched order {}: product={}", order.getKey(), shortProduct);
+                results.put(order.getKey(), insufficientStockResponse(shortProduct));
+                continue;
+            }
+
+            String reservationId = "RES-" + UUID.randomUUID().toString().substring(0, 8);
+            Reservation reservation = new Reservation(reservationId, order.getKey(), businessRules.calculateExpiryTime());
+            reservations.add(reservation);
+            for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+                Stock stock = stocks.get(line.getKey());
+                stock.reserveStock(line.getValue());
+                reservationItems.add(new ReservationItem(
+                        reservation, stock.getProduct(), stock, line.getValue(), line.getValue()));
             }
+
+            ReservationResponse response = new ReservationResponse();
+            response.setReservationId(reservationId);
+            response.setStatus(ReservationStatus.RESERVED);
+            results.put(order.getKey(), response);
         }
 
-        return createRealReservation(orderId, items);
+        // Stock updates, reservations and their items all flush as JDBC batches on commit;
+        // persist skips the per-row SELECT save() issues for an assigned id
+        reservations.forEach(entityManager::persist);
+        reservationItemRepository.saveAll(reservationItems);
+        reservations.forEach(this::scheduleExpiry);
+
+        logger.info("Batch reservation: {} of {} order(s) reserved over {} stock row(s)",
+                reservations.size(), itemsByOrder.size(), stocks.size());
+        return results;
     }
 
     /**
@@ -153,22 +268,41 @@ public class InventoryService {
 
     /**
      * Confirms the reservation, permanently deducting the reserved quantities from Stock.
+     * The reservation moves to CONFIRMED only while it is still active: one that expired or was
+     * released in the meantime already gave its units back, so deducting them again would take
+     * them from other reservations.
+     *
+     * @throws InventoryReservationException if the reservation is no longer active
      */
     public void confirmReservation(List<OrderItem> items, String reservationId) {
         logger.info("Confirming reservation: {}", reservationId);
         reservationRepository.findById(reservationId).ifPresent(reservation -> {
-            reservation.markAsConfirmed();
+            if (reservationRepository.confirmIfActive(reservationId, LocalDateTime.now()) == 0) {
+                throw new InventoryReservationException(reservation.getOrderId(),
+                        "reservation " + reservationId + " is no longer active and cannot be confirmed");
+            }
+            cancelExpiry(reservationId);
             if (!mockMode) {
                 List<ReservationItem> reservationItems =
                         reservationItemRepository.findByReservationId(reservationId);
+                if (ledgerMode()) {
+                    stockLedger.confirm(reservationId, reservation.getOrderId(), quantitiesOf(reservationItems));
+                    reservationItems = List.of();
+                }
                 for (ReservationItem ri : reservationItems) {
-                    if (ri.getStock() != null) {
+                    if (ri.getStock() == null) {
+                        continue;
+                    }
+                    if (atomicStockUpdates()) {
+                        if (stockRepository.confirmReserved(ri.getStock().getId(), ri.getReservedQuantity()) == 0) {
+                            logger.error("Failed to confirm stock for reservation item {}: reserved quantity too low", ri.getId());
+                        }
+                    } else {
                         ri.getStock().confirmReservation(ri.getReservedQuantity());
                         stockRepository.save(ri.getStock());
                     }
                 }
             }
-            reservationRepository.save(reservation);
             logger.debug("Reservation confirmed: {}", reservationId);
         });
     }
@@ -182,16 +316,45 @@ public class InventoryService {
      * Falls back to {@code inventory.default-stock} only in mock mode when no Stock row exists.
      */
     public Integer getAvailableQuantity(String productId) {
-        Integer total = stockRepository.getTotalAvailableQuantityByProductId(productId);
-        if (mockMode && !stockRepository.existsStockForProduct(productId)) {
-            return defaultStock;
+        return getAvailableQuantities(List.of(productId)).get(productId);
+    }
+
+    /**
+     * Returns the available quantity of each product, with one grouped query for all of them.
+     * Every requested product is in the result; missing stock counts as in
+     * {@link #getAvailableQuantity}.
+     */
+    public Map<String, Integer> getAvailableQuantities(Collection<String> productIds) {
+        Map<String, Integer> available = new HashMap<>();
+        if (ledgerMode()) {
+            for (String productId : productIds) {
+                available.put(productId, (int) stockLedger.available(productId));
+            }
+            return available;
         }
-        return total != null ? total : 0;
+        Map<String, Integer> totals = new HashMap<>();
+        for (Object[] row : stockRepository.getTotalAvailableQuantitiesByProductIds(productIds)) {
+            totals.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        for (String productId : productIds) {
+            Integer total = totals.get(productId);
+            if (escrowMode()) {
+                // Units leased by this replica are reserved in the table but still ours to hand out
+                available.put(productId, (total != null ? total : 0) + (int) stockEscrow.quota(productId));
+            } else if (total == null) {
+                available.put(productId, mockMode ? defaultStock : 0);
+            } else {
+                available.put(productId, total);
+            }
+        }
+        return available;
     }
 
     public Map<String, Object> getInventory(String productId) {
         int available = getAvailableQuantity(productId);
-        Integer reserved = stockRepository.getTotalReservedQuantityByProductId(productId);
+        Integer reserved = ledgerMode()
+                ? Integer.valueOf((int) stockLedger.reserved(productId))
+                : stockRepository.getTotalReservedQuantityByProductId(productId);
         int res = (reserved != null) ? reserved : 0;
         Map<String, Object> inventory = new HashMap<>();
         inventory.put("productId", productId);
@@ -218,7 +381,18 @@ public class InventoryService {
     }
 
     public void addOrUpdateProduct(String productId, String productName, Integer quantity) {
-        stockRepository.findByProductIdAndWarehouseId(productId, "DEFAULT").ifPresent(stock -> {
+        addOrUpdateProduct(productId, productName, quantity, DEFAULT_WAREHOUSE);
+    }
+
+    /**
+     * Adds stock of a product in one warehouse. The ledger tracks the default warehouse only.
+     */
+    public void addOrUpdateProduct(String productId, String productName, Integer quantity, String warehouseId) {
+        if (ledgerMode()) {
+            stockLedger.restock(productId, quantity);
+            return;
+        }
+        stockRepository.findByProductIdAndWarehouseId(productId, warehouseId).ifPresent(stock -> {
             stock.addStock(quantity);
             stockRepository.save(stock);
         });
@@ -256,6 +430,8 @@ public class InventoryService {
                 reservationId, orderId, businessRules.calculateExpiryTime());
         reservation = reservationRepository.saveAndFlush(reservation);
 
+        scheduleExpiry(reservation);
+
         ReservationResponse response = new ReservationResponse();
         response.setReservationId(reservationId);
         response.setStatus(ReservationStatus.RESERVED);
@@ -264,41 +440,49 @@ public class InventoryService {
     }
 
     private ReservationResponse createRealReservation(String orderId, List<OrderItem> items) {
-        String reservationId = "RES-" + UUID.randomUUID().toString().substring(0, 8);
+        Map<String, Integer> quantities = quantitiesByProduct(items);
+        if (warehouseAllocator.isEnabled()) {
+            return createAllocatedReservation(orderId, quantities);
+        }
 
-        Reservation reservation = new Reservation(
-                reservationId, orderId, businessRules.calculateExpiryTime());
-        reservation = reservationRepository.saveAndFlush(reservation);
+        // One statement locks every Stock row of the order in product id order: orders sharing
+        // products always lock them in the same sequence and cannot deadlock each other
+        Map<String, Stock> stocks = new HashMap<>();
+        for (Stock stock : stockRepository.findByProductIdInAndWarehouseIdWithLock(quantities.keySet(), DEFAULT_WAREHOUSE)) {
+            stocks.put(stock.getProduct().getId(), stock);
+        }
 
-        for (OrderItem item : items) {
-            Optional<Stock> stockOpt = stockRepository
-                    .findByProductIdAndWarehouseIdWithLock(item.getProductId(), "DEFAULT");
-
-            if (stockOpt.isEmpty()) {
-                logger.warn("No persisted stock found for product {} in real inventory mode", item.getProductId());
-                reservation.markAsCancelled();
-                reservationRepository.save(reservation);
-                return insufficientStockResponse(item.getProductId());
+        // Availability is read from the locked rows themselves. Every line is validated before
+        // anything is written, so a rejected order leaves no Reservation and Stock unchanged
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            Stock stock = stocks.get(line.getKey());
+            if (stock == null) {
+                logger.warn("No persisted stock found for product {} in real inventory mode", line.getKey());
+                return insufficientStockResponse(line.getKey());
             }
-
-            Stock stock = stockOpt.get();
-            try {
-                stock.reserveStock(item.getQuantity());
-                stockRepository.save(stock);
-
-                ReservationItem ri = new ReservationItem(
-                        reservation, stock.getProduct(), stock,
-                        item.getQuantity(), item.getQuantity());
-                reservationItemRepository.save(ri);
-
-            } catch (IllegalStateException e) {
-                logger.warn("Failed to reserve stock for product {}: {}", item.getProductId(), e.getMessage());
-                reservation.markAsCancelled();
-                reservationRepository.save(reservation);
-                return insufficientStockResponse(item.getProductId());
+            if (!stock.canReserve(line.getValue())) {
+                logger.warn("Insufficient stock: product={}, available={}, requested={}",
+                        line.getKey(), stock.getAvailableQuantity(), line.getValue());
+                return insufficientStockResponse(line.getKey());
             }
         }
 
+        String reservationId = "RES-" + UUID.randomUUID().toString().substring(0, 8);
+        Reservation reservation = reservationRepository.save(new Reservation(
+                reservationId, orderId, businessRules.calculateExpiryTime()));
+
+        List<ReservationItem> reservationItems = new ArrayList<>(quantities.size());
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            Stock stock = stocks.get(line.getKey());
+            stock.reserveStock(line.getValue());
+            reservationItems.add(new ReservationItem(
+                    reservation, stock.getProduct(), stock, line.getValue(), line.getValue()));
+        }
+        // Locked stocks are managed: their updates and these inserts flush as JDBC batches on commit
+        reservationItemRepository.saveAll(reservationItems);
+
+        scheduleExpiry(reservation);
+
         ReservationResponse response = new ReservationResponse();
         response.setReservationId(reservationId);
         response.setStatus(ReservationStatus.RESERVED);
@@ -306,7 +490,244 @@ public class InventoryService {
         return response;
     }
 
+    /**
+     * Reserves each line from the warehouse rows chosen by the {@link WarehouseAllocator}; a
+     * line may be split across several rows. Only the chosen rows are locked, in one statement
+     * and in the same order as the single-warehouse path.
+     */
+    private ReservationResponse createAllocatedReservation(String orderId, Map<String, Integer> quantities) {
+        AllocationPlan plan = warehouseAllocator.allocate(quantities);
+        if (!plan.isComplete()) {
+            logger.warn("No warehouse allocation covers product {}", plan.shortProductId());
+            return insufficientStockResponse(plan.shortProductId());
+        }
+
+        Map<String, Stock> stocks = new HashMap<>();
+        for (Stock stock : stockRepository.findByIdInWithLock(plan.stockIds())) {
+            stocks.put(stock.getId(), stock);
+        }
+
+        // The allocation was decided on an unlocked snapshot: re-check it against the locked rows
+        for (StockAllocation allocation : plan.allocations()) {
+            Stock stock = stocks.get(allocation.stockId());
+            if (stock == null || !stock.canReserve(allocation.quantity())) {
+                logger.warn("Insufficient stock since allocation: product={}, warehouse={}, requested={}",
+                        allocation.productId(), allocation.warehouseId(), allocation.quantity());
+                return insufficientStockResponse(allocation.productId());
+            }
+        }
+
+        String reservationId = "RES-" + UUID.randomUUID().toString().substring(0, 8);
+        Reservation reservation = reservationRepository.save(new Reservation(
+                reservationId, orderId, businessRules.calculateExpiryTime()));
+
+        List<ReservationItem> reservationItems = new ArrayList<>(plan.allocations().size());
+        for (StockAllocation allocation : plan.allocations()) {
+            Stock stock = stocks.get(allocation.stockId());
+            stock.reserveStock(allocation.quantity());
+            reservationItems.add(new ReservationItem(
+                    reservation, stock.getProduct(), stock, allocation.quantity(), allocation.quantity()));
+        }
+        reservationItemRepository.saveAll(reservationItems);
+
+        scheduleExpiry(reservation);
+
+        ReservationResponse response = new ReservationResponse();
+        response.setReservationId(reservationId);
+        response.setStatus(ReservationStatus.RESERVED);
+        logger.info("Allocated reservation created: {} for order: {} from {} stock row(s)",
+                reservationId, orderId, stocks.size());
+        return response;
+    }
+
+    /**
+     * Reserves every line with one conditional UPDATE, in a transaction of its own: each Stock
+     * row is locked only for the statements of this method, never for the caller's transaction.
+     * The reservation therefore commits even if the caller later rolls back; callers compensate
+     * through {@link #releaseReservation}, which in this mode commits on its own as well.
+     */
+    private ReservationResponse createConditionalReservation(String orderId, List<OrderItem> items) {
+        return requiresNewTransaction().execute(status -> {
+            Map<String, Integer> quantities = quantitiesByProduct(items);
+            Map<String, String> stockIds = new HashMap<>();
+            for (Object[] row : stockRepository.findStockIdsByProductIds(quantities.keySet(), DEFAULT_WAREHOUSE)) {
+                stockIds.put((String) row[0], (String) row[1]);
+            }
+
+            String reservationId = "RES-" + UUID.randomUUID().toString().substring(0, 8);
+            Reservation reservation = reservationRepository.saveAndFlush(new Reservation(
+                    reservationId, orderId, businessRules.calculateExpiryTime()));
+
+            // Lines run in product id order, so concurrent multi-line reservations take row locks in the same order
+            List<ReservationItem> reservationItems = new ArrayList<>(quantities.size());
+            for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+                String stockId = stockIds.get(line.getKey());
+                if (stockId == null || stockRepository.reserveIfAvailable(stockId, line.getValue()) == 0) {
+                    logger.warn("Conditional reservation rejected: product={}, requested={}",
+                            line.getKey(), line.getValue());
+                    // Rolls back the lines already reserved along with the reservation itself
+                    status.setRollbackOnly();
+                    return insufficientStockResponse(line.getKey());
+                }
+                reservationItems.add(new ReservationItem(
+                        reservation, productRepository.getReferenceById(line.getKey()),
+                        stockRepository.getReferenceById(stockId), line.getValue(), line.getValue()));
+            }
+            reservationItemRepository.saveAll(reservationItems);
+
+            scheduleExpiry(reservation);
+
+            ReservationResponse response = new ReservationResponse();
+            response.setReservationId(reservationId);
+            response.setStatus(ReservationStatus.RESERVED);
+            logger.info("Conditional reservation created: {} for order: {}", reservationId, orderId);
+            return response;
+        });
+    }
+
+    /**
+     * Sums the quantity per product, in product id order; a product listed more than once
+     * is reserved once under a single ReservationItem.
+     */
+    private static Map<String, Integer> quantitiesByProduct(List<OrderItem> items) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    /**
+     * Decides the reservation against the in-memory ledger. The ledger event, the Reservation
+     * and its items are all written in the caller's transaction; nothing locks a Stock row.
+     */
+    private ReservationResponse createLedgerReservation(String orderId, List<OrderItem> items) {
+        Map<String, Integer> quantities = quantitiesByProduct(items);
+        String reservationId = "RES-" + UUID.randomUUID().toString().substring(0, 8);
+        String shortProduct = stockLedger.reserve(reservationId, orderId, quantities, null);
+        if (shortProduct != null) {
+            logger.warn("Ledger reservation rejected: product={}", shortProduct);
+            return insufficientStockResponse(shortProduct);
+        }
+
+        Reservation reservation = reservationRepository.save(new Reservation(
+                reservationId, orderId, businessRules.calculateExpiryTime()));
+        List<ReservationItem> reservationItems = new ArrayList<>(quantities.size());
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            reservationItems.add(new ReservationItem(
+                    reservation, productRepository.getReferenceById(line.getKey()),
+                    stockRepository.getReferenceById(stockLedger.stockIdOf(line.getKey())),
+                    line.getValue(), line.getValue()));
+        }
+        reservationItemRepository.saveAll(reservationItems);
+
+        scheduleExpiry(reservation);
+
+        ReservationResponse response = new ReservationResponse();
+        response.setReservationId(reservationId);
+        response.setStatus(ReservationStatus.RESERVED);
+        logger.info("Ledger reservation created: {} for order: {}", reservationId, orderId);
+        return response;
+    }
+
+    /**
+     * Takes the reservation out of this replica's escrow quota. Only the Reservation and its
+     * items are written in the caller's transaction; a Stock row is locked only when the quota
+     * has to be topped up.
+     */
+    private ReservationResponse createEscrowReservation(String orderId, List<OrderItem> items) {
+        Map<String, Integer> quantities = quantitiesByProduct(items);
+        String shortProduct = stockEscrow.reserve(quantities);
+        if (shortProduct != null) {
+            logger.warn("Escrow reservation rejected: product={}", shortProduct);
+            return insufficientStockResponse(shortProduct);
+        }
+
+        String reservationId = "RES-" + UUID.randomUUID().toString().substring(0, 8);
+        Reservation reservation = reservationRepository.save(new Reservation(
+                reservationId, orderId, businessRules.calculateExpiryTime()));
+        List<ReservationItem> reservationItems = new ArrayList<>(quantities.size());
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            reservationItems.add(new ReservationItem(
+                    reservation, productRepository.getReferenceById(line.getKey()),
+                    stockRepository.getReferenceById(stockEscrow.stockIdOf(line.getKey())),
+                    line.getValue(), line.getValue()));
+        }
+        reservationItemRepository.saveAll(reservationItems);
+
+        scheduleExpiry(reservation);
+
+        ReservationResponse response = new ReservationResponse();
+        response.setReservationId(reservationId);
+        response.setStatus(ReservationStatus.RESERVED);
+        logger.info("Escrow reservation created: {} for order: {}", reservationId, orderId);
+        return response;
+    }
+
+    private static Map<String, Integer> quantitiesOf(List<ReservationItem> reservationItems) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        for (ReservationItem ri : reservationItems) {
+            quantities.merge(ri.getProductId(), ri.getReservedQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private boolean ledgerMode() {
+        return !mockMode && reservationStrategy == ReservationStrategy.LEDGER && stockLedger != null;
+    }
+
+    /**
+     * Hands a new reservation to the expiry timer, if enabled. A reservation rolled back
+     * afterwards is simply not found when its expiry fires.
+     */
+    private void scheduleExpiry(Reservation reservation) {
+        if (reservationExpiryTimer != null) {
+            reservationExpiryTimer.schedule(reservation.getId(), reservation.getExpiryTime());
+        }
+    }
+
+    /**
+     * Takes a settled reservation off the expiry timer so it no longer holds a place there.
+     * Should the settlement roll back, the reservation is left to the periodic sweep.
+     */
+    private void cancelExpiry(String reservationId) {
+        if (reservationExpiryTimer != null) {
+            reservationExpiryTimer.cancel(reservationId);
+        }
+    }
+
+    private boolean escrowMode() {
+        return !mockMode && reservationStrategy == ReservationStrategy.ESCROW && stockEscrow != null;
+    }
+
+    private boolean conditionalUpdates() {
+        return !mockMode && reservationStrategy == ReservationStrategy.CONDITIONAL_UPDATE;
+    }
+
+    /**
+     * Whether Stock counters must be changed with atomic UPDATEs: the row is not locked by the
+     * caller and other writers (leases in escrow mode) update it concurrently.
+     */
+    private boolean atomicStockUpdates() {
+        return conditionalUpdates() || escrowMode();
+    }
+
+    private TransactionTemplate requiresNewTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
     private void doReleaseReservation(String reservationId) {
+        if (conditionalUpdates()) {
+            // The reservation committed on its own, so its release must not ride on the caller's commit
+            requiresNewTransaction().executeWithoutResult(status -> releaseReservationStock(reservationId));
+        } else {
+            releaseReservationStock(reservationId);
+        }
+    }
+
+    private void releaseReservationStock(String reservationId) {
         reservationRepository.findById(reservationId).ifPresentOrElse(reservation -> {
             if (!reservation.canBeReleased()) {
                 logger.warn("Reservation {} cannot be released (status={})",
@@ -315,8 +736,19 @@ public class InventoryService {
             }
             if (!mockMode) {
                 List<ReservationItem> items = reservationItemRepository.findByReservationId(reservationId);
+                if (ledgerMode()) {
+                    stockLedger.release(reservationId, reservation.getOrderId(), quantitiesOf(items));
+                    items = List.of();
+                } else if (escrowMode()) {
+                    stockEscrow.release(quantitiesOf(items));
+                    items = List.of();
+                }
                 for (ReservationItem ri : items) {
-                    if (ri.getStock() != null) {
+                    if (ri.getStock() != null && conditionalUpdates()) {
+                        if (stockRepository.releaseReserved(ri.getStock().getId(), ri.getReservedQuantity()) == 0) {
+                            logger.error("Failed to release stock for reservation item {}: reserved quantity too low", ri.getId());
+                        }
+                    } else if (ri.getStock() != null) {
                         try {
                             ri.getStock().releaseReservation(ri.getReservedQuantity());
                             stockRepository.save(ri.getStock());
@@ -328,6 +760,7 @@ public class InventoryService {
             }
             reservation.markAsReleased();
             reservationRepository.save(reservation);
+            cancelExpiry(reservationId);
             logger.info("Reservation released: {}", reservationId);
         }, () -> logger.warn("Reservation not found for release: {}", reservationId));
     }
@@ -0,0 +1,34 @@
+package com.ordersystem.unified.inventory;
+
+/**
+ * How {@link InventoryService} reserves stock in real inventory mode,
+ * selected by {@code inventory.reservation-strategy}.
+ */
+public enum ReservationStrategy {
+
+    /**
+     * Locks the order's Stock rows with SELECT ... FOR UPDATE and updates the loaded
+     * entities; the locks are held until the calling transaction commits.
+     */
+    PESSIMISTIC,
+
+    /**
+     * Reserves each line with one atomic conditional UPDATE, committed in its own short
+     * transaction. No entity is loaded and no lock outlives the statement batch, so hot
+     * SKUs are limited by statement latency instead of order transaction duration.
+     */
+    CONDITIONAL_UPDATE,
+
+    /**
+     * Decides reservations against in-memory counters ({@code StockLedger}) and logs them
+     * as domain events; {@code stocks} is updated behind them in batches. Single instance only.
+     */
+    LEDGER,
+
+    /**
+     * Each replica leases a slice of a Stock row's available quantity into a local quota
+     * ({@code StockEscrow}) and reserves from it without touching the row; the row is locked
+     * once per lease instead of once per reservation.
+     */
+    ESCROW
+}
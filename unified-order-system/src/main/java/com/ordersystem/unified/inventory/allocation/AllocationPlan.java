@@ -0,0 +1,32 @@
+package com.ordersystem.unified.inventory.allocation;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Outcome of allocating an order: the Stock rows to reserve from, or the first product
+ * no allocation could cover.
+ */
+public record AllocationPlan(List<StockAllocation> allocations, String shortProductId) {
+
+    public static AllocationPlan of(List<StockAllocation> allocations) {
+        return new AllocationPlan(List.copyOf(allocations), null);
+    }
+
+    public static AllocationPlan rejected(String productId) {
+        return new AllocationPlan(List.of(), productId);
+    }
+
+    public boolean isComplete() {
+        return shortProductId == null;
+    }
+
+    public Set<String> stockIds() {
+        Set<String> stockIds = new TreeSet<>();
+        for (StockAllocation allocation : allocations) {
+            stockIds.add(allocation.stockId());
+        }
+        return stockIds;
+    }
+}
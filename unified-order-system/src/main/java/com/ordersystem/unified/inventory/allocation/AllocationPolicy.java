@@ -0,0 +1,37 @@
+package com.ordersystem.unified.inventory.allocation;
+
+/**
+ * How {@link WarehouseAllocator} picks the warehouses an order is reserved from,
+ * selected by {@code inventory.allocation.policy}.
+ */
+public enum AllocationPolicy {
+
+    /**
+     * Every line is reserved from the {@code DEFAULT} warehouse; the allocator is not used.
+     */
+    DEFAULT_WAREHOUSE,
+
+    /**
+     * Each line comes from the first warehouse in {@code inventory.allocation.warehouses}
+     * order that can fill it on its own.
+     */
+    NEAREST,
+
+    /**
+     * Each line comes from the warehouse holding the most available stock of the product.
+     */
+    MOST_STOCK,
+
+    /**
+     * Like {@link #NEAREST}, but a line no single warehouse can fill is split across
+     * warehouses in priority order.
+     */
+    SPLIT_SHIPMENT,
+
+    /**
+     * Ships the whole order from the cheapest warehouse that can fill every line; otherwise
+     * each line goes to a warehouse already shipping, or else the cheapest one that can fill
+     * it. Costs come from {@code inventory.allocation.shipment-costs}.
+     */
+    COST_MINIMIZING
+}
@@ -0,0 +1,7 @@
+package com.ordersystem.unified.inventory.allocation;
+
+/**
+ * Quantity of a product to reserve from one warehouse's Stock row.
+ */
+public record StockAllocation(String productId, String stockId, String warehouseId, int quantity) {
+}
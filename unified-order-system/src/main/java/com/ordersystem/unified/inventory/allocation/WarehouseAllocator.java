@@ -0,0 +1,185 @@
+package com.ordersystem.unified.inventory.allocation;
+
+import com.ordersystem.unified.inventory.repository.StockRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Chooses the warehouse Stock rows an order's lines are reserved from, following
+ * {@code inventory.allocation.policy}.
+ * <p>
+ * Choices are made against a snapshot of per-warehouse availability read in one unlocked
+ * query, so deciding never holds a lock. The caller locks only the chosen rows and re-checks
+ * them; a row that lost stock since the snapshot rejects the order like any other shortage.
+ * <p>
+ * {@code inventory.allocation.warehouses} ranks warehouses, nearest first; unlisted warehouses
+ * rank after the listed ones in id order. {@code inventory.allocation.shipment-costs} lists
+ * {@code warehouse:cost} pairs for {@link AllocationPolicy#COST_MINIMIZING}; unlisted warehouses cost 0.
+ */
+@Component
+public class WarehouseAllocator {
+
+    private final StockRepository stockRepository;
+    private final AllocationPolicy policy;
+    private final List<String> warehousePriority;
+    private final Map<String, Integer> shipmentCosts = new HashMap<>();
+    private final Comparator<WarehouseStock> byPriority;
+
+    public WarehouseAllocator(StockRepository stockRepository,
+                              @Value("${inventory.allocation.policy:DEFAULT_WAREHOUSE}") AllocationPolicy policy,
+                              @Value("${inventory.allocation.warehouses:}") List<String> warehousePriority,
+                              @Value("${inventory.allocation.shipment-costs:}") List<String> shipmentCosts) {
+        this.stockRepository = stockRepository;
+        this.policy = policy;
+        this.warehousePriority = List.copyOf(warehousePriority);
+        for (String entry : shipmentCosts) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid inventory.allocation.shipment-costs entry: " + entry);
+            }
+            this.shipmentCosts.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        this.byPriority = Comparator.<WarehouseStock>comparingInt(stock -> rank(stock.warehouseId()))
+                .thenComparing(WarehouseStock::warehouseId);
+    }
+
+    /**
+     * Whether orders are allocated across warehouses instead of reserved from {@code DEFAULT}.
+     */
+    public boolean isEnabled() {
+        return policy != AllocationPolicy.DEFAULT_WAREHOUSE;
+    }
+
+    /**
+     * Allocates every line of an order, given as quantity per product.
+     */
+    public AllocationPlan allocate(Map<String, Integer> quantities) {
+        Map<String, List<WarehouseStock>> snapshot = new HashMap<>();
+        for (Object[] row : stockRepository.findWarehouseAvailabilityByProductIds(quantities.keySet())) {
+            WarehouseStock stock = new WarehouseStock((String) row[0], (String) row[1], (String) row[2], (Integer) row[3]);
+            snapshot.computeIfAbsent(stock.productId(), id -> new ArrayList<>()).add(stock);
+        }
+        snapshot.values().forEach(candidates -> candidates.sort(byPriority));
+
+        return switch (policy) {
+            case NEAREST, DEFAULT_WAREHOUSE -> singleWarehouse(quantities, snapshot, byPriority);
+            case MOST_STOCK -> singleWarehouse(quantities, snapshot,
+                    Comparator.comparingInt(WarehouseStock::available).reversed().thenComparing(byPriority));
+            case SPLIT_SHIPMENT -> splitShipment(quantities, snapshot);
+            case COST_MINIMIZING -> costMinimizing(quantities, snapshot);
+        };
+    }
+
+    private AllocationPlan singleWarehouse(Map<String, Integer> quantities, Map<String, List<WarehouseStock>> snapshot,
+                                           Comparator<WarehouseStock> preference) {
+        List<StockAllocation> allocations = new ArrayList<>(quantities.size());
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            WarehouseStock chosen = candidates(snapshot, line.getKey()).stream()
+                    .filter(stock -> stock.available() >= line.getValue())
+                    .min(preference)
+                    .orElse(null);
+            if (chosen == null) {
+                return AllocationPlan.rejected(line.getKey());
+            }
+            allocations.add(chosen.allocate(line.getValue()));
+        }
+        return AllocationPlan.of(allocations);
+    }
+
+    private AllocationPlan splitShipment(Map<String, Integer> quantities, Map<String, List<WarehouseStock>> snapshot) {
+        List<StockAllocation> allocations = new ArrayList<>();
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            List<WarehouseStock> candidates = candidates(snapshot, line.getKey());
+            WarehouseStock whole = candidates.stream()
+                    .filter(stock -> stock.available() >= line.getValue())
+                    .findFirst()
+                    .orElse(null);
+            if (whole != null) {
+                allocations.add(whole.allocate(line.getValue()));
+                continue;
+            }
+            int remaining = line.getValue();
+            for (WarehouseStock stock : candidates) {
+                int quantity = Math.min(stock.available(), remaining);
+                allocations.add(stock.allocate(quantity));
+                remaining -= quantity;
+                if (remaining == 0) {
+                    break;
+                }
+            }
+            if (remaining > 0) {
+                return AllocationPlan.rejected(line.getKey());
+            }
+        }
+        return AllocationPlan.of(allocations);
+    }
+
+    private AllocationPlan costMinimizing(Map<String, Integer> quantities, Map<String, List<WarehouseStock>> snapshot) {
+        // Warehouses able to ship the whole order on their own
+        Set<String> wholeOrder = null;
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            Set<String> filling = new LinkedHashSet<>();
+            for (WarehouseStock stock : candidates(snapshot, line.getKey())) {
+                if (stock.available() >= line.getValue()) {
+                    filling.add(stock.warehouseId());
+                }
+            }
+            if (wholeOrder == null) {
+                wholeOrder = filling;
+            } else {
+                wholeOrder.retainAll(filling);
+            }
+        }
+
+        List<StockAllocation> allocations = new ArrayList<>(quantities.size());
+        Set<String> shipping = new HashSet<>();
+        if (wholeOrder != null && !wholeOrder.isEmpty()) {
+            shipping.add(wholeOrder.stream()
+                    .min(Comparator.<String>comparingInt(this::shipmentCost).thenComparingInt(this::rank))
+                    .orElseThrow());
+        }
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            WarehouseStock chosen = candidates(snapshot, line.getKey()).stream()
+                    .filter(stock -> stock.available() >= line.getValue())
+                    .min(Comparator.<WarehouseStock>comparingInt(
+                                    stock -> shipping.contains(stock.warehouseId()) ? 0 : shipmentCost(stock.warehouseId()))
+                            .thenComparing(byPriority))
+                    .orElse(null);
+            if (chosen == null) {
+                return AllocationPlan.rejected(line.getKey());
+            }
+            shipping.add(chosen.warehouseId());
+            allocations.add(chosen.allocate(line.getValue()));
+        }
+        return AllocationPlan.of(allocations);
+    }
+
+    private static List<WarehouseStock> candidates(Map<String, List<WarehouseStock>> snapshot, String productId) {
+        return snapshot.getOrDefault(productId, List.of());
+    }
+
+    private int rank(String warehouseId) {
+        int rank = warehousePriority.indexOf(warehouseId);
+        return rank >= 0 ? rank : warehousePriority.size();
+    }
+
+    private int shipmentCost(String warehouseId) {
+        return shipmentCosts.getOrDefault(warehouseId, 0);
+    }
+
+    private record WarehouseStock(String stockId, String productId, String warehouseId, int available) {
+
+        StockAllocation allocate(int quantity) {
+            return new StockAllocation(productId, stockId, warehouseId, quantity);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ordersystem.unified.inventory.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A product with its stock summed over every warehouse, read in one grouped query
+ */
+public record ProductStockSummary(String productId,
+                                  String name,
+                                  String description,
+                                  String sku,
+                                  BigDecimal price,
+                                  String category,
+                                  Long available,
+                                  Long reserved) {
+
+    public int availableQuantity() {
+        return available != null ? available.intValue() : 0;
+    }
+
+    public int reservedQuantity() {
+        return reserved != null ? reserved.intValue() : 0;
+    }
+
+    public int totalQuantity() {
+        return availableQuantity() + reservedQuantity();
+    }
+}
@@ -0,0 +1,339 @@
+package com.ordersystem.unified.inventory.escrow;
+
+import com.ordersystem.unified.inventory.model.Stock;
+import com.ordersystem.unified.inventory.repository.StockRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-replica stock quota for the ESCROW reservation strategy.
+ * <p>
+ * A lease moves a slice of a Stock row's available quantity to reserved, on behalf of this
+ * replica, and adds it to a local quota; reservations are then served from the quota with
+ * compare-and-set, without locking the row. The row is locked only to lease, top up or return
+ * quota, so its write rate drops by about the lease size. Released reservations go back to the
+ * local quota, which a background task tops up below the low watermark, trims back to one lease
+ * when it grows past two, and renews in {@code stock_escrow_leases}. Leases of replicas that
+ * stopped renewing are returned to available by the survivors.
+ * <p>
+ * The lease row holds the unused quota as of its last renewal, so a replica that dies may
+ * strand or over-return what it handed out within one refill interval.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory", name = "reservation-strategy", havingValue = "ESCROW")
+public class StockEscrow {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockEscrow.class);
+
+    private static final String WAREHOUSE = "DEFAULT";
+
+    private static final String ADD_TO_LEASE_SQL =
+        "INSERT INTO stock_escrow_leases (stock_id, owner_id, quantity, renewed_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (stock_id, owner_id) DO UPDATE SET quantity = stock_escrow_leases.quantity + EXCLUDED.quantity, " +
+        "renewed_at = CURRENT_TIMESTAMP";
+
+    private final StockRepository stockRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate leaseTransaction;
+    private final int leaseSize;
+    private final int lowWatermark;
+    private final long leaseTtl;
+    private final String ownerId;
+    /** Stock id per product id. */
+    private final Map<String, String> stockIds = new ConcurrentHashMap<>();
+    /** Unused leased units per stock id. */
+    private final Map<String, AtomicLong> quotas = new ConcurrentHashMap<>();
+    /** Stocks reserved from since the last refill, the only ones worth topping up. */
+    private final Set<String> demanded = ConcurrentHashMap.newKeySet();
+
+    public StockEscrow(StockRepository stockRepository,
+                       JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${inventory.escrow.lease-size:50}") int leaseSize,
+                       @Value("${inventory.escrow.low-watermark:10}") int lowWatermark,
+                       @Value("${inventory.escrow.lease-ttl:30000}") long leaseTtl) {
+        this.stockRepository = stockRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseSize = leaseSize;
+        this.lowWatermark = lowWatermark;
+        this.leaseTtl = leaseTtl;
+        this.ownerId = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Takes the quantities from the local quotas, leasing more where a quota falls short;
+     * all or nothing. The units are given back if the caller's transaction rolls back.
+     *
+     * @param quantities Quantity per product id
+     * @return the first product that could not be covered, or null once everything is reserved
+     */
+    public String reserve(Map<String, Integer> quantities) {
+        Map<String, Integer> taken = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            String stockId = stockIdOf(entry.getKey());
+            if (stockId == null || !takeOrLease(stockId, entry.getValue())) {
+                giveBack(taken, 1);
+                return entry.getKey();
+            }
+            taken.put(stockId, entry.getValue());
+        }
+        onRollback(() -> giveBack(taken, 1));
+        return null;
+    }
+
+    /**
+     * Returns reserved quantities to this replica's quota; they stay reserved in {@code stocks}
+     * under its lease.
+     */
+    public void release(Map<String, Integer> quantities) {
+        Map<String, Integer> released = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            String stockId = stockIdOf(entry.getKey());
+            if (stockId == null) {
+                logger.warn("Stock escrow has no stock for product {}", entry.getKey());
+                continue;
+            }
+            released.merge(stockId, entry.getValue(), Integer::sum);
+        }
+        giveBack(released, 1);
+        onRollback(() -> giveBack(released, -1));
+    }
+
+    /**
+     * Units of a product this replica can hand out without leasing.
+     */
+    public long quota(String productId) {
+        String stockId = stockIdOf(productId);
+        AtomicLong quota = stockId != null ? quotas.get(stockId) : null;
+        return quota != null ? Math.max(quota.get(), 0) : 0;
+    }
+
+    /**
+     * Stock row id of a product, or null if it has none.
+     */
+    public String stockIdOf(String productId) {
+        String stockId = stockIds.get(productId);
+        if (stockId != null) {
+            return stockId;
+        }
+        for (Object[] row : stockRepository.findStockIdsByProductIds(List.of(productId), WAREHOUSE)) {
+            stockId = (String) row[1];
+            stockIds.put(productId, stockId);
+        }
+        return stockId;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    /**
+     * Tops up, trims and renews this replica's leases, then returns the leases of replicas
+     * that stopped renewing theirs.
+     */
+    @Scheduled(fixedDelayString = "${inventory.escrow.refill-interval:500}")
+    public void maintain() {
+        for (Map.Entry<String, AtomicLong> entry : quotas.entrySet()) {
+            String stockId = entry.getKey();
+            AtomicLong quota = entry.getValue();
+            try {
+                synchronized (quota) {
+                    long units = quota.get();
+                    if (units < lowWatermark && demanded.remove(stockId)) {
+                        quota.addAndGet(lease(stockId, leaseSize));
+                    } else if (units > 2L * leaseSize) {
+                        giveUp(stockId, quota, units - leaseSize);
+                    }
+                    renew(stockId, quota);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to maintain escrow lease of stock {}", stockId, e);
+            }
+        }
+        try {
+            reclaimExpiredLeases();
+        } catch (RuntimeException e) {
+            logger.error("Failed to reclaim expired escrow leases", e);
+        }
+    }
+
+    /**
+     * Returns every unused unit to {@code stocks} so a stopping replica strands nothing.
+     */
+    @PreDestroy
+    public void returnAll() {
+        for (Map.Entry<String, AtomicLong> entry : quotas.entrySet()) {
+            AtomicLong quota = entry.getValue();
+            try {
+                synchronized (quota) {
+                    giveUp(entry.getKey(), quota, quota.get());
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to return escrow quota of stock {}", entry.getKey(), e);
+            }
+        }
+        jdbcTemplate.update("DELETE FROM stock_escrow_leases WHERE owner_id = ? AND quantity <= 0", ownerId);
+    }
+
+    private boolean takeOrLease(String stockId, int quantity) {
+        AtomicLong quota = quotaOf(stockId);
+        demanded.add(stockId);
+        if (take(quota, quantity)) {
+            return true;
+        }
+        // One lease per stock at a time; whoever waited here likely finds the quota refilled
+        synchronized (quota) {
+            if (take(quota, quantity)) {
+                return true;
+            }
+            quota.addAndGet(lease(stockId, Math.max(leaseSize, quantity - quota.get())));
+            return take(quota, quantity);
+        }
+    }
+
+    private static boolean take(AtomicLong quota, long quantity) {
+        long current;
+        do {
+            current = quota.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!quota.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    private void giveBack(Map<String, Integer> quantities, int sign) {
+        quantities.forEach((stockId, quantity) -> quotaOf(stockId).addAndGet(sign * (long) quantity));
+    }
+
+    /**
+     * Moves up to {@code wanted} units of the Stock row from available to reserved under this
+     * replica's lease, committed on its own.
+     *
+     * @return the units granted, less than wanted if the row ran short
+     */
+    long lease(String stockId, long wanted) {
+        Integer granted = leaseTransaction.execute(status -> {
+            Stock stock = stockRepository.findByIdWithLock(stockId).orElse(null);
+            if (stock == null || stock.getAvailableQuantity() <= 0) {
+                return 0;
+            }
+            int grant = (int) Math.min(wanted, stock.getAvailableQuantity());
+            stock.reserveStock(grant);
+            stockRepository.save(stock);
+            jdbcTemplate.update(ADD_TO_LEASE_SQL, stockId, ownerId, grant);
+            return grant;
+        });
+        if (granted != null && granted > 0) {
+            logger.debug("Leased {} units of stock {} into escrow", granted, stockId);
+        }
+        return granted != null ? granted : 0;
+    }
+
+    /**
+     * Takes up to {@code units} out of the quota and returns them to the Stock row's available
+     * quantity. Caller holds the quota's monitor.
+     */
+    private void giveUp(String stockId, AtomicLong quota, long units) {
+        long returned = Math.min(units, quota.get());
+        if (returned <= 0 || !take(quota, returned)) {
+            return;
+        }
+        try {
+            leaseTransaction.executeWithoutResult(status -> {
+                stockRepository.findByIdWithLock(stockId).ifPresent(stock -> {
+                    stock.releaseReservation((int) returned);
+                    stockRepository.save(stock);
+                });
+                jdbcTemplate.update(
+                    "UPDATE stock_escrow_leases SET quantity = quantity - ?, renewed_at = CURRENT_TIMESTAMP " +
+                    "WHERE stock_id = ? AND owner_id = ?", returned, stockId, ownerId);
+            });
+        } catch (RuntimeException e) {
+            quota.addAndGet(returned);
+            throw e;
+        }
+    }
+
+    /**
+     * Records the current quota on the lease row. A missing row means another replica took
+     * this lease for dead and returned it; the units are no longer ours to hand out.
+     * Caller holds the quota's monitor.
+     */
+    private void renew(String stockId, AtomicLong quota) {
+        long units = quota.get();
+        int updated = jdbcTemplate.update(
+            "UPDATE stock_escrow_leases SET quantity = ?, renewed_at = CURRENT_TIMESTAMP WHERE stock_id = ? AND owner_id = ?",
+            Math.max(units, 0), stockId, ownerId);
+        if (updated == 0 && units > 0) {
+            logger.warn("Escrow lease of stock {} was reclaimed; dropping {} local units", stockId, units);
+            quota.addAndGet(-units);
+        }
+    }
+
+    private void reclaimExpiredLeases() {
+        Timestamp expiredBefore = new Timestamp(System.currentTimeMillis() - leaseTtl);
+        leaseTransaction.executeWithoutResult(status -> {
+            List<ExpiredLease> expired = jdbcTemplate.query(
+                "SELECT stock_id, owner_id, quantity FROM stock_escrow_leases " +
+                "WHERE owner_id <> ? AND renewed_at < ? ORDER BY stock_id FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> new ExpiredLease(rs.getString("stock_id"), rs.getString("owner_id"), rs.getInt("quantity")),
+                ownerId, expiredBefore);
+            for (ExpiredLease lease : expired) {
+                if (lease.quantity() > 0) {
+                    stockRepository.findByIdWithLock(lease.stockId()).ifPresent(stock -> {
+                        stock.releaseReservation(Math.min(lease.quantity(), stock.getReservedQuantity()));
+                        stockRepository.save(stock);
+                    });
+                }
+                jdbcTemplate.update("DELETE FROM stock_escrow_leases WHERE stock_id = ? AND owner_id = ?",
+                                    lease.stockId(), lease.ownerId());
+                logger.warn("Returned {} units of stock {} from the expired escrow lease of {}",
+                           lease.quantity(), lease.stockId(), lease.ownerId());
+            }
+        });
+    }
+
+    private AtomicLong quotaOf(String stockId) {
+        return quotas.computeIfAbsent(stockId, id -> new AtomicLong());
+    }
+
+    private static void onRollback(Runnable undo) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        undo.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private record ExpiredLease(String stockId, String ownerId, int quantity) {
+    }
+}
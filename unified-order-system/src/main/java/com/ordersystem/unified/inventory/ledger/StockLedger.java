@@ -0,0 +1,329 @@
+package com.ordersystem.unified.inventory.ledger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ordersystem.unified.domain.events.InventoryLedgerEvent;
+import com.ordersystem.unified.domain.events.InventoryLedgerEvent.Line;
+import com.ordersystem.unified.domain.events.InventoryLedgerEvent.Operation;
+import com.ordersystem.unified.infrastructure.events.DomainEventEntity;
+import com.ordersystem.unified.infrastructure.events.DomainEventRepository;
+import com.ordersystem.unified.infrastructure.events.EventCodecRegistry;
+import com.ordersystem.unified.infrastructure.events.EventPublisher;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * In-memory stock counters for the LEDGER reservation strategy.
+ * <p>
+ * Every Stock row of the default warehouse owns a slot in one {@link AtomicLongArray};
+ * reservations are decided with compare-and-set on the slot's available counter, without
+ * locks or database round trips. Each mutation is logged as an {@link InventoryLedgerEvent}
+ * in the caller's transaction and undone in memory if that transaction rolls back. The
+ * {@link StockLedgerProjection} writes the logged deltas back to {@code stocks} in batches,
+ * and on startup the counters are rebuilt from {@code stocks} plus the events after that
+ * projection's checkpoint (and at the positions it still awaits as gaps).
+ * <p>
+ * The counters are authoritative only while a single instance runs the LEDGER strategy.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory", name = "reservation-strategy", havingValue = "LEDGER")
+public class StockLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedger.class);
+
+    private static final String WAREHOUSE = "DEFAULT";
+
+    /** Longs per slot, so the counters of neighbouring slots sit on different cache lines. */
+    private static final int STRIDE = 8;
+    private static final int AVAILABLE = 0;
+    private static final int RESERVED = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DomainEventRepository eventRepository;
+    private final EventCodecRegistry eventCodecs;
+    private final EventPublisher eventPublisher;
+    private final TransactionTemplate snapshotTransaction;
+    private final int capacity;
+    private final AtomicLongArray counters;
+    private final String[] stockIds;
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private int slotCount;
+
+    public StockLedger(JdbcTemplate jdbcTemplate,
+                       DomainEventRepository eventRepository,
+                       EventCodecRegistry eventCodecs,
+                       EventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${inventory.ledger.capacity:65536}") int capacity,
+                       @Value("${app.projections.enabled:false}") boolean projectionsEnabled) {
+        if (!projectionsEnabled) {
+            throw new IllegalStateException("inventory.reservation-strategy=LEDGER requires app.projections.enabled=true: "
+                + "the " + StockLedgerProjection.NAME + " projection writes the ledger back to stocks");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventRepository = eventRepository;
+        this.eventCodecs = eventCodecs;
+        this.eventPublisher = eventPublisher;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.capacity = capacity;
+        this.counters = new AtomicLongArray(capacity * STRIDE);
+        this.stockIds = new String[capacity];
+    }
+
+    /**
+     * Loads {@code stocks} and replays the ledger events not yet written back to it,
+     * all from one snapshot.
+     */
+    @PostConstruct
+    public void rehydrate() {
+        snapshotTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.query(
+                "SELECT id, product_id, available_quantity, reserved_quantity FROM stocks WHERE warehouse_id = ?",
+                rs -> {
+                    register(rs.getString("id"), rs.getString("product_id"),
+                        rs.getLong("available_quantity"), rs.getLong("reserved_quantity"));
+                }, WAREHOUSE);
+            List<Long> checkpoint = jdbcTemplate.queryForList(
+                "SELECT position FROM projection_checkpoints WHERE projection_name = ?",
+                Long.class, StockLedgerProjection.NAME);
+            long from = checkpoint.isEmpty() ? 0 : checkpoint.get(0);
+
+            int replayed = 0;
+            try (Stream<DomainEventEntity> events = eventRepository.streamByGlobalPositionRange(from, Long.MAX_VALUE)) {
+                for (DomainEventEntity event : (Iterable<DomainEventEntity>) events::iterator) {
+                    replayed += replay(event);
+                }
+            }
+            // Skipped by the projection but committed since: not yet in stocks either
+            List<Long> skipped = jdbcTemplate.queryForList(
+                "SELECT position FROM projection_gaps WHERE projection_name = ? AND position <= ?",
+                Long.class, StockLedgerProjection.NAME, from);
+            if (!skipped.isEmpty()) {
+                for (DomainEventEntity event : eventRepository.findByGlobalPositionInOrderByGlobalPositionAsc(skipped)) {
+                    replayed += replay(event);
+                }
+            }
+            logger.info("Stock ledger loaded {} stocks and replayed {} ledger events after position {}",
+                       slotCount, replayed, from);
+        });
+    }
+
+    private int replay(DomainEventEntity event) {
+        if (!InventoryLedgerEvent.class.getSimpleName().equals(event.getEventType())) {
+            return 0;
+        }
+        applyLines(readLines(event), 1);
+        return 1;
+    }
+
+    /**
+     * Moves the quantities from available to reserved, all or nothing.
+     *
+     * @param quantities Quantity per product id
+     * @return the first product that could not be covered, or null once everything is reserved
+     */
+    public String reserve(String reservationId, String orderId, Map<String, Integer> quantities, String correlationId) {
+        List<Line> lines = new ArrayList<>(quantities.size());
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            Integer slot = slotOf(entry.getKey());
+            if (slot == null || !take(slot, entry.getValue())) {
+                applyLines(lines, -1);
+                return entry.getKey();
+            }
+            counters.addAndGet(slot * STRIDE + RESERVED, entry.getValue());
+            lines.add(new Line(stockIds[slot], entry.getKey(), -entry.getValue(), entry.getValue(), 0));
+        }
+        record(reservationId, EventPublisher.NO_STREAM,
+            new InventoryLedgerEvent(reservationId, orderId, Operation.RESERVE, lines, correlationId));
+        return null;
+    }
+
+    /**
+     * Returns reserved quantities to available.
+     */
+    public void release(String reservationId, String orderId, Map<String, Integer> quantities) {
+        List<Line> lines = linesFor(quantities, 1, -1, 0);
+        applyLines(lines, 1);
+        record(reservationId, EventPublisher.ANY_VERSION,
+            new InventoryLedgerEvent(reservationId, orderId, Operation.RELEASE, lines, null));
+    }
+
+    /**
+     * Deducts reserved quantities from stock for good.
+     */
+    public void confirm(String reservationId, String orderId, Map<String, Integer> quantities) {
+        List<Line> lines = linesFor(quantities, 0, -1, -1);
+        applyLines(lines, 1);
+        record(reservationId, EventPublisher.ANY_VERSION,
+            new InventoryLedgerEvent(reservationId, orderId, Operation.CONFIRM, lines, null));
+    }
+
+    /**
+     * Adds newly received stock of a product.
+     *
+     * @return false if the product has no Stock row
+     */
+    public boolean restock(String productId, int quantity) {
+        if (slotOf(productId) == null) {
+            return false;
+        }
+        List<Line> lines = linesFor(Map.of(productId, quantity), 1, 0, 1);
+        applyLines(lines, 1);
+        String entryId = "RESTOCK-" + UUID.randomUUID();
+        record(entryId, EventPublisher.NO_STREAM,
+            new InventoryLedgerEvent(null, null, Operation.RESTOCK, lines, null));
+        return true;
+    }
+
+    /**
+     * Available quantity of a product, or 0 if it has no Stock row.
+     */
+    public long available(String productId) {
+        Integer slot = slotOf(productId);
+        return slot != null ? counters.get(slot * STRIDE + AVAILABLE) : 0;
+    }
+
+    public long reserved(String productId) {
+        Integer slot = slotOf(productId);
+        return slot != null ? counters.get(slot * STRIDE + RESERVED) : 0;
+    }
+
+    /**
+     * Stock row id behind a product's slot, or null if it has none.
+     */
+    public String stockIdOf(String productId) {
+        Integer slot = slotOf(productId);
+        return slot != null ? stockIds[slot] : null;
+    }
+
+    private boolean take(int slot, long quantity) {
+        int index = slot * STRIDE + AVAILABLE;
+        long current;
+        do {
+            current = counters.get(index);
+            if (current < quantity) {
+                return false;
+            }
+        } while (!counters.compareAndSet(index, current, current - quantity));
+        return true;
+    }
+
+    /**
+     * Logs the mutation in the caller's transaction; its in-memory effect is reverted if that
+     * transaction rolls back, or right away if the event cannot be appended.
+     */
+    private void record(String streamId, long expectedVersion, InventoryLedgerEvent event) {
+        List<Line> lines = event.getLines();
+        try {
+            eventPublisher.append(streamId, expectedVersion, List.of(event));
+        } catch (RuntimeException e) {
+            applyLines(lines, -1);
+            throw e;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        applyLines(lines, -1);
+                    }
+                }
+            });
+        }
+    }
+
+    private List<Line> linesFor(Map<String, Integer> quantities, int available, int reserved, int total) {
+        List<Line> lines = new ArrayList<>(quantities.size());
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            Integer slot = slotOf(entry.getKey());
+            if (slot == null) {
+                logger.warn("Stock ledger has no stock for product {}", entry.getKey());
+                continue;
+            }
+            long quantity = entry.getValue();
+            lines.add(new Line(stockIds[slot], entry.getKey(),
+                available * quantity, reserved * quantity, total * quantity));
+        }
+        return lines;
+    }
+
+    void applyLines(List<Line> lines, int sign) {
+        for (Line line : lines) {
+            Integer slot = slotOf(line.getProductId());
+            if (slot == null) {
+                continue;
+            }
+            counters.addAndGet(slot * STRIDE + AVAILABLE, sign * line.getAvailable());
+            counters.addAndGet(slot * STRIDE + RESERVED, sign * line.getReserved());
+        }
+    }
+
+    private List<Line> readLines(DomainEventEntity event) {
+        JsonNode payload;
+        try {
+            payload = eventCodecs.read(event);
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt ledger event payload: " + event.getId(), e);
+        }
+        List<Line> lines = new ArrayList<>();
+        for (JsonNode line : payload.path("lines")) {
+            lines.add(new Line(line.path("stockId").asText(), line.path("productId").asText(),
+                line.path("available").asLong(), line.path("reserved").asLong(), line.path("total").asLong()));
+        }
+        return lines;
+    }
+
+    private Integer slotOf(String productId) {
+        Integer slot = slots.get(productId);
+        return slot != null ? slot : loadSlot(productId);
+    }
+
+    /**
+     * Registers a Stock row created after startup. It has no ledger events yet, so the
+     * table row is its current state.
+     */
+    private synchronized Integer loadSlot(String productId) {
+        Integer slot = slots.get(productId);
+        if (slot != null) {
+            return slot;
+        }
+        List<Integer> registered = jdbcTemplate.query(
+            "SELECT id, available_quantity, reserved_quantity FROM stocks WHERE product_id = ? AND warehouse_id = ?",
+            (rs, rowNum) -> register(rs.getString("id"), productId,
+                rs.getLong("available_quantity"), rs.getLong("reserved_quantity")),
+            productId, WAREHOUSE);
+        return registered.isEmpty() ? null : registered.get(0);
+    }
+
+    synchronized int register(String stockId, String productId, long available, long reserved) {
+        if (slotCount == capacity) {
+            throw new IllegalStateException("Stock ledger is full: raise inventory.ledger.capacity above " + capacity);
+        }
+        int slot = slotCount++;
+        stockIds[slot] = stockId;
+        counters.set(slot * STRIDE + AVAILABLE, available);
+        counters.set(slot * STRIDE + RESERVED, reserved);
+        slots.put(productId, slot);
+        return slot;
+    }
+}
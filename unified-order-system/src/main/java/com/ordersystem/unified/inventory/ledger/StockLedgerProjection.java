@@ -0,0 +1,76 @@
+package com.ordersystem.unified.inventory.ledger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ordersystem.unified.domain.events.InventoryLedgerEvent;
+import com.ordersystem.unified.query.projection.ProjectedEvent;
+import com.ordersystem.unified.query.projection.Projection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Write-behind of the {@link StockLedger}: folds committed ledger events into {@code stocks},
+ * one batched delta UPDATE per touched row for each projection batch. Its checkpoint marks how
+ * far {@code stocks} reflects the ledger, which is where rehydration starts replaying; positions
+ * below it that are still listed in {@code projection_gaps} are replayed as well.
+ * <p>
+ * Deltas commute, so an event that commits after the engine skipped its position is applied
+ * late rather than dropped, which would leave {@code stocks} permanently off.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory", name = "reservation-strategy", havingValue = "LEDGER")
+public class StockLedgerProjection implements Projection {
+
+    public static final String NAME = "stock-ledger";
+
+    private static final String EVENT_TYPE = InventoryLedgerEvent.class.getSimpleName();
+
+    private static final String APPLY_DELTA_SQL =
+        "UPDATE stocks SET available_quantity = available_quantity + ?, reserved_quantity = reserved_quantity + ?, " +
+        "total_quantity = total_quantity + ?, last_stock_update = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP " +
+        "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockLedgerProjection(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean appliesLateEvents() {
+        return true;
+    }
+
+    @Override
+    public void apply(List<ProjectedEvent> events) {
+        // Sorted by stock id, so concurrent writers of the same rows lock them in one order
+        Map<String, long[]> deltas = new TreeMap<>();
+        for (ProjectedEvent event : events) {
+            if (!EVENT_TYPE.equals(event.eventType())) {
+                continue;
+            }
+            for (JsonNode line : event.payload().path("lines")) {
+                long[] delta = deltas.computeIfAbsent(line.path("stockId").asText(), id -> new long[3]);
+                delta[0] += line.path("available").asLong();
+                delta[1] += line.path("reserved").asLong();
+                delta[2] += line.path("total").asLong();
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((stockId, delta) -> batch.add(new Object[] {delta[0], delta[1], delta[2], stockId}));
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, batch);
+    }
+}
@@ -1,6 +1,8 @@
 package com.ordersystem.unified.inventory.repository;
 
+import com.ordersystem.unified.inventory.dto.ProductStockSummary;
 import com.ordersystem.unified.inventory.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -36,6 +38,29 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) AND p.active = true")
     List<Product> findByNameContainingIgnoreCaseAndActiveTrue(@Param("name") String name);
     
+    /**
+     * Find active products with their stock summed over all warehouses, in product ID order
+     * after the given ID; the pageable only limits the page (keyset paging, no OFFSET)
+     */
+    @Query("SELECT new com.ordersystem.unified.inventory.dto.ProductStockSummary(p.id, p.name, p.description, p.sku, p.price, p.category, " +
+           "CAST(COALESCE(SUM(s.availableQuantity), 0) AS Long), CAST(COALESCE(SUM(s.reservedQuantity), 0) AS Long)) " +
+           "FROM Product p LEFT JOIN p.stocks s WHERE p.active = true AND p.id > :afterId " +
+           "GROUP BY p.id, p.name, p.description, p.sku, p.price, p.category ORDER BY p.id")
+    List<ProductStockSummary> findActiveStockSummaries(@Param("afterId") String afterId, Pageable pageable);
+    
+    /**
+     * Find active products whose name contains the given text (case insensitive) with their
+     * stock summed over all warehouses, in product ID order after the given ID
+     */
+    @Query("SELECT new com.ordersystem.unified.inventory.dto.ProductStockSummary(p.id, p.name, p.description, p.sku, p.price, p.category, " +
+           "CAST(COALESCE(SUM(s.availableQuantity), 0) AS Long), CAST(COALESCE(SUM(s.reservedQuantity), 0) AS Long)) " +
+           "FROM Product p LEFT JOIN p.stocks s WHERE p.active = true AND p.id > :afterId " +
+           "AND LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+           "GROUP BY p.id, p.name, p.description, p.sku, p.price, p.category ORDER BY p.id")
+    List<ProductStockSummary> findActiveStockSummariesByName(@Param("name") String name,
+                                                             @Param("afterId") String afterId,
+                                                             Pageable pageable);
+    
     /**
      * Find products with low stock
      */
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +21,12 @@ public interface ReservationItemRepository extends JpaRepository<ReservationItem
     @Query("SELECT ri FROM ReservationItem ri WHERE ri.reservation.id = :reservationId")
     List<ReservationItem> findByReservationId(@Param("reservationId") String reservationId);
     
+    /**
+     * Find the reservation items of several reservations, with their reservation, in one query
+     */
+    @Query("SELECT ri FROM ReservationItem ri JOIN FETCH ri.reservation WHERE ri.reservation.id IN :reservationIds")
+    List<ReservationItem> findByReservationIdIn(@Param("reservationIds") Collection<String> reservationIds);
+    
     /**
      * Find reservation items by product ID
      */
@@ -3,6 +3,7 @@ package com.ordersystem.unified.inventory.repository;
 import com.ordersystem.unified.inventory.dto.ReservationStatus;
 import com.ordersystem.unified.inventory.model.Reservation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -82,6 +83,26 @@ public interface ReservationRepository extends JpaRepository<Reservation, String
     @Query("SELECT r FROM Reservation r WHERE r.expiryTime < :currentTime AND r.status IN ('RESERVED', 'PARTIAL') ORDER BY r.expiryTime ASC")
     List<Reservation> findReservationsForAutoRelease(@Param("currentTime") LocalDateTime currentTime);
     
+    /**
+     * Moves a reservation to the given status only while it is still active; returns 0 when a
+     * release, confirmation or another expiry got there first
+     */
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = :status, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status IN ('RESERVED', 'PARTIAL')")
+    int transitionIfActive(@Param("id") String id,
+                           @Param("status") ReservationStatus status,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * Confirms a reservation only while it is still active; returns 0 when it expired or was
+     * released meanwhile and its units are back in available stock
+     */
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'CONFIRMED', r.confirmedAt = :now, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status IN ('RESERVED', 'PARTIAL')")
+    int confirmIfActive(@Param("id") String id, @Param("now") LocalDateTime now);
+    
     /**
      * Find recent reservations (last N records)
      */
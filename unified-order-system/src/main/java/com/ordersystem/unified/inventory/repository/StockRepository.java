@@ -3,11 +3,13 @@ package com.ordersystem.unified.inventory.repository;
 import com.ordersystem.unified.inventory.model.Stock;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +26,75 @@ public interface StockRepository extends JpaRepository<Stock, String> {
     @Query("SELECT s FROM Stock s WHERE s.product.id = :productId AND s.warehouseId = :warehouseId")
     Optional<Stock> findByProductIdAndWarehouseIdWithLock(@Param("productId") String productId, @Param("warehouseId") String warehouseId);
     
+    /**
+     * Find stock by ID with pessimistic write lock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Stock s WHERE s.id = :stockId")
+    Optional<Stock> findByIdWithLock(@Param("stockId") String stockId);
+    
+    /**
+     * Find the stocks of several products in one warehouse with pessimistic write lock.
+     * Rows are locked in product ID order, so concurrent callers never wait on each other in a cycle.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Stock s WHERE s.product.id IN :productIds AND s.warehouseId = :warehouseId ORDER BY s.product.id")
+    List<Stock> findByProductIdInAndWarehouseIdWithLock(@Param("productIds") Collection<String> productIds, @Param("warehouseId") String warehouseId);
+    
+    /**
+     * Find stocks by ID with pessimistic write lock, in product ID then warehouse ID order,
+     * the same order the single-warehouse lookup above locks in
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Stock s WHERE s.id IN :stockIds ORDER BY s.product.id, s.warehouseId")
+    List<Stock> findByIdInWithLock(@Param("stockIds") Collection<String> stockIds);
+    
+    /**
+     * Get [stockId, productId, warehouseId, available quantity] of every warehouse with stock
+     * available for several products, without locking
+     */
+    @Query("SELECT s.id, s.product.id, s.warehouseId, s.availableQuantity FROM Stock s WHERE s.product.id IN :productIds AND s.availableQuantity > 0")
+    List<Object[]> findWarehouseAvailabilityByProductIds(@Param("productIds") Collection<String> productIds);
+    
+    /**
+     * Find [productId, stockId] pairs of several products in one warehouse, without loading or locking stocks
+     */
+    @Query("SELECT s.product.id, s.id FROM Stock s WHERE s.product.id IN :productIds AND s.warehouseId = :warehouseId")
+    List<Object[]> findStockIdsByProductIds(@Param("productIds") Collection<String> productIds, @Param("warehouseId") String warehouseId);
+    
+    /**
+     * Atomically move quantity from available to reserved if enough is available
+     *
+     * @return 1 if reserved, 0 if the stock did not have the quantity available
+     */
+    @Modifying
+    @Query("UPDATE Stock s SET s.availableQuantity = s.availableQuantity - :quantity, " +
+           "s.reservedQuantity = s.reservedQuantity + :quantity, s.lastStockUpdate = LOCAL DATETIME, " +
+           "s.updatedAt = LOCAL DATETIME WHERE s.id = :stockId AND s.availableQuantity >= :quantity")
+    int reserveIfAvailable(@Param("stockId") String stockId, @Param("quantity") Integer quantity);
+    
+    /**
+     * Atomically move quantity from reserved back to available
+     *
+     * @return 1 if released, 0 if less than the quantity was reserved
+     */
+    @Modifying
+    @Query("UPDATE Stock s SET s.reservedQuantity = s.reservedQuantity - :quantity, " +
+           "s.availableQuantity = s.availableQuantity + :quantity, s.lastStockUpdate = LOCAL DATETIME, " +
+           "s.updatedAt = LOCAL DATETIME WHERE s.id = :stockId AND s.reservedQuantity >= :quantity")
+    int releaseReserved(@Param("stockId") String stockId, @Param("quantity") Integer quantity);
+    
+    /**
+     * Atomically deduct a confirmed reservation from reserved and total quantity
+     *
+     * @return 1 if confirmed, 0 if less than the quantity was reserved
+     */
+    @Modifying
+    @Query("UPDATE Stock s SET s.reservedQuantity = s.reservedQuantity - :quantity, " +
+           "s.totalQuantity = s.totalQuantity - :quantity, s.lastStockUpdate = LOCAL DATETIME, " +
+           "s.updatedAt = LOCAL DATETIME WHERE s.id = :stockId AND s.reservedQuantity >= :quantity")
+    int confirmReserved(@Param("stockId") String stockId, @Param("quantity") Integer quantity);
+    
     /**
      * Find stock by product ID and warehouse ID
      */
@@ -65,6 +136,13 @@ public interface StockRepository extends JpaRepository<Stock, String> {
     @Query("SELECT COALESCE(SUM(s.availableQuantity), 0) FROM Stock s WHERE s.product.id = :productId")
     Integer getTotalAvailableQuantityByProductId(@Param("productId") String productId);
     
+    /**
+     * Get [productId, total available quantity] across all warehouses for several products;
+     * products without stock have no row
+     */
+    @Query("SELECT s.product.id, COALESCE(SUM(s.availableQuantity), 0) FROM Stock s WHERE s.product.id IN :productIds GROUP BY s.product.id")
+    List<Object[]> getTotalAvailableQuantitiesByProductIds(@Param("productIds") Collection<String> productIds);
+    
     /**
      * Get total reserved quantity for a product across all warehouses
      */
@@ -1,7 +1,13 @@
 package com.ordersystem.unified.inventory.service;
 
+import com.ordersystem.unified.domain.events.InventoryReleasedEvent;
+import com.ordersystem.unified.domain.events.OrderItem;
 import com.ordersystem.unified.infrastructure.events.EventPublisher;
+import com.ordersystem.unified.inventory.ExpiredStockRestorer;
+import com.ordersystem.unified.inventory.dto.ReservationStatus;
 import com.ordersystem.unified.inventory.model.Reservation;
+import com.ordersystem.unified.inventory.model.ReservationItem;
+import com.ordersystem.unified.inventory.repository.ReservationItemRepository;
 import com.ordersystem.unified.inventory.repository.ReservationRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -9,52 +15,73 @@ import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 public class ReservationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReservationService.class);
     private final ReservationRepository reservationRepository;
 
+    private final ReservationItemRepository reservationItemRepository;
+
+    private final ExpiredStockRestorer expiredStockRestorer;
+
     private final EventPublisher eventPublisher;
 
-    public ReservationService(ReservationRepository reservationRepository, EventPublisher eventPublisher) {
+    public ReservationService(ReservationRepository reservationRepository,
+                              ReservationItemRepository reservationItemRepository,
+                              ExpiredStockRestorer expiredStockRestorer,
+                              EventPublisher eventPublisher) {
         this.reservationRepository = reservationRepository;
+        this.reservationItemRepository = reservationItemRepository;
+        this.expiredStockRestorer = expiredStockRestorer;
         this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * Expires one reservation: marks it EXPIRED, hands its reserved quantity back to stock and
+     * publishes its release, all in one transaction. Skipped if the reservation was released
+     * or confirmed since it was found due.
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void releaseReservation(Reservation reservation) {
         logger.info("Auto-releasing expired reservation: id={}, orderId={}, expiryTime={}",
                    reservation.getId(), reservation.getOrderId(), reservation.getExpiryTime());
         
-        Reservation freshReservation = reservationRepository.findById(reservation.getId())
-                .orElseThrow(() -> new RuntimeException("Reservation not found: " + reservation.getId()));
-                
-        freshReservation.markAsExpired();
-        reservationRepository.save(freshReservation);
+        if (reservationRepository.transitionIfActive(
+                reservation.getId(), ReservationStatus.EXPIRED, LocalDateTime.now()) == 0) {
+            logger.info("Reservation {} is no longer active, nothing to release", reservation.getId());
+            return;
+        }
+
+        List<ReservationItem> reservationItems =
+            reservationItemRepository.findByReservationIdIn(List.of(reservation.getId()));
+        expiredStockRestorer.restoreReservation(reservationItems);
         
-        if (freshReservation.getItems() != null && !freshReservation.getItems().isEmpty()) {
-            java.util.List<com.ordersystem.unified.domain.events.OrderItem> items = freshReservation.getItems().stream()
-                .map(item -> new com.ordersystem.unified.domain.events.OrderItem(
+        if (!reservationItems.isEmpty()) {
+            List<OrderItem> items = reservationItems.stream()
+                .map(item -> new OrderItem(
                     item.getProductId(),
                     "", // product name not available
                     item.getQuantity(),
                     null 
                 ))
-                .collect(java.util.stream.Collectors.toList());
+                .collect(Collectors.toList());
 
-            com.ordersystem.unified.domain.events.InventoryReleasedEvent event = new com.ordersystem.unified.domain.events.InventoryReleasedEvent(
-                freshReservation.getId(),
-                freshReservation.getOrderId(),
+            InventoryReleasedEvent event = new InventoryReleasedEvent(
+                reservation.getId(),
+                reservation.getOrderId(),
                 items,
                 "Automatic release due to expiration",
-                freshReservation.getCorrelationId()
+                reservation.getCorrelationId()
             );
             event.setAutoReleased(true);
 
-            eventPublisher.publish(event);
-            logger.debug("Inventory released event published for reservation: {}", freshReservation.getId());
+            eventPublisher.publishWithinTransaction(event);
+            logger.debug("Inventory released event published for reservation: {}", reservation.getId());
         }
     }
 }
-
@@ -1,10 +1,14 @@
 package com.ordersystem.unified.order;
 
+import com.ordersystem.unified.infrastructure.idempotency.IdempotencyService;
 import com.ordersystem.unified.order.application.CancelOrderUseCase;
+import com.ordersystem.unified.order.application.CreateOrderBatchUseCase;
 import com.ordersystem.unified.order.application.CreateOrderUseCase;
 import com.ordersystem.unified.order.dto.CancelOrderRequest;
 import com.ordersystem.unified.order.dto.CreateOrderRequest;
+import com.ordersystem.unified.order.dto.OrderBatchResult;
 import com.ordersystem.unified.order.dto.OrderResponse;
+import com.ordersystem.unified.shared.validation.ValidationConstants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,10 +18,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 import java.util.Map;
@@ -41,24 +47,67 @@ public class OrderController {
     @Autowired(required = false)
     private CancelOrderUseCase cancelOrderUseCase;
 
+    @Autowired
+    private CreateOrderBatchUseCase createOrderBatchUseCase;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    /**
+     * Accept orders with 202 and run their saga on the order saga workers instead of the
+     * request thread.
+     */
+    @Value("${app.order.async.enabled:false}")
+    private boolean asyncEnabled;
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create a new order", description = "Creates a new order with inventory reservation and payment processing")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Order created successfully",
                     content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "202", description = "Order accepted as PENDING (async mode); follow it via GET /api/orders/{orderId} or /topic/orders",
+                    content = @Content(schema = @Schema(implementation = OrderResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid request data"),
-        @ApiResponse(responseCode = "422", description = "Business validation failed"),
+        @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed"),
+        @ApiResponse(responseCode = "422", description = "Business validation failed, or Idempotency-Key reused for a different order"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<OrderResponse> createOrder(
+    public ResponseEntity<?> createOrder(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false)
+            @Parameter(description = "Retries with the same key get the first response replayed") String idempotencyKey,
             @Valid @RequestBody @Parameter(description = "Order creation request") CreateOrderRequest request) {
+        return idempotencyService.execute("POST /api/orders", idempotencyKey, request, () -> placeOrder(request));
+    }
+
+    private ResponseEntity<OrderResponse> placeOrder(CreateOrderRequest request) {
+        if (asyncEnabled && createOrderUseCase != null) {
+            OrderResponse accepted = createOrderUseCase.accept(request);
+            return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{orderId}").buildAndExpand(accepted.getOrderId()).toUri())
+                .body(accepted);
+        }
         OrderResponse response = (createOrderUseCase != null) ?
             createOrderUseCase.execute(request) :
             orderService.createOrder(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create orders in bulk",
+               description = "Validates and reserves up to " + ValidationConstants.MAX_BATCH_SIZE +
+                             " orders in one pass; payment and confirmation follow asynchronously")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "One result per order, at the order's index in the request"),
+        @ApiResponse(responseCode = "400", description = "Batch empty or larger than the maximum batch size")
+    })
+    public ResponseEntity<List<OrderBatchResult>> createOrders(
+            @RequestBody @Parameter(description = "Orders to create") List<CreateOrderRequest> requests) {
+        List<OrderBatchResult> results = createOrderBatchUseCase.execute(requests);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(results);
+    }
+
     @GetMapping("/{orderId}")
     @Operation(summary = "Get order by ID", description = "Retrieves order details by order identifier")
     @ApiResponses(value = {
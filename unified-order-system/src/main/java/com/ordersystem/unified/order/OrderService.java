@@ -10,6 +10,7 @@ import com.ordersystem.unified.order.dto.OrderItemResponse;
 import com.ordersystem.unified.order.model.Order;
 import com.ordersystem.unified.order.model.OrderItemEntity;
 import com.ordersystem.unified.order.repository.OrderRepository;
+import com.ordersystem.unified.query.projection.OrderReadModelQueries;
 import com.ordersystem.unified.domain.events.OrderCreatedEvent;
 import com.ordersystem.unified.domain.events.OrderItem;
 import com.ordersystem.unified.domain.events.OrderStatus;
@@ -46,6 +47,10 @@ public class OrderService {
     @Autowired
     private EventPublisher eventPublisher;
 
+    /** Projected read model; present only when app.projections.enabled is set. */
+    @Autowired(required = false)
+    private OrderReadModelQueries readModel;
+
     public OrderService(OrderRepository orderRepository) {
         this.orderRepository = orderRepository;
     }
@@ -120,6 +125,13 @@ public class OrderService {
 
     @Transactional(readOnly = true)
     public List<OrderResponse> getOrders(String customerId, String status, int page, int size) {
+        if (readModel != null) {
+            OrderStatus orderStatus = status != null
+                    ? SafeEnumParser.parseEnumOrThrow(OrderStatus.class, status, "status")
+                    : null;
+            return readModel.findOrders(customerId, orderStatus, page, size);
+        }
+
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<Order> orderPage;
 
@@ -171,6 +183,17 @@ public class OrderService {
     @Cacheable(cacheNames = "orderStatistics", key = "'summary'")
     public Map<String, Object> getOrderStatistics() {
         Map<String, Object> statistics = new HashMap<>();
+        if (readModel != null) {
+            Map<OrderStatus, Long> counts = readModel.countByStatus();
+            statistics.put("totalOrders", counts.values().stream().mapToLong(Long::longValue).sum());
+            statistics.put("confirmedOrders", counts.get(OrderStatus.CONFIRMED));
+            statistics.put("cancelledOrders", counts.get(OrderStatus.CANCELLED));
+            statistics.put("pendingOrders", counts.get(OrderStatus.PENDING));
+            statistics.put("totalRevenue", readModel.confirmedRevenue());
+            statistics.put("timestamp", System.currentTimeMillis());
+            return statistics;
+        }
+
         long totalOrders = orderRepository.count();
         long confirmedOrders = orderRepository.countByStatus(OrderStatus.CONFIRMED);
         long cancelledOrders = orderRepository.countByStatus(OrderStatus.CANCELLED);
@@ -279,6 +302,8 @@ public class OrderService {
                     order.getCustomerName(),
                     eventItems,
                     order.getTotalAmount(),
+                    order.getStatus().name(),
+                    order.getPaymentMethod() != null ? order.getPaymentMethod().name() : null,
                     correlationId != null ? correlationId : UUID.randomUUID().toString(),
                     null
             );
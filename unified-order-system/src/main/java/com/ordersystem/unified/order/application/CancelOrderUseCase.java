@@ -222,7 +222,9 @@ public class CancelOrderUseCase {
             .paymentRefunded(paymentRefunded)
             .build();
 
-        eventPublisher.publish(event);
+        // Same transaction as the status change, so a concurrent write to the order stream
+        // fails the cancellation instead of leaving it without its event
+        eventPublisher.publishWithinTransaction(event);
 
         logger.debug("Order cancellation event published: orderId={}", order.getId());
     }
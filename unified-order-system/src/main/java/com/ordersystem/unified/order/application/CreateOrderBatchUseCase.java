@@ -0,0 +1,197 @@
+package com.ordersystem.unified.order.application;
+
+import com.ordersystem.unified.domain.events.BaseEvent;
+import com.ordersystem.unified.domain.events.OrderItem;
+import com.ordersystem.unified.domain.events.OrderStatus;
+import com.ordersystem.unified.infrastructure.events.EventPublisher;
+import com.ordersystem.unified.inventory.InventoryService;
+import com.ordersystem.unified.inventory.dto.ReservationResponse;
+import com.ordersystem.unified.inventory.dto.ReservationStatus;
+import com.ordersystem.unified.order.domain.OrderBusinessRules;
+import com.ordersystem.unified.order.domain.OrderStateMachine;
+import com.ordersystem.unified.order.dto.CreateOrderRequest;
+import com.ordersystem.unified.order.dto.OrderBatchResult;
+import com.ordersystem.unified.order.model.Order;
+import com.ordersystem.unified.order.model.OrderItemEntity;
+import com.ordersystem.unified.order.saga.OrderSagaStatus;
+import com.ordersystem.unified.shared.exceptions.InvalidOrderException;
+import com.ordersystem.unified.shared.validation.ValidationConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Use Case for ingesting a batch of orders, as marketplace integrations push them.
+ *
+ * Every order is validated on its own. The valid ones are reserved together, with one
+ * ordered lock pass over the Stock rows of the whole batch, and their orders, items, sagas
+ * and events are written with JDBC batches, all in one short transaction. Each reserved
+ * order is then handed to the order saga workers, which charge and confirm it like an order
+ * accepted with 202. An order failing validation or reservation is rejected on its own.
+ */
+@Service
+public class CreateOrderBatchUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreateOrderBatchUseCase.class);
+
+    private static final String INSERT_ORDER =
+        "INSERT INTO system_orders (id, customer_id, customer_name, total_amount, status, created_at, updated_at, " +
+        "correlation_id, reservation_id, payment_method, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_ORDER_ITEM =
+        "INSERT INTO order_items (order_id, product_id, product_name, quantity, unit_price, total_price) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SAGA =
+        "INSERT INTO order_sagas (order_id, status, reservation_id, correlation_id, attempts, created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, 0, ?, ?, 0)";
+
+    @Autowired
+    private CreateOrderUseCase createOrderUseCase;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderBusinessRules businessRules;
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Ingests a batch of orders.
+     *
+     * @param requests Orders to create, at most {@link ValidationConstants#MAX_BATCH_SIZE}
+     * @return One result per request, in request order
+     * @throws InvalidOrderException if the batch is empty or too large
+     */
+    public List<OrderBatchResult> execute(List<CreateOrderRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidOrderException("Order batch cannot be empty");
+        }
+        if (requests.size() > ValidationConstants.MAX_BATCH_SIZE) {
+            throw new InvalidOrderException(ValidationConstants.MSG_BATCH_TOO_LARGE);
+        }
+
+        OrderBatchResult[] results = new OrderBatchResult[requests.size()];
+        Map<String, Order> orders = new LinkedHashMap<>();
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateOrderRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = OrderBatchResult.rejected(i, null, "Order is missing");
+                continue;
+            }
+            if (request.getCorrelationId() == null) {
+                request.setCorrelationId(UUID.randomUUID().toString());
+            }
+            try {
+                createOrderUseCase.validateBusinessRules(request);
+                if (request.getItems() == null || request.getItems().isEmpty()) {
+                    throw new InvalidOrderException("Order must contain items");
+                }
+                Order order = createOrderUseCase.createOrderEntity(request);
+                orders.put(order.getId(), order);
+                indexes.put(order.getId(), i);
+            } catch (RuntimeException e) {
+                results[i] = OrderBatchResult.rejected(i, request.getCorrelationId(), e.getMessage());
+            }
+        }
+
+        List<Order> reserved = orders.isEmpty() ? List.of() :
+            new TransactionTemplate(transactionManager).execute(status -> reserveAndInsert(orders, indexes, results));
+
+        // Committed: payment and confirmation continue on the saga workers, or on saga recovery
+        // for the orders they have no room for; none is charged on this request thread
+        reserved.forEach(order -> createOrderUseCase.submit(order.getId()));
+
+        logger.info("Order batch ingested: {} accepted, {} rejected", reserved.size(), requests.size() - reserved.size());
+        return Arrays.asList(results);
+    }
+
+    private List<Order> reserveAndInsert(Map<String, Order> orders, Map<String, Integer> indexes,
+                                         OrderBatchResult[] results) {
+        Map<String, List<OrderItem>> itemsByOrder = new LinkedHashMap<>();
+        orders.forEach((orderId, order) -> itemsByOrder.put(orderId, CreateOrderUseCase.toOrderItems(order.getItems())));
+        Map<String, ReservationResponse> reservations = inventoryService.reserveBatch(itemsByOrder);
+
+        List<Order> reserved = new ArrayList<>(orders.size());
+        List<BaseEvent> events = new ArrayList<>();
+        for (Order order : orders.values()) {
+            int index = indexes.get(order.getId());
+            String correlationId = order.getCorrelationId();
+            ReservationResponse reservation = reservations.get(order.getId());
+            if (reservation == null || reservation.getStatus() != ReservationStatus.RESERVED) {
+                results[index] = OrderBatchResult.rejected(index, correlationId,
+                    reservation != null && reservation.getMessage() != null ?
+                        reservation.getMessage() : "Failed to reserve inventory");
+                continue;
+            }
+
+            String reservationId = reservation.getReservationId();
+            events.add(createOrderUseCase.buildOrderCreatedEvent(order, correlationId));
+            order.setReservationId(reservationId);
+            OrderStateMachine stateMachine = new OrderStateMachine(order, businessRules, correlationId);
+            stateMachine.transition(OrderStatus.INVENTORY_RESERVED, "Inventory reserved: " + reservationId);
+            events.add(createOrderUseCase.buildInventoryReservedEvent(
+                order, itemsByOrder.get(order.getId()), reservationId, correlationId));
+            events.addAll(stateMachine.getTransitions());
+
+            reserved.add(order);
+            results[index] = OrderBatchResult.accepted(index, order.getId(), correlationId, reservationId);
+        }
+        if (reserved.isEmpty()) {
+            return reserved;
+        }
+
+        insertOrders(reserved);
+        eventPublisher.publishAll(events);
+        return reserved;
+    }
+
+    /**
+     * Writes the orders, their items and their RESERVED sagas with one JDBC batch per table.
+     */
+    private void insertOrders(List<Order> orders) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> orderRows = new ArrayList<>(orders.size());
+        List<Object[]> itemRows = new ArrayList<>();
+        List<Object[]> sagaRows = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            orderRows.add(new Object[] {
+                order.getId(), order.getCustomerId(), order.getCustomerName(), order.getTotalAmount(),
+                order.getStatus().name(), now, now, order.getCorrelationId(), order.getReservationId(),
+                order.getPaymentMethod() != null ? order.getPaymentMethod().name() : null
+            });
+            for (OrderItemEntity item : order.getItems()) {
+                itemRows.add(new Object[] {
+                    order.getId(), item.getProductId(), item.getProductName(), item.getQuantity(),
+                    item.getUnitPrice(), item.getTotalPrice()
+                });
+            }
+            sagaRows.add(new Object[] {
+                order.getId(), OrderSagaStatus.RESERVED.name(), order.getReservationId(), order.getCorrelationId(), now, now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orderRows);
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, itemRows);
+        jdbcTemplate.batchUpdate(INSERT_SAGA, sagaRows);
+    }
+}
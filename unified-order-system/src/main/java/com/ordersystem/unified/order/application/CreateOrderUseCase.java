@@ -4,29 +4,46 @@ import com.ordersystem.unified.infrastructure.events.EventPublisher;
 import com.ordersystem.unified.inventory.InventoryService;
 import com.ordersystem.unified.inventory.dto.ReservationResponse;
 import com.ordersystem.unified.order.domain.OrderBusinessRules;
+import com.ordersystem.unified.order.domain.OrderStateMachine;
 import com.ordersystem.unified.order.dto.CreateOrderRequest;
 import com.ordersystem.unified.order.dto.OrderItemRequest;
 import com.ordersystem.unified.order.dto.OrderResponse;
 import com.ordersystem.unified.order.model.Order;
 import com.ordersystem.unified.order.model.OrderItemEntity;
 import com.ordersystem.unified.order.repository.OrderRepository;
+import com.ordersystem.unified.order.saga.OrderSaga;
+import com.ordersystem.unified.order.saga.OrderSagaCompensator;
+import com.ordersystem.unified.order.saga.OrderSagaProperties;
+import com.ordersystem.unified.order.saga.OrderSagaRepository;
+import com.ordersystem.unified.order.saga.OrderSagaStatus;
 import com.ordersystem.unified.payment.PaymentService;
 import com.ordersystem.unified.payment.PaymentResult;
 import com.ordersystem.unified.payment.dto.PaymentMethod;
 import com.ordersystem.unified.domain.events.*;
 import com.ordersystem.unified.shared.exceptions.*;
+import com.ordersystem.unified.websocket.WebSocketEventService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -34,13 +51,19 @@ import java.util.stream.Collectors;
  * Orchestrates inventory reservation, payment processing, and order confirmation.
  *
  * Production-ready implementation following Clean Architecture.
- * Implements Saga pattern for distributed transaction management.
+ * Implements Saga pattern for distributed transaction management: reserve, charge and
+ * confirm are separate short local transactions, and the saga's progress is persisted in
+ * an {@link OrderSaga} row so a command interrupted by a crash is compensated later.
  */
 @Service
 public class CreateOrderUseCase {
 
     private static final Logger logger = LoggerFactory.getLogger(CreateOrderUseCase.class);
 
+    /** Sagas a worker can claim: accepted with 202, or ingested in bulk and waiting for the charge. */
+    private static final EnumSet<OrderSagaStatus> CLAIMABLE_STATUSES =
+        EnumSet.of(OrderSagaStatus.ACCEPTED, OrderSagaStatus.RESERVED);
+
     @Autowired
     private OrderRepository orderRepository;
 
@@ -56,6 +79,28 @@ public class CreateOrderUseCase {
     @Autowired
     private EventPublisher eventPublisher;
 
+    @Autowired
+    private OrderSagaRepository sagaRepository;
+
+    @Autowired
+    private OrderSagaCompensator sagaCompensator;
+
+    @Autowired
+    private OrderSagaProperties sagaProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("orderSagaExecutor")
+    private Executor orderSagaExecutor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired(required = false)
+    private WebSocketEventService webSocketEventService;
+
     /**
      * Executes the complete order creation flow.
      * Steps:
@@ -65,7 +110,12 @@ public class CreateOrderUseCase {
      * 4. Confirm order
      * 5. Publish events
      *
-     * Implements compensating transactions if any step fails.
+     * Status transitions run in memory through an {@link OrderStateMachine}; the order row is
+     * inserted once, already CONFIRMED, with the transaction id taken from the payment result.
+     *
+     * No transaction spans the payment gateway call: the reservation commits first, releasing
+     * its stock row locks, and the order is confirmed in a transaction of its own afterwards.
+     * Implements compensating transactions (refund, release) if any step fails.
      *
      * @param request Order creation request
      * @return Created order response
@@ -73,90 +123,259 @@ public class CreateOrderUseCase {
      * @throws InsufficientInventoryException if inventory unavailable
      * @throws PaymentProcessingException if payment fails
      */
-    @Transactional
     public OrderResponse execute(CreateOrderRequest request) {
-        // Setup correlation ID for distributed tracing
-        String correlationId = request.getCorrelationId() != null ?
-            request.getCorrelationId() : UUID.randomUUID().toString();
-        MDC.put("correlationId", correlationId);
-        request.setCorrelationId(correlationId);
+        String correlationId = setupCorrelationId(request);
 
         logger.info("Starting order creation: customer={}, correlationId={}",
                    request.getCustomerId(), correlationId);
 
         String orderId = null;
-        String reservationId = null;
-        String paymentId = null;
-
         try {
             // Step 1: Validate business rules
             validateBusinessRules(request);
 
-            // Step 2: Create order entity (PENDING status)
+            // Step 2: Create order entity (PENDING status), not yet persisted
             Order order = createOrderEntity(request);
             orderId = order.getId();
 
-            // Step 3: Reserve inventory
-            reservationId = reserveInventory(order, request, correlationId);
-            order.setReservationId(reservationId);
-            order.updateStatus(OrderStatus.INVENTORY_RESERVED);
-            orderRepository.save(order);
+            return mapToResponse(runSaga(order, correlationId, false, UUID.randomUUID().toString()));
 
-            // Publish inventory reserved event
-            publishInventoryReservedEvent(order, request.getItems(), reservationId, correlationId);
+        } catch (InsufficientInventoryException | PaymentProcessingException | OrderProcessingException e) {
+            throw e;
 
-            // Step 4: Process payment
-            PaymentMethod paymentMethod = request.getPaymentMethod() != null ?
-                request.getPaymentMethod() : PaymentMethod.PIX;
+        } catch (Exception e) {
+            logger.error("Order creation failed: orderId={}", orderId, e);
+            throw new OrderProcessingException(orderId, "Order creation failed: " + e.getMessage(), e);
 
-            paymentId = processPayment(order, paymentMethod, correlationId);
-            order.setPaymentId(paymentId);
+        } finally {
+            MDC.remove("correlationId");
+        }
+    }
+
+    /**
+     * Accepts an order for asynchronous processing: validates it, persists it PENDING with
+     * its saga and an {@link OrderCreatedEvent}, and hands the saga to the order saga
+     * workers. Clients follow progress through {@code GET /api/orders/{id}} or the
+     * {@code /topic/orders} WebSocket topic.
+     *
+     * @throws InvalidOrderException if validation fails
+     */
+    public OrderResponse accept(CreateOrderRequest request) {
+        String correlationId = setupCorrelationId(request);
+        try {
+            validateBusinessRules(request);
+            Order order = createOrderEntity(request);
+
+            Order savedOrder = transactionTemplate().execute(status -> {
+                Order saved = orderRepository.save(order);
+                sagaRepository.save(OrderSaga.accepted(saved.getId(), correlationId));
+                // Joins this transaction: the order is never accepted without its creation event
+                eventPublisher.publishAll(List.of(buildOrderCreatedEvent(saved, correlationId)));
+                return saved;
+            });
+
+            logger.info("Order accepted: orderId={}, correlationId={}", savedOrder.getId(), correlationId);
+            notifyStatus(savedOrder.getId(), OrderStatus.PENDING);
+            submit(savedOrder.getId());
+            return mapToResponse(savedOrder);
+        } finally {
+            MDC.remove("correlationId");
+        }
+    }
+
+    /**
+     * Queues the saga of an accepted order on the order saga workers. When they are saturated
+     * the order is left as it is, never processed on the caller's thread: the saga recovery
+     * job resumes it once it stalls.
+     */
+    public void submit(String orderId) {
+        try {
+            orderSagaExecutor.execute(() -> process(orderId));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Order saga workers saturated; order {} left for saga recovery", orderId);
+        }
+    }
+
+    /**
+     * Queues again an accepted order whose saga no worker picked up, or an order ingested in
+     * bulk and left RESERVED. Its stall time restarts, so recovery does not queue it twice.
+     *
+     * @return false if the saga cannot go on: it moved on, or it is the reservation of a
+     *         synchronous command, whose order row is only written on confirmation
+     */
+    public boolean resume(String orderId) {
+        boolean requeued = Boolean.TRUE.equals(transactionTemplate().execute(status ->
+            sagaRepository.findById(orderId)
+                .filter(saga -> saga.getStatus() == OrderSagaStatus.ACCEPTED
+                    || (saga.getStatus() == OrderSagaStatus.RESERVED && orderRepository.existsById(orderId)))
+                .map(saga -> {
+                    saga.requeue();
+                    return true;
+                })
+                .orElse(false)));
+        if (requeued) {
+            submit(orderId);
+        }
+        return requeued;
+    }
+
+    /**
+     * Runs the saga of an accepted order on a worker thread: from the start for an order
+     * accepted with 202, from the charge for one reserved by bulk ingestion. Failures are
+     * compensated, leaving the order FAILED; nothing is thrown back to the caller.
+     */
+    public void process(String orderId) {
+        // Claim first: of the workers handed the same order, at the same time or one after the
+        // other, only the one holding the claim proceeds until it lapses
+        String owner = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate().execute(status ->
+            sagaRepository.claim(orderId, owner, CLAIMABLE_STATUSES, now, now.plus(claimLease())));
+        if (claimed == null || claimed == 0) {
+            logger.debug("Order {} is not waiting for a worker or is held by another one", orderId);
+            return;
+        }
+
+        Order order = transactionTemplate().execute(status -> orderRepository.findByIdWithItems(orderId).orElseThrow());
+        MDC.put("correlationId", order.getCorrelationId());
+        try {
+            runSaga(order, order.getCorrelationId(), true, owner);
+        } catch (Exception e) {
+            logger.warn("Accepted order {} failed: {}", orderId, e.getMessage());
+            notifyStatus(orderId, OrderStatus.FAILED);
+        } finally {
+            evictCachedOrder(orderId);
+            MDC.remove("correlationId");
+        }
+    }
 
-            // Retrieve transactionId from persisted Payment entity
-            String transactionId = paymentService.getPaymentById(paymentId)
-                .map(com.ordersystem.unified.payment.model.Payment::getTransactionId)
-                .orElse(null);
-            order.setTransactionId(transactionId);
+    /**
+     * Reserves, charges and confirms an order, each step in its own short transaction, and
+     * compensates on failure.
+     *
+     * @param accepted whether the order and its saga were already persisted by {@link #accept}
+     * @param owner    the claim this run holds on the saga; a step finding the saga claimed by
+     *                 another run or moved on backs off without compensating
+     */
+    private Order runSaga(Order order, String correlationId, boolean accepted, String owner) {
+        String orderId = order.getId();
+        String reservationId = null;
+        String paymentId = null;
+        // Events of this command are appended together, in the confirming transaction, on success
+        List<BaseEvent> events = new ArrayList<>();
+        OrderStateMachine stateMachine = new OrderStateMachine(order, businessRules, correlationId);
+        List<OrderItem> items = toOrderItems(order.getItems());
 
-            order.updateStatus(OrderStatus.PAYMENT_PROCESSING);
-            orderRepository.save(order);
+        try {
+            if (order.getStatus() == OrderStatus.PENDING) {
+                // Step 3: Reserve inventory and record it on the saga in one short transaction
+                reservationId = transactionTemplate().execute(status -> {
+                    String id = reserveInventory(order, items);
+                    if (accepted) {
+                        sagaStep(sagaRepository.findById(orderId).orElseThrow(), owner, saga -> saga.markReserved(id));
+                    } else {
+                        OrderSaga saga = new OrderSaga(orderId, id, correlationId);
+                        saga.holdClaim(owner, LocalDateTime.now().plus(claimLease()));
+                        sagaRepository.save(saga);
+                    }
+                    return id;
+                });
+                order.setReservationId(reservationId);
+                stateMachine.transition(OrderStatus.INVENTORY_RESERVED, "Inventory reserved: " + reservationId);
+                if (accepted) {
+                    notifyStatus(orderId, OrderStatus.INVENTORY_RESERVED);
+                }
+
+                events.add(buildInventoryReservedEvent(order, items, reservationId, correlationId));
+            } else {
+                // Reserved by bulk ingestion, which appended the reservation events itself
+                reservationId = order.getReservationId();
+            }
 
-            // Step 5: Confirm order
-            order.updateStatus(OrderStatus.CONFIRMED);
-            Order savedOrder = orderRepository.save(order);
+            // Step 4: Process payment, outside any transaction of this command
+            updateSaga(orderId, owner, OrderSaga::markCharging);
+            PaymentMethod paymentMethod = order.getPaymentMethod() != null ?
+                order.getPaymentMethod() : PaymentMethod.PIX;
 
-            // Publish order confirmed event
-            publishOrderCreatedEvent(savedOrder, correlationId);
+            PaymentResult payment = processPayment(order, paymentMethod, correlationId);
+            paymentId = payment.getPaymentId();
+            order.setPaymentId(paymentId);
+            order.setTransactionId(payment.getTransactionId());
+            stateMachine.transition(OrderStatus.PAYMENT_PROCESSING, "Payment processed: " + paymentId);
+
+            // Step 5: Confirm order and write it once, in its final state, with the reservation
+            // consumed, the events appended and the saga completed in the same transaction
+            stateMachine.transition(OrderStatus.CONFIRMED, "Order confirmed");
+            Order savedOrder = transactionTemplate().execute(status -> {
+                inventoryService.confirmReservation(items, order.getReservationId());
+                Order saved = orderRepository.save(order);
+
+                events.addAll(stateMachine.getTransitions());
+                if (!accepted) {
+                    // An accepted order's creation was published when it was accepted
+                    events.add(buildOrderCreatedEvent(saved, correlationId));
+                }
+
+                // Publish all events of the command in one batch
+                eventPublisher.publishAll(events);
+
+                sagaStep(sagaRepository.findById(orderId).orElseThrow(), owner,
+                    saga -> saga.markCompleted(saved.getPaymentId()));
+                return saved;
+            });
+            if (accepted) {
+                notifyStatus(orderId, OrderStatus.CONFIRMED);
+            }
 
             logger.info("Order created successfully: orderId={}, reservationId={}, paymentId={}",
                        orderId, reservationId, paymentId);
 
-            return mapToResponse(savedOrder);
+            return savedOrder;
+
+        } catch (OptimisticLockingFailureException e) {
+            // Another worker or the recovery job owns the saga now, or moved it on; it
+            // compensates if needed, so this run backs off
+            logger.warn("Order saga {} taken over concurrently: {}", orderId, e.getMessage());
+            throw new OrderProcessingException(orderId, "Order saga taken over concurrently", e);
 
         } catch (InsufficientInventoryException e) {
+            // Nothing to undo: the reservation transaction rolled back with its saga step
             logger.error("Inventory reservation failed for order: {}", orderId, e);
-            handleInventoryFailure(orderId, correlationId);
+            if (accepted) {
+                compensate(orderId, "Inventory reservation failed: " + e.getMessage());
+            }
             throw e;
 
         } catch (PaymentProcessingException e) {
             logger.error("Payment processing failed for order: {}", orderId, e);
-            handlePaymentFailure(orderId, reservationId, correlationId);
+            compensate(orderId, "Payment failed: " + e.getMessage());
             throw e;
 
         } catch (Exception e) {
             logger.error("Order creation failed: orderId={}", orderId, e);
-            handleGeneralFailure(orderId, reservationId, paymentId, correlationId);
+            // Without a reservation, a synchronous command has no saga row to compensate
+            if (accepted || reservationId != null) {
+                compensate(orderId, "Order creation failed: " + e.getMessage());
+            }
             throw new OrderProcessingException(orderId, "Order creation failed: " + e.getMessage(), e);
-
-        } finally {
-            MDC.remove("correlationId");
         }
     }
 
+    /**
+     * Sets up the correlation ID for distributed tracing.
+     */
+    private String setupCorrelationId(CreateOrderRequest request) {
+        String correlationId = request.getCorrelationId() != null ?
+            request.getCorrelationId() : UUID.randomUUID().toString();
+        MDC.put("correlationId", correlationId);
+        request.setCorrelationId(correlationId);
+        return correlationId;
+    }
+
     /**
      * Validates business rules before creating order.
      */
-    private void validateBusinessRules(CreateOrderRequest request) {
+    void validateBusinessRules(CreateOrderRequest request) {
         logger.debug("Validating business rules");
 
         // Validate customer eligibility
@@ -181,9 +400,9 @@ public class CreateOrderUseCase {
     }
 
     /**
-     * Creates order entity in PENDING status.
+     * Builds the order entity in PENDING status; it is saved once the order is confirmed.
      */
-    private Order createOrderEntity(CreateOrderRequest request) {
+    Order createOrderEntity(CreateOrderRequest request) {
         logger.debug("Creating order entity");
 
         String orderId = UUID.randomUUID().toString();
@@ -210,27 +429,16 @@ public class CreateOrderUseCase {
             }
         }
 
-        Order savedOrder = orderRepository.save(order);
         logger.debug("Order entity created: {}", orderId);
-
-        return savedOrder;
+        return order;
     }
 
     /**
      * Reserves inventory for order items.
      */
-    private String reserveInventory(Order order, CreateOrderRequest request, String correlationId) {
+    private String reserveInventory(Order order, List<OrderItem> items) {
         logger.debug("Reserving inventory for order: {}", order.getId());
 
-        List<OrderItem> items = request.getItems().stream()
-            .map(item -> new OrderItem(
-                item.getProductId(),
-                item.getProductName(),
-                item.getQuantity(),
-                item.getUnitPrice()
-            ))
-            .collect(Collectors.toList());
-
         ReservationResponse reservationResponse = inventoryService.reserveItems(order.getId(), items);
 
         if (reservationResponse.getStatus() != com.ordersystem.unified.inventory.dto.ReservationStatus.RESERVED) {
@@ -246,7 +454,7 @@ public class CreateOrderUseCase {
     /**
      * Processes payment for order with retry logic.
      */
-    private String processPayment(Order order, PaymentMethod paymentMethod, String correlationId) {
+    private PaymentResult processPayment(Order order, PaymentMethod paymentMethod, String correlationId) {
         logger.debug("Processing payment for order: {}", order.getId());
 
         PaymentResult result = paymentService.processPayment(
@@ -263,13 +471,13 @@ public class CreateOrderUseCase {
         }
 
         logger.info("Payment processed: paymentId={}", result.getPaymentId());
-        return result.getPaymentId();
+        return result;
     }
 
     /**
-     * Publishes order created event.
+     * Builds order created event.
      */
-    private void publishOrderCreatedEvent(Order order, String correlationId) {
+    OrderCreatedEvent buildOrderCreatedEvent(Order order, String correlationId) {
         List<OrderItem> items = order.getItems().stream()
             .map(item -> new OrderItem(
                 item.getProductId(),
@@ -279,101 +487,113 @@ public class CreateOrderUseCase {
             ))
             .collect(Collectors.toList());
 
-        OrderCreatedEvent event = new OrderCreatedEvent(
+        return new OrderCreatedEvent(
             order.getId(),
             order.getCustomerId(),
             order.getCustomerName(),
             items,
             order.getTotalAmount(),
+            order.getStatus().name(),
+            order.getPaymentMethod() != null ? order.getPaymentMethod().name() : null,
             correlationId,
             null
         );
-
-        eventPublisher.publish(event);
     }
 
     /**
-     * Publishes inventory reserved event.
+     * Builds inventory reserved event.
      */
-    private void publishInventoryReservedEvent(Order order, List<OrderItemRequest> items,
-                                              String reservationId, String correlationId) {
-        List<OrderItem> eventItems = items.stream()
-            .map(item -> new OrderItem(
-                item.getProductId(),
-                item.getProductName(),
-                item.getQuantity(),
-                item.getUnitPrice()
-            ))
-            .collect(Collectors.toList());
-
-        InventoryReservedEvent event = new InventoryReservedEvent(
+    InventoryReservedEvent buildInventoryReservedEvent(Order order, List<OrderItem> items,
+                                                               String reservationId, String correlationId) {
+        return new InventoryReservedEvent(
             order.getId(),
             order.getCustomerId(),
-            eventItems,
+            items,
             reservationId,
             correlationId,
             null
         );
-
-        eventPublisher.publish(event);
     }
 
     /**
-     * Handles inventory reservation failure - mark order as failed.
+     * Compensates a failed command: refunds a payment that went through, releases the
+     * reservation and marks an accepted order FAILED. A synchronous command has no order row
+     * to mark: it is inserted only on confirmation. A compensation that fails here is retried by the saga recovery job.
      */
-    private void handleInventoryFailure(String orderId, String correlationId) {
-        if (orderId != null) {
-            orderRepository.findById(orderId).ifPresent(order -> {
-                order.updateStatus(OrderStatus.FAILED);
-                orderRepository.save(order);
-            });
+    private void compensate(String orderId, String reason) {
+        try {
+            sagaCompensator.compensate(orderId, reason);
+        } catch (Exception e) {
+            logger.error("Compensation failed for order {}; left to saga recovery", orderId, e);
         }
     }
 
     /**
-     * Handles payment failure - release inventory and mark order as failed.
+     * Applies a step to the order's saga in a transaction of its own.
      */
-    private void handlePaymentFailure(String orderId, String reservationId, String correlationId) {
-        // Release inventory reservation
-        if (reservationId != null) {
-            try {
-                inventoryService.releaseReservation(reservationId);
-                logger.info("Inventory released due to payment failure: {}", reservationId);
-            } catch (Exception e) {
-                logger.error("Failed to release inventory: {}", reservationId, e);
-            }
-        }
-
-        // Mark order as failed
-        if (orderId != null) {
-            orderRepository.findById(orderId).ifPresent(order -> {
-                order.updateStatus(OrderStatus.FAILED);
-                orderRepository.save(order);
-            });
-        }
+    private void updateSaga(String orderId, String owner, Consumer<OrderSaga> step) {
+        transactionTemplate().executeWithoutResult(status ->
+            sagaStep(sagaRepository.findById(orderId).orElseThrow(), owner, step));
     }
 
     /**
-     * Handles general failure - compensate all actions.
+     * Applies a step of the run holding the saga's claim and renews the claim. A claim lost to
+     * another run, or a step the saga no longer allows, surfaces as an
+     * {@link OptimisticLockingFailureException}: whoever moved the saga on owns it now.
      */
-    private void handleGeneralFailure(String orderId, String reservationId,
-                                     String paymentId, String correlationId) {
-        // Attempt to release inventory
-        if (reservationId != null) {
-            try {
-                inventoryService.releaseReservation(reservationId);
-            } catch (Exception e) {
-                logger.error("Failed to release inventory during compensation: {}", reservationId, e);
-            }
+    private void sagaStep(OrderSaga saga, String owner, Consumer<OrderSaga> step) {
+        if (!saga.isClaimedBy(owner)) {
+            throw new OptimisticLockingFailureException(
+                "Order saga " + saga.getOrderId() + " is claimed by another worker");
         }
-
-        // Mark order as failed
-        if (orderId != null) {
-            orderRepository.findById(orderId).ifPresent(order -> {
-                order.updateStatus(OrderStatus.FAILED);
-                orderRepository.save(order);
-            });
+        try {
+            step.accept(saga);
+        } catch (IllegalStateException e) {
+            throw new OptimisticLockingFailureException(e.getMessage(), e);
         }
+        saga.holdClaim(owner, LocalDateTime.now().plus(claimLease()));
+    }
+
+    private Duration claimLease() {
+        return Duration.ofMillis(sagaProperties.getClaimLease());
+    }
+
+    /**
+     * Pushes a status change of an accepted order to {@code /topic/orders} and drops the
+     * cached copy served by {@code GET /api/orders/{id}}.
+     */
+    private void notifyStatus(String orderId, OrderStatus status) {
+        evictCachedOrder(orderId);
+        if (webSocketEventService == null) {
+            return;
+        }
+        try {
+            webSocketEventService.sendOrderUpdate(orderId, status.name());
+        } catch (Exception e) {
+            logger.warn("Failed to broadcast order update: orderId={}, status={}", orderId, status, e);
+        }
+    }
+
+    private void evictCachedOrder(String orderId) {
+        Cache orders = cacheManager.getCache("orders");
+        if (orders != null) {
+            orders.evict(orderId);
+        }
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    static List<OrderItem> toOrderItems(List<OrderItemEntity> items) {
+        return items.stream()
+            .map(item -> new OrderItem(
+                item.getProductId(),
+                item.getProductName(),
+                item.getQuantity(),
+                item.getUnitPrice()
+            ))
+            .collect(Collectors.toList());
     }
 
     /**
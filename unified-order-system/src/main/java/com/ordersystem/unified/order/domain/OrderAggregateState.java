@@ -0,0 +1,134 @@
+package com.ordersystem.unified.order.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ordersystem.unified.domain.events.OrderStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Order state folded from its domain event stream.
+ * Serialized as JSON into aggregate snapshots, so it must stay a plain bean.
+ */
+public class OrderAggregateState {
+
+    private String orderId;
+    private String customerId;
+    private String customerName;
+    private String status;
+    private BigDecimal totalAmount;
+    private BigDecimal refundedAmount = BigDecimal.ZERO;
+    private String reservationId;
+    private boolean reservationReleased;
+    private String paymentId;
+    private String transactionId;
+    private String cancellationReason;
+    private long streamVersion;
+
+    public OrderAggregateState() {
+    }
+
+    public OrderAggregateState(String orderId) {
+        this.orderId = orderId;
+    }
+
+    /**
+     * Applies one stored event on top of the current state.
+     *
+     * @param eventType     Stored event type (event class simple name)
+     * @param payload       Decoded event payload
+     * @param streamVersion Stream position of the event
+     */
+    public void apply(String eventType, JsonNode payload, long streamVersion) {
+        switch (eventType) {
+            case "OrderCreatedEvent" -> {
+                customerId = text(payload, "customerId", customerId);
+                customerName = text(payload, "customerName", customerName);
+                totalAmount = decimal(payload, "totalAmount", totalAmount);
+                status = text(payload, "status", status != null ? status : OrderStatus.PENDING.name());
+            }
+            case "InventoryReservedEvent" -> {
+                reservationId = text(payload, "reservationId", reservationId);
+                reservationReleased = false;
+                if (status == null || OrderStatus.PENDING.name().equals(status)) {
+                    status = OrderStatus.INVENTORY_RESERVED.name();
+                }
+            }
+            case "InventoryReleasedEvent" -> reservationReleased = true;
+            case "PaymentProcessedEvent" -> {
+                paymentId = text(payload, "paymentId", paymentId);
+                transactionId = text(payload, "transactionId", transactionId);
+            }
+            case "PaymentRefundedEvent" ->
+                refundedAmount = refundedAmount.add(decimal(payload, "refundAmount", BigDecimal.ZERO));
+            case "OrderStatusUpdatedEvent" -> status = text(payload, "newStatus", status);
+            case "OrderCancelledEvent" -> {
+                status = OrderStatus.CANCELLED.name();
+                cancellationReason = text(payload, "cancellationReason", cancellationReason);
+            }
+            default -> {
+                // Events that do not change order state are still part of the stream
+            }
+        }
+        this.streamVersion = streamVersion;
+    }
+
+    @JsonIgnore
+    public boolean isTerminal() {
+        if (status == null) {
+            return false;
+        }
+        try {
+            return OrderStatus.valueOf(status).isTerminal();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String text(JsonNode payload, String field, String fallback) {
+        JsonNode node = payload.get(field);
+        return node != null && !node.isNull() ? node.asText() : fallback;
+    }
+
+    private static BigDecimal decimal(JsonNode payload, String field, BigDecimal fallback) {
+        JsonNode node = payload.get(field);
+        return node != null && !node.isNull() ? node.decimalValue() : fallback;
+    }
+
+    // Getters and Setters
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public String getCustomerId() { return customerId; }
+    public void setCustomerId(String customerId) { this.customerId = customerId; }
+
+    public String getCustomerName() { return customerName; }
+    public void setCustomerName(String customerName) { this.customerName = customerName; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public BigDecimal getRefundedAmount() { return refundedAmount; }
+    public void setRefundedAmount(BigDecimal refundedAmount) { this.refundedAmount = refundedAmount; }
+
+    public String getReservationId() { return reservationId; }
+    public void setReservationId(String reservationId) { this.reservationId = reservationId; }
+
+    public boolean isReservationReleased() { return reservationReleased; }
+    public void setReservationReleased(boolean reservationReleased) { this.reservationReleased = reservationReleased; }
+
+    public String getPaymentId() { return paymentId; }
+    public void setPaymentId(String paymentId) { this.paymentId = paymentId; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public String getCancellationReason() { return cancellationReason; }
+    public void setCancellationReason(String cancellationReason) { this.cancellationReason = cancellationReason; }
+
+    public long getStreamVersion() { return streamVersion; }
+    public void setStreamVersion(long streamVersion) { this.streamVersion = streamVersion; }
+}
@@ -0,0 +1,60 @@
+package com.ordersystem.unified.order.domain;
+
+import com.ordersystem.unified.domain.events.BaseEvent;
+import com.ordersystem.unified.domain.events.OrderStatus;
+import com.ordersystem.unified.domain.events.OrderStatusUpdatedEvent;
+import com.ordersystem.unified.order.model.Order;
+import com.ordersystem.unified.shared.exceptions.InvalidOrderException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory status pipeline of one order command.
+ *
+ * Transitions are checked against {@link OrderBusinessRules#isValidStatusTransition} and
+ * applied to the order object only, each recorded as an {@link OrderStatusUpdatedEvent}.
+ * The caller writes the order once, in its final status, and appends the recorded events
+ * with the rest of the command's events.
+ */
+public class OrderStateMachine {
+
+    private final Order order;
+    private final OrderBusinessRules businessRules;
+    private final String correlationId;
+    private final List<BaseEvent> transitions = new ArrayList<>();
+
+    public OrderStateMachine(Order order, OrderBusinessRules businessRules, String correlationId) {
+        this.order = order;
+        this.businessRules = businessRules;
+        this.correlationId = correlationId;
+    }
+
+    /**
+     * Moves the order to the given status.
+     *
+     * @throws InvalidOrderException if the current status cannot move there
+     */
+    public void transition(OrderStatus newStatus, String reason) {
+        OrderStatus currentStatus = order.getStatus();
+        if (!businessRules.isValidStatusTransition(currentStatus, newStatus)) {
+            throw new InvalidOrderException(
+                "Invalid order status transition: " + currentStatus + " -> " + newStatus);
+        }
+        order.updateStatus(newStatus);
+        transitions.add(new OrderStatusUpdatedEvent(
+            order.getId(), order.getCustomerId(), currentStatus.name(), newStatus.name(),
+            reason, correlationId, null));
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * Status updates recorded so far, in transition order.
+     */
+    public List<BaseEvent> getTransitions() {
+        return List.copyOf(transitions);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ordersystem.unified.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one order of a {@code POST /api/orders/batch} request, at the same index as
+ * the order in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderBatchResult {
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String orderId;
+    private String correlationId;
+    private String reservationId;
+    private String status;
+    private String message;
+
+    public OrderBatchResult() {}
+
+    private OrderBatchResult(int index, String orderId, String correlationId, String reservationId,
+                             String status, String message) {
+        this.index = index;
+        this.orderId = orderId;
+        this.correlationId = correlationId;
+        this.reservationId = reservationId;
+        this.status = status;
+        this.message = message;
+    }
+
+    /**
+     * Persisted with its stock reserved; payment and confirmation follow asynchronously.
+     */
+    public static OrderBatchResult accepted(int index, String orderId, String correlationId, String reservationId) {
+        return new OrderBatchResult(index, orderId, correlationId, reservationId, ACCEPTED, null);
+    }
+
+    public static OrderBatchResult rejected(int index, String correlationId, String message) {
+        return new OrderBatchResult(index, null, correlationId, null, REJECTED, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isAccepted() {
+        return ACCEPTED.equals(status);
+    }
+}
@@ -40,4 +40,7 @@ public interface OrderRepository extends JpaRepository<Order, String> {
                                          
     @org.springframework.data.jpa.repository.Query("SELECT o FROM Order o ORDER BY o.createdAt DESC")
     List<Order> findRecentOrders(Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :id")
+    Optional<Order> findByIdWithItems(@org.springframework.data.repository.query.Param("id") String id);
 }
@@ -0,0 +1,198 @@
+package com.ordersystem.unified.order.saga;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted state of one order creation saga, written in each of its local transactions.
+ * A row that stays non-terminal past the stall timeout belongs to a command that died
+ * mid-flight, or to an order the saga workers had no room for, and is compensated or
+ * resumed by {@link OrderSagaRecoveryJob}.
+ */
+@Entity
+@Table(name = "order_sagas")
+public class OrderSaga {
+
+    @Id
+    @Column(name = "order_id", length = 255)
+    private String orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 30)
+    private OrderSagaStatus status;
+
+    @Column(name = "reservation_id")
+    private String reservationId;
+
+    @Column(name = "payment_id")
+    private String paymentId;
+
+    @Column(name = "correlation_id")
+    private String correlationId;
+
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    protected OrderSaga() {
+    }
+
+    public OrderSaga(String orderId, String reservationId, String correlationId) {
+        this.orderId = orderId;
+        this.reservationId = reservationId;
+        this.correlationId = correlationId;
+        this.status = OrderSagaStatus.RESERVED;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    /**
+     * Saga of an order accepted for asynchronous processing, before any stock is reserved.
+     */
+    public static OrderSaga accepted(String orderId, String correlationId) {
+        OrderSaga saga = new OrderSaga(orderId, null, correlationId);
+        saga.status = OrderSagaStatus.ACCEPTED;
+        return saga;
+    }
+
+    /**
+     * Handed to the saga workers again by recovery. The worker that picks it up claims it with
+     * {@link OrderSagaRepository#claim}; a RESERVED saga is an order ingested in bulk that is
+     * still waiting for its charge.
+     */
+    public void requeue() {
+        if (status != OrderSagaStatus.RESERVED) {
+            requireStatus(OrderSagaStatus.ACCEPTED);
+        }
+        moveTo(status);
+    }
+
+    /**
+     * Extends the claim of the worker running the saga, which just created or claimed it.
+     */
+    public void holdClaim(String owner, LocalDateTime until) {
+        this.claimedBy = owner;
+        this.claimedUntil = until;
+    }
+
+    public boolean isClaimedBy(String owner) {
+        return owner != null && owner.equals(claimedBy);
+    }
+
+    public void markReserved(String reservationId) {
+        requireStatus(OrderSagaStatus.ACCEPTED);
+        this.reservationId = reservationId;
+        moveTo(OrderSagaStatus.RESERVED);
+    }
+
+    public void markCharging() {
+        requireStatus(OrderSagaStatus.RESERVED);
+        moveTo(OrderSagaStatus.CHARGING);
+    }
+
+    /**
+     * Only a saga still CHARGING can complete; one already claimed for compensation cannot.
+     */
+    public void markCompleted(String paymentId) {
+        requireStatus(OrderSagaStatus.CHARGING);
+        this.paymentId = paymentId;
+        moveTo(OrderSagaStatus.COMPLETED);
+    }
+
+    /**
+     * Claims the saga for compensation; a saga already COMPENSATING is claimed again by a retry.
+     */
+    public void markCompensating(String reason) {
+        if (status.isTerminal()) {
+            throw new IllegalStateException("Order saga " + orderId + " is already " + status);
+        }
+        if (reason != null) {
+            this.failureReason = reason.length() > 500 ? reason.substring(0, 500) : reason;
+        }
+        this.attempts++;
+        moveTo(OrderSagaStatus.COMPENSATING);
+    }
+
+    public void markCompensated() {
+        requireStatus(OrderSagaStatus.COMPENSATING);
+        moveTo(OrderSagaStatus.COMPENSATED);
+    }
+
+    private void requireStatus(OrderSagaStatus expected) {
+        if (status != expected) {
+            throw new IllegalStateException("Order saga " + orderId + " is " + status + ", expected " + expected);
+        }
+    }
+
+    private void moveTo(OrderSagaStatus newStatus) {
+        this.status = newStatus;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public OrderSagaStatus getStatus() {
+        return status;
+    }
+
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public LocalDateTime getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,107 @@
+package com.ordersystem.unified.order.saga;
+
+import com.ordersystem.unified.domain.events.OrderStatus;
+import com.ordersystem.unified.infrastructure.events.EventPublisher;
+import com.ordersystem.unified.inventory.InventoryService;
+import com.ordersystem.unified.order.domain.OrderBusinessRules;
+import com.ordersystem.unified.order.domain.OrderStateMachine;
+import com.ordersystem.unified.order.repository.OrderRepository;
+import com.ordersystem.unified.payment.PaymentService;
+import com.ordersystem.unified.payment.model.Payment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Undoes what an order saga holds: refunds its completed payments, then releases its
+ * reservation and fails the order if it was already persisted (accepted with 202).
+ * Every step is idempotent, so a compensation interrupted by a crash is
+ * simply run again by {@link OrderSagaRecoveryJob}.
+ * <p>
+ * The claim, the refunds and the release run as separate short steps; the refund's gateway
+ * call never runs inside a transaction holding stock rows.
+ */
+@Component
+public class OrderSagaCompensator {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSagaCompensator.class);
+
+    private final OrderSagaRepository sagaRepository;
+    private final InventoryService inventoryService;
+    private final PaymentService paymentService;
+    private final OrderRepository orderRepository;
+    private final OrderBusinessRules businessRules;
+    private final EventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderSagaCompensator(OrderSagaRepository sagaRepository,
+                                InventoryService inventoryService,
+                                PaymentService paymentService,
+                                OrderRepository orderRepository,
+                                OrderBusinessRules businessRules,
+                                EventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager) {
+        this.sagaRepository = sagaRepository;
+        this.inventoryService = inventoryService;
+        this.paymentService = paymentService;
+        this.orderRepository = orderRepository;
+        this.businessRules = businessRules;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Compensates the saga of an order.
+     *
+     * @return true once the saga is COMPENSATED; false if there is no open saga for the order,
+     *         or a refund failed and the saga stays COMPENSATING for the next retry
+     */
+    @CacheEvict(cacheNames = "orders", key = "#orderId")
+    public boolean compensate(String orderId, String reason) {
+        OrderSaga saga = transactionTemplate.execute(status -> sagaRepository.findById(orderId)
+                .filter(candidate -> !candidate.getStatus().isTerminal())
+                .map(candidate -> {
+                    candidate.markCompensating(reason);
+                    return sagaRepository.save(candidate);
+                })
+                .orElse(null));
+        if (saga == null) {
+            logger.debug("No open saga to compensate for order {}", orderId);
+            return false;
+        }
+
+        // A charge may have gone through even if the command never saw the gateway's answer
+        for (Payment payment : paymentService.getAllPaymentsByOrderId(orderId)) {
+            if (payment.isCompleted() && paymentService.refundPayment(payment.getId(), reason).isEmpty()) {
+                logger.warn("Refund of payment {} failed; order saga {} stays COMPENSATING", payment.getId(), orderId);
+                return false;
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (saga.getReservationId() != null) {
+                inventoryService.releaseReservation(saga.getReservationId());
+            }
+            failOrder(orderId, reason);
+            OrderSaga current = sagaRepository.findById(orderId).orElseThrow();
+            current.markCompensated();
+            sagaRepository.save(current);
+        });
+        logger.info("Order saga {} compensated: {}", orderId, reason);
+        return true;
+    }
+
+    private void failOrder(String orderId, String reason) {
+        orderRepository.findById(orderId)
+                .filter(order -> businessRules.isValidStatusTransition(order.getStatus(), OrderStatus.FAILED))
+                .ifPresent(order -> {
+                    OrderStateMachine stateMachine = new OrderStateMachine(order, businessRules, order.getCorrelationId());
+                    stateMachine.transition(OrderStatus.FAILED, reason);
+                    orderRepository.save(order);
+                    eventPublisher.publishAll(stateMachine.getTransitions());
+                });
+    }
+}
@@ -0,0 +1,63 @@
+package com.ordersystem.unified.order.saga;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.order.saga")
+public class OrderSagaProperties {
+
+    private boolean recoveryEnabled = true;
+    /**
+     * Age after which a non-terminal saga is taken for dead and compensated; keep well above
+     * the payment gateway timeout so a live command is never compensated under its feet.
+     */
+    private long stallTimeout = 300000;
+    /**
+     * How long a worker holds a saga after each step it records; keep above the payment
+     * gateway timeout, as the charge is the one step a worker cannot renew its claim during.
+     */
+    private long claimLease = 300000;
+    private long fixedDelay = 60000;
+    private int batchSize = 100;
+
+    public boolean isRecoveryEnabled() {
+        return recoveryEnabled;
+    }
+
+    public void setRecoveryEnabled(boolean recoveryEnabled) {
+        this.recoveryEnabled = recoveryEnabled;
+    }
+
+    public long getStallTimeout() {
+        return stallTimeout;
+    }
+
+    public void setStallTimeout(long stallTimeout) {
+        this.stallTimeout = stallTimeout;
+    }
+
+    public long getClaimLease() {
+        return claimLease;
+    }
+
+    public void setClaimLease(long claimLease) {
+        this.claimLease = claimLease;
+    }
+
+    public long getFixedDelay() {
+        return fixedDelay;
+    }
+
+    public void setFixedDelay(long fixedDelay) {
+        this.fixedDelay = fixedDelay;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
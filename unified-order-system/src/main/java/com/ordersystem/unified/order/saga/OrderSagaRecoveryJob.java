@@ -0,0 +1,78 @@
+package com.ordersystem.unified.order.saga;
+
+import com.ordersystem.unified.order.application.CreateOrderUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Compensates order sagas whose command died between its local transactions (crash,
+ * redeploy) and sagas whose compensation failed earlier. Accepted orders no worker picked
+ * up, and orders ingested in bulk still waiting for their charge, are submitted again. Replicas may run it concurrently: the saga row's version lets
+ * only one of them claim a saga.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.order.saga", name = "recovery-enabled", havingValue = "true", matchIfMissing = true)
+public class OrderSagaRecoveryJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSagaRecoveryJob.class);
+
+    private static final EnumSet<OrderSagaStatus> OPEN_STATUSES =
+            EnumSet.of(OrderSagaStatus.ACCEPTED, OrderSagaStatus.RESERVED, OrderSagaStatus.CHARGING, OrderSagaStatus.COMPENSATING);
+    private static final EnumSet<OrderSagaStatus> RESUMABLE_STATUSES =
+            EnumSet.of(OrderSagaStatus.ACCEPTED, OrderSagaStatus.RESERVED);
+
+    private final OrderSagaRepository sagaRepository;
+    private final OrderSagaCompensator compensator;
+    private final CreateOrderUseCase createOrderUseCase;
+    private final OrderSagaProperties properties;
+
+    public OrderSagaRecoveryJob(OrderSagaRepository sagaRepository,
+                                OrderSagaCompensator compensator,
+                                CreateOrderUseCase createOrderUseCase,
+                                OrderSagaProperties properties) {
+        this.sagaRepository = sagaRepository;
+        this.compensator = compensator;
+        this.createOrderUseCase = createOrderUseCase;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${app.order.saga.fixed-delay:60000}")
+    public void recoverStalledSagas() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime before = now.minus(Duration.ofMillis(properties.getStallTimeout()));
+        // A saga whose worker still holds its claim is live, however long ago it last moved
+        List<OrderSaga> stalled = sagaRepository.findStalled(
+                OPEN_STATUSES, before, now, PageRequest.of(0, properties.getBatchSize()));
+        if (stalled.isEmpty()) {
+            return;
+        }
+
+        int compensated = 0;
+        int resumed = 0;
+        for (OrderSaga saga : stalled) {
+            try {
+                if (RESUMABLE_STATUSES.contains(saga.getStatus()) && createOrderUseCase.resume(saga.getOrderId())) {
+                    // Nothing charged yet: the order can still go through
+                    resumed++;
+                } else if (compensator.compensate(saga.getOrderId(), "Recovered stalled order saga in " + saga.getStatus())) {
+                    compensated++;
+                }
+            } catch (OptimisticLockingFailureException e) {
+                logger.debug("Order saga {} claimed concurrently, skipped", saga.getOrderId());
+            } catch (Exception e) {
+                logger.error("Failed to recover stalled order saga {}", saga.getOrderId(), e);
+            }
+        }
+        logger.info("Compensated {} and resumed {} of {} stalled order sagas", compensated, resumed, stalled.size());
+    }
+}
@@ -0,0 +1,45 @@
+package com.ordersystem.unified.order.saga;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for order sagas.
+ */
+@Repository
+public interface OrderSagaRepository extends JpaRepository<OrderSaga, String> {
+
+    /**
+     * Sagas in the given statuses not updated since {@code before}, oldest first.
+     */
+    @Query("SELECT s FROM OrderSaga s WHERE s.status IN :statuses AND s.updatedAt < :before " +
+           "AND (s.claimedUntil IS NULL OR s.claimedUntil < :now) ORDER BY s.updatedAt")
+    List<OrderSaga> findStalled(@Param("statuses") Collection<OrderSagaStatus> statuses,
+                                @Param("before") LocalDateTime before,
+                                @Param("now") LocalDateTime now,
+                                Pageable pageable);
+
+    /**
+     * Claims a saga in one of the given statuses for {@code owner} until {@code until}, unless
+     * another claim is still live; returns 0 when the saga moved on or is held by another worker.
+     * The version bump fails any write through a copy of the saga loaded before the claim.
+     */
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.claimedBy = :owner, s.claimedUntil = :until, s.updatedAt = :now, " +
+           "s.version = s.version + 1 " +
+           "WHERE s.orderId = :orderId AND s.status IN :statuses " +
+           "AND (s.claimedUntil IS NULL OR s.claimedUntil < :now)")
+    int claim(@Param("orderId") String orderId,
+              @Param("owner") String owner,
+              @Param("statuses") Collection<OrderSagaStatus> statuses,
+              @Param("now") LocalDateTime now,
+              @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,23 @@
+package com.ordersystem.unified.order.saga;
+
+/**
+ * Steps of the order creation saga. COMPLETED and COMPENSATED are terminal.
+ */
+public enum OrderSagaStatus {
+    /** Order accepted with 202 and persisted PENDING; waiting for a saga worker. */
+    ACCEPTED,
+    /** Stock reserved and committed; the payment has not been requested yet. */
+    RESERVED,
+    /** The payment gateway is being called; the charge may or may not have gone through. */
+    CHARGING,
+    /** Order confirmed and reservation consumed. */
+    COMPLETED,
+    /** Refund and release in progress. */
+    COMPENSATING,
+    /** Payment refunded (if any) and reservation released. */
+    COMPENSATED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == COMPENSATED;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ordersystem.unified.payment;
 
+import com.ordersystem.unified.infrastructure.idempotency.IdempotencyService;
 import com.ordersystem.unified.payment.dto.PaymentRequest;
 import com.ordersystem.unified.payment.dto.PaymentResponse;
 import com.ordersystem.unified.payment.model.Payment;
@@ -42,6 +43,9 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @GetMapping
     @Operation(summary = "Get all payments", description = "Retrieves all payments in the system")
     public ResponseEntity<List<Payment>> getAllPayments() {
@@ -79,10 +83,12 @@ public class PaymentController {
 
     @PostMapping("/process")
     @Operation(summary = "Process payment", description = "Processes a payment request")
-    public ResponseEntity<PaymentResponse> processPayment(@Valid @RequestBody PaymentRequest request) {
+    public ResponseEntity<?> processPayment(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody PaymentRequest request) {
         logger.debug("Processing payment for order: {}", request.getOrderId());
-        PaymentResponse response = paymentService.processPayment(request);
-        return ResponseEntity.ok(response);
+        return idempotencyService.execute("POST /api/payments/process", idempotencyKey, request,
+            () -> ResponseEntity.ok(paymentService.processPayment(request)));
     }
 
     @GetMapping("/status")
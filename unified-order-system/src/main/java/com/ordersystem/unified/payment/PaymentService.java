@@ -97,7 +97,7 @@ public class PaymentService {
         if (existingPayment.isPresent() && existingPayment.get().isCompleted()) {
             logger.warn("Payment already completed for order: {}, paymentId: {}", 
                        orderId, existingPayment.get().getId());
-            return PaymentResult.success(existingPayment.get().getId());
+            return PaymentResult.success(existingPayment.get().getId(), existingPayment.get().getTransactionId());
         }
 
         final Payment payment;
@@ -114,7 +114,7 @@ public class PaymentService {
         if (payment.isCompleted()) {
             logger.info("Payment successful for order: {}, paymentId: {}, transactionId: {}, correlationId: {}",
                 orderId, payment.getId(), payment.getTransactionId(), correlationId);
-            return PaymentResult.success(payment.getId());
+            return PaymentResult.success(payment.getId(), payment.getTransactionId());
         }
 
         if (com.ordersystem.unified.domain.events.PaymentStatus.PENDING.equals(payment.getStatus())) {
@@ -0,0 +1,52 @@
+package com.ordersystem.unified.query;
+
+import com.ordersystem.unified.query.projection.ProjectionRebuildService;
+import com.ordersystem.unified.query.projection.RebuildProgress;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin operations on the CQRS read-side projections.
+ */
+@RestController
+@RequestMapping("/api/admin/projections")
+@PreAuthorize("hasRole('ADMIN')")
+@ConditionalOnProperty(prefix = "app.projections", name = "enabled", havingValue = "true")
+@Tag(name = "Projections", description = "Read model administration")
+public class ProjectionAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectionAdminController.class);
+
+    private final ProjectionRebuildService rebuildService;
+
+    public ProjectionAdminController(ProjectionRebuildService rebuildService) {
+        this.rebuildService = rebuildService;
+    }
+
+    @PostMapping("/{name}/rebuild")
+    @Operation(summary = "Rebuild a projection from the full event history, resuming an interrupted rebuild")
+    public ResponseEntity<RebuildProgress> rebuild(@PathVariable String name) {
+        logger.info("Projection rebuild requested: {}", name);
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(rebuildService.startRebuild(name));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(rebuildService.getProgress(name).orElse(null));
+        }
+    }
+
+    @GetMapping("/{name}/rebuild")
+    @Operation(summary = "Progress of the projection rebuild on this instance")
+    public ResponseEntity<RebuildProgress> rebuildProgress(@PathVariable String name) {
+        return rebuildService.getProgress(name)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
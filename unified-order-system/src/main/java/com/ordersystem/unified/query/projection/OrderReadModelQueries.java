@@ -0,0 +1,132 @@
+package com.ordersystem.unified.query.projection;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.unified.domain.events.OrderStatus;
+import com.ordersystem.unified.order.dto.OrderItemResponse;
+import com.ordersystem.unified.order.dto.OrderResponse;
+import com.ordersystem.unified.payment.dto.PaymentMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-side queries served from the projected order tables instead of the write model.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.projections", name = "enabled", havingValue = "true")
+public class OrderReadModelQueries {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderReadModelQueries.class);
+
+    private static final TypeReference<List<OrderItemResponse>> ITEMS = new TypeReference<>() {
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OrderReadModelQueries(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Pages orders newest first, optionally filtered by customer and/or status.
+     */
+    public List<OrderResponse> findOrders(String customerId, OrderStatus status, int page, int size) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM order_summary_view WHERE customer_id IS NOT NULL");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("limit", size)
+            .addValue("offset", (long) page * size);
+        if (customerId != null) {
+            sql.append(" AND customer_id = :customerId");
+            params.addValue("customerId", customerId);
+        }
+        if (status != null) {
+            sql.append(" AND status = :status");
+            params.addValue("status", status.name());
+        }
+        sql.append(" ORDER BY created_at DESC LIMIT :limit OFFSET :offset");
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> mapToResponse(rs));
+    }
+
+    public Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status, 0L);
+        }
+        jdbcTemplate.query("SELECT status, order_count FROM order_status_counts", rs -> {
+            try {
+                counts.put(OrderStatus.valueOf(rs.getString("status")), rs.getLong("order_count"));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring unknown projected order status: {}", rs.getString("status"));
+            }
+        });
+        return counts;
+    }
+
+    public BigDecimal confirmedRevenue() {
+        BigDecimal revenue = jdbcTemplate.getJdbcTemplate().queryForObject(
+            "SELECT COALESCE(SUM(confirmed_revenue), 0) FROM order_revenue_daily", BigDecimal.class);
+        return revenue != null ? revenue : BigDecimal.ZERO;
+    }
+
+    private OrderResponse mapToResponse(ResultSet rs) throws SQLException {
+        OrderResponse response = new OrderResponse();
+        response.setOrderId(rs.getString("order_id"));
+        response.setCustomerId(rs.getString("customer_id"));
+        response.setCustomerName(rs.getString("customer_name"));
+        response.setStatus(parse(OrderStatus.class, rs.getString("status")));
+        response.setTotalAmount(rs.getBigDecimal("total_amount"));
+        response.setCreatedAt(localDateTime(rs.getTimestamp("created_at")));
+        response.setUpdatedAt(localDateTime(rs.getTimestamp("updated_at")));
+        response.setCorrelationId(rs.getString("correlation_id"));
+        response.setReservationId(rs.getString("reservation_id"));
+        response.setPaymentId(rs.getString("payment_id"));
+        response.setTransactionId(rs.getString("transaction_id"));
+        response.setCancellationReason(rs.getString("cancellation_reason"));
+        response.setPaymentMethod(parse(PaymentMethod.class, rs.getString("payment_method")));
+        response.setItems(readItems(rs.getString("order_id"), rs.getString("items")));
+        return response;
+    }
+
+    private List<OrderItemResponse> readItems(String orderId, String items) {
+        if (items == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(items, ITEMS);
+        } catch (JsonProcessingException e) {
+            logger.warn("Unreadable projected items for order {}: {}", orderId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static <T extends Enum<T>> T parse(Class<T> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime localDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
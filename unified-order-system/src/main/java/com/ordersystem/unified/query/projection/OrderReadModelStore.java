@@ -0,0 +1,205 @@
+package com.ordersystem.unified.query.projection;
+
+import com.ordersystem.unified.order.domain.OrderAggregateState;
+import com.ordersystem.unified.query.projection.OrderSummaryRow.Contribution;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JDBC access to the order read tables. All writes are batched upserts, so a batch of
+ * events costs a fixed number of round trips regardless of its size.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.projections", name = "enabled", havingValue = "true")
+public class OrderReadModelStore {
+
+    private static final String UPSERT_SUMMARY_SQL =
+        "INSERT INTO order_summary_view (order_id, customer_id, customer_name, status, total_amount, " +
+        "refunded_amount, item_count, items, payment_method, reservation_id, payment_id, transaction_id, " +
+        "cancellation_reason, correlation_id, stream_version, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (order_id) DO UPDATE SET " +
+        "customer_id = EXCLUDED.customer_id, customer_name = EXCLUDED.customer_name, status = EXCLUDED.status, " +
+        "total_amount = EXCLUDED.total_amount, refunded_amount = EXCLUDED.refunded_amount, " +
+        "item_count = EXCLUDED.item_count, items = EXCLUDED.items, payment_method = EXCLUDED.payment_method, " +
+        "reservation_id = EXCLUDED.reservation_id, payment_id = EXCLUDED.payment_id, " +
+        "transaction_id = EXCLUDED.transaction_id, cancellation_reason = EXCLUDED.cancellation_reason, " +
+        "correlation_id = EXCLUDED.correlation_id, stream_version = EXCLUDED.stream_version, " +
+        "created_at = EXCLUDED.created_at, updated_at = EXCLUDED.updated_at " +
+        "WHERE order_summary_view.stream_version < EXCLUDED.stream_version";
+
+    private static final String ADD_STATUS_COUNT_SQL =
+        "INSERT INTO order_status_counts (status, order_count) VALUES (?, ?) " +
+        "ON CONFLICT (status) DO UPDATE SET order_count = order_status_counts.order_count + EXCLUDED.order_count";
+
+    private static final String ADD_DAILY_REVENUE_SQL =
+        "INSERT INTO order_revenue_daily (revenue_date, confirmed_orders, confirmed_revenue) VALUES (?, ?, ?) " +
+        "ON CONFLICT (revenue_date) DO UPDATE SET " +
+        "confirmed_orders = order_revenue_daily.confirmed_orders + EXCLUDED.confirmed_orders, " +
+        "confirmed_revenue = order_revenue_daily.confirmed_revenue + EXCLUDED.confirmed_revenue";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OrderReadModelStore(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Loads the current rows of the given orders; orders without a row are absent from the map.
+     */
+    public Map<String, OrderSummaryRow> loadSummaries(Collection<String> orderIds) {
+        Map<String, OrderSummaryRow> rows = new HashMap<>();
+        if (orderIds.isEmpty()) {
+            return rows;
+        }
+        jdbcTemplate.query("SELECT * FROM order_summary_view WHERE order_id IN (:ids)",
+            new MapSqlParameterSource("ids", orderIds),
+            rs -> {
+                OrderSummaryRow row = mapRow(rs);
+                rows.put(row.getOrderId(), row);
+            });
+        return rows;
+    }
+
+    public void upsertSummaries(Collection<OrderSummaryRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (OrderSummaryRow row : rows) {
+            OrderAggregateState state = row.getState();
+            batch.add(new Object[] {
+                state.getOrderId(), state.getCustomerId(), state.getCustomerName(), state.getStatus(),
+                state.getTotalAmount(), state.getRefundedAmount(), row.getItemCount(), row.getItems(),
+                row.getPaymentMethod(), state.getReservationId(), state.getPaymentId(), state.getTransactionId(),
+                state.getCancellationReason(), row.getCorrelationId(), state.getStreamVersion(),
+                timestamp(row.getCreatedAt()), timestamp(row.getUpdatedAt())
+            });
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SUMMARY_SQL, batch);
+    }
+
+    /**
+     * Moves the status counts and daily revenue from what the given orders contributed
+     * before ({@code before}, keyed by order id) to what their rows contribute now.
+     */
+    public void applyContributionChanges(Map<String, Contribution> before, Collection<OrderSummaryRow> after) {
+        Map<String, Long> statusDeltas = new TreeMap<>();
+        Map<LocalDate, RevenueDelta> revenueDeltas = new TreeMap<>();
+        for (OrderSummaryRow row : after) {
+            Contribution previous = before.get(row.getOrderId());
+            if (previous != null) {
+                accumulate(previous, -1, statusDeltas, revenueDeltas);
+            }
+            accumulate(row.contribution(), 1, statusDeltas, revenueDeltas);
+        }
+
+        List<Object[]> statusBatch = new ArrayList<>();
+        statusDeltas.forEach((status, delta) -> {
+            if (delta != 0) {
+                statusBatch.add(new Object[] {status, delta});
+            }
+        });
+        List<Object[]> revenueBatch = new ArrayList<>();
+        revenueDeltas.forEach((day, delta) -> {
+            if (delta.orders != 0 || delta.revenue.signum() != 0) {
+                revenueBatch.add(new Object[] {Date.valueOf(day), delta.orders, delta.revenue});
+            }
+        });
+        if (!statusBatch.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(ADD_STATUS_COUNT_SQL, statusBatch);
+        }
+        if (!revenueBatch.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(ADD_DAILY_REVENUE_SQL, revenueBatch);
+        }
+    }
+
+    /**
+     * Empties all order read tables (rebuild start).
+     */
+    public void clear() {
+        jdbcTemplate.getJdbcTemplate().execute("TRUNCATE order_summary_view, order_status_counts, order_revenue_daily");
+    }
+
+    /**
+     * Recomputes status counts and daily revenue from the summary rows in two set-based statements each.
+     */
+    public void recomputeTotals() {
+        JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+        jdbc.update("DELETE FROM order_status_counts");
+        jdbc.update("INSERT INTO order_status_counts (status, order_count) " +
+                    "SELECT status, COUNT(*) FROM order_summary_view WHERE status IS NOT NULL GROUP BY status");
+        jdbc.update("DELETE FROM order_revenue_daily");
+        jdbc.update("INSERT INTO order_revenue_daily (revenue_date, confirmed_orders, confirmed_revenue) " +
+                    "SELECT CAST(created_at AS DATE), COUNT(*), SUM(total_amount) FROM order_summary_view " +
+                    "WHERE status = 'CONFIRMED' AND total_amount IS NOT NULL AND created_at IS NOT NULL " +
+                    "GROUP BY CAST(created_at AS DATE)");
+    }
+
+    private static void accumulate(Contribution contribution, int sign,
+                                   Map<String, Long> statusDeltas, Map<LocalDate, RevenueDelta> revenueDeltas) {
+        if (contribution.status() != null) {
+            statusDeltas.merge(contribution.status(), (long) sign, Long::sum);
+        }
+        if (contribution.confirmedTotal() != null && contribution.day() != null) {
+            RevenueDelta delta = revenueDeltas.computeIfAbsent(contribution.day(), day -> new RevenueDelta());
+            delta.orders += sign;
+            delta.revenue = sign > 0
+                ? delta.revenue.add(contribution.confirmedTotal())
+                : delta.revenue.subtract(contribution.confirmedTotal());
+        }
+    }
+
+    private static OrderSummaryRow mapRow(ResultSet rs) throws SQLException {
+        OrderAggregateState state = new OrderAggregateState(rs.getString("order_id"));
+        state.setCustomerId(rs.getString("customer_id"));
+        state.setCustomerName(rs.getString("customer_name"));
+        state.setStatus(rs.getString("status"));
+        state.setTotalAmount(rs.getBigDecimal("total_amount"));
+        state.setRefundedAmount(rs.getBigDecimal("refunded_amount"));
+        state.setReservationId(rs.getString("reservation_id"));
+        state.setPaymentId(rs.getString("payment_id"));
+        state.setTransactionId(rs.getString("transaction_id"));
+        state.setCancellationReason(rs.getString("cancellation_reason"));
+        state.setStreamVersion(rs.getLong("stream_version"));
+
+        OrderSummaryRow row = new OrderSummaryRow(state);
+        row.setItemCount(rs.getInt("item_count"));
+        row.setItems(rs.getString("items"));
+        row.setPaymentMethod(rs.getString("payment_method"));
+        row.setCorrelationId(rs.getString("correlation_id"));
+        row.setCreatedAt(localDateTime(rs.getTimestamp("created_at")));
+        row.setUpdatedAt(localDateTime(rs.getTimestamp("updated_at")));
+        return row;
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static LocalDateTime localDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+
+    private static final class RevenueDelta {
+        private long orders;
+        private BigDecimal revenue = BigDecimal.ZERO;
+    }
+}
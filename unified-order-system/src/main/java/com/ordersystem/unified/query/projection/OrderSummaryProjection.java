@@ -0,0 +1,105 @@
+package com.ordersystem.unified.query.projection;
+
+import com.ordersystem.unified.query.projection.OrderSummaryRow.Contribution;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains {@code order_summary_view} together with the status count and daily revenue
+ * tables derived from it. Order, payment and inventory reservation events are keyed by
+ * order id and land on the order's row; other streams in the store (stock ledger entries
+ * keyed by reservation or restock id) are not orders and are ignored.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.projections", name = "enabled", havingValue = "true")
+public class OrderSummaryProjection implements RebuildableProjection {
+
+    static final String NAME = "order-summary";
+
+    /** Event types appended to order streams, i.e. those {@link OrderSummaryRow} folds. */
+    private static final Set<String> ORDER_EVENT_TYPES = Set.of(
+        "OrderCreatedEvent", "OrderStatusUpdatedEvent", "OrderCancelledEvent",
+        "InventoryReservedEvent", "InventoryReleasedEvent",
+        "PaymentProcessedEvent", "PaymentRefundedEvent");
+
+    private final OrderReadModelStore store;
+
+    public OrderSummaryProjection(OrderReadModelStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void apply(List<ProjectedEvent> batch) {
+        List<ProjectedEvent> events = orderEvents(batch);
+        if (events.isEmpty()) {
+            return;
+        }
+        Map<String, OrderSummaryRow> rows = new LinkedHashMap<>(store.loadSummaries(orderIds(events)));
+        Map<String, Contribution> before = new LinkedHashMap<>();
+        rows.forEach((orderId, row) -> before.put(orderId, row.contribution()));
+
+        for (ProjectedEvent event : events) {
+            rows.computeIfAbsent(event.aggregateId(), OrderSummaryRow::new).apply(event);
+        }
+
+        store.upsertSummaries(rows.values());
+        store.applyContributionChanges(before, rows.values());
+    }
+
+    @Override
+    public void reset() {
+        store.clear();
+    }
+
+    /**
+     * Folds and upserts order rows only; status counts and revenue are derived once
+     * in {@link #finishRebuild()} instead of being adjusted per batch.
+     */
+    @Override
+    public void applyRebuildBatch(List<ProjectedEvent> batch) {
+        List<ProjectedEvent> events = orderEvents(batch);
+        if (events.isEmpty()) {
+            return;
+        }
+        Map<String, OrderSummaryRow> rows = new LinkedHashMap<>(store.loadSummaries(orderIds(events)));
+        for (ProjectedEvent event : events) {
+            rows.computeIfAbsent(event.aggregateId(), OrderSummaryRow::new).apply(event);
+        }
+        store.upsertSummaries(rows.values());
+    }
+
+    @Override
+    public void finishRebuild() {
+        store.recomputeTotals();
+    }
+
+    private static List<ProjectedEvent> orderEvents(List<ProjectedEvent> batch) {
+        List<ProjectedEvent> events = new ArrayList<>(batch.size());
+        for (ProjectedEvent event : batch) {
+            if (ORDER_EVENT_TYPES.contains(event.eventType())) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    private static Set<String> orderIds(List<ProjectedEvent> events) {
+        Set<String> orderIds = new LinkedHashSet<>();
+        for (ProjectedEvent event : events) {
+            orderIds.add(event.aggregateId());
+        }
+        return orderIds;
+    }
+}
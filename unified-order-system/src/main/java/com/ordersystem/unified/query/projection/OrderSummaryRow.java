@@ -0,0 +1,103 @@
+package com.ordersystem.unified.query.projection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ordersystem.unified.domain.events.OrderStatus;
+import com.ordersystem.unified.order.domain.OrderAggregateState;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of {@code order_summary_view}: the folded order state plus the
+ * denormalized columns only the read side needs.
+ */
+public class OrderSummaryRow {
+
+    private final OrderAggregateState state;
+    private int itemCount;
+    private String items;
+    private String paymentMethod;
+    private String correlationId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public OrderSummaryRow(String orderId) {
+        this(new OrderAggregateState(orderId));
+    }
+
+    public OrderSummaryRow(OrderAggregateState state) {
+        this.state = state;
+    }
+
+    /**
+     * Folds one event of the order's stream into the row. Events at or below the row's
+     * stream version were already folded and are ignored.
+     */
+    public void apply(ProjectedEvent event) {
+        if (event.streamVersion() <= state.getStreamVersion()) {
+            return;
+        }
+        JsonNode payload = event.payload();
+        state.apply(event.eventType(), payload, event.streamVersion());
+        if ("OrderCreatedEvent".equals(event.eventType())) {
+            JsonNode itemsNode = payload.get("items");
+            if (itemsNode != null && itemsNode.isArray()) {
+                items = itemsNode.toString();
+                itemCount = itemsNode.size();
+            }
+            paymentMethod = text(payload, "paymentMethod", paymentMethod);
+            correlationId = text(payload, "correlationId", correlationId);
+        }
+        if (createdAt == null) {
+            createdAt = event.createdAt();
+        }
+        updatedAt = event.createdAt();
+    }
+
+    /**
+     * What this row currently contributes to the status counts and daily revenue tables.
+     */
+    public Contribution contribution() {
+        boolean confirmed = OrderStatus.CONFIRMED.name().equals(state.getStatus());
+        return new Contribution(
+            state.getStatus(),
+            confirmed && state.getTotalAmount() != null ? state.getTotalAmount() : null,
+            createdAt != null ? createdAt.toLocalDate() : null
+        );
+    }
+
+    private static String text(JsonNode payload, String field, String fallback) {
+        JsonNode node = payload.get(field);
+        return node != null && !node.isNull() ? node.asText() : fallback;
+    }
+
+    /**
+     * @param status         Counted status, null if the order has none yet
+     * @param confirmedTotal Total counted as revenue, null unless the order is CONFIRMED
+     * @param day            Revenue bucket (order creation date)
+     */
+    public record Contribution(String status, BigDecimal confirmedTotal, LocalDate day) {
+    }
+
+    public OrderAggregateState getState() { return state; }
+    public String getOrderId() { return state.getOrderId(); }
+
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+
+    public String getItems() { return items; }
+    public void setItems(String items) { this.items = items; }
+
+    public String getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+
+    public String getCorrelationId() { return correlationId; }
+    public void setCorrelationId(String correlationId) { this.correlationId = correlationId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
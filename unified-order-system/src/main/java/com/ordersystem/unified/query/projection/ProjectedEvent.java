@@ -0,0 +1,32 @@
+package com.ordersystem.unified.query.projection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ordersystem.unified.infrastructure.events.DomainEventEntity;
+import com.ordersystem.unified.infrastructure.events.EventCodecRegistry;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * A stored domain event as handed to projections: decoded payload plus its positions.
+ */
+public record ProjectedEvent(long globalPosition,
+                             String aggregateId,
+                             String eventType,
+                             long streamVersion,
+                             JsonNode payload,
+                             LocalDateTime createdAt) {
+
+    /**
+     * Decodes a stored event.
+     *
+     * @throws IllegalStateException if the payload cannot be decoded
+     */
+    public static ProjectedEvent from(DomainEventEntity event, EventCodecRegistry eventCodecs) {
+        try {
+            return new ProjectedEvent(event.getGlobalPosition(), event.getAggregateId(), event.getEventType(),
+                event.getStreamVersion(), eventCodecs.read(event), event.getCreatedAt());
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt event payload: " + event.getId(), e);
+        }
+    }
+}
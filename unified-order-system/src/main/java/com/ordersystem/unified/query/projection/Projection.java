@@ -0,0 +1,31 @@
+package com.ordersystem.unified.query.projection;
+
+import java.util.List;
+
+/**
+ * A read model maintained incrementally from the domain event store.
+ */
+public interface Projection {
+
+    /**
+     * Unique projection name; keys the projection's checkpoint.
+     */
+    String name();
+
+    /**
+     * Applies a batch of events in global order. Runs inside the engine's transaction,
+     * which also advances the checkpoint, so a batch is applied exactly once.
+     *
+     * @param events Contiguous events after the current checkpoint
+     */
+    void apply(List<ProjectedEvent> events);
+
+    /**
+     * Whether an event that commits at a global position the engine already skipped as a gap
+     * must still be applied. Such events arrive behind the checkpoint and out of order, so only
+     * projections whose updates commute should opt in.
+     */
+    default boolean appliesLateEvents() {
+        return false;
+    }
+}
@@ -0,0 +1,221 @@
+package com.ordersystem.unified.query.projection;
+
+import com.ordersystem.unified.infrastructure.events.DomainEventEntity;
+import com.ordersystem.unified.infrastructure.events.DomainEventRepository;
+import com.ordersystem.unified.infrastructure.events.EventCodecRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tails {@code domain_events} in global position order and feeds every {@link Projection},
+ * each from its own checkpoint in {@code projection_checkpoints}.
+ * <p>
+ * A batch and its checkpoint commit in one transaction. The checkpoint row is claimed with
+ * SKIP LOCKED, so across replicas exactly one instance advances a given projection.
+ * Global positions come from a sequence and may commit out of order: a missing position
+ * holds the projection back for {@code app.projections.gap-timeout} before it is skipped
+ * as a rolled-back insert. For projections that {@link Projection#appliesLateEvents() apply
+ * late events} the skipped positions are kept in {@code projection_gaps}, and an event that
+ * still commits at one of them is applied by a later batch instead of being lost.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.projections", name = "enabled", havingValue = "true")
+public class ProjectionEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectionEngine.class);
+
+    private final List<Projection> projections;
+    private final DomainEventRepository eventRepository;
+    private final EventCodecRegistry eventCodecs;
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> positions = new ConcurrentHashMap<>();
+    private final Map<String, Gap> openGaps = new ConcurrentHashMap<>();
+    private final Counter eventsApplied;
+    private final Counter gapsSkipped;
+    private final Counter lateEventsApplied;
+
+    public ProjectionEngine(List<Projection> projections,
+                            DomainEventRepository eventRepository,
+                            EventCodecRegistry eventCodecs,
+                            JdbcTemplate jdbcTemplate,
+                            ProjectionProperties properties,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.projections = projections;
+        this.eventRepository = eventRepository;
+        this.eventCodecs = eventCodecs;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.eventsApplied = Counter.builder("projection.events.applied")
+                .description("Domain events applied to projections")
+                .register(meterRegistry);
+        this.gapsSkipped = Counter.builder("projection.gaps.skipped")
+                .description("Global position gaps skipped after the gap timeout")
+                .register(meterRegistry);
+        this.lateEventsApplied = Counter.builder("projection.events.late")
+                .description("Events applied after their global position had been skipped as a gap")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.projections.poll-interval:1000}")
+    public void poll() {
+        for (Projection projection : projections) {
+            try {
+                catchUp(projection);
+            } catch (RuntimeException e) {
+                // Nothing of the failed batch was committed: the next poll retries from the checkpoint
+                logger.error("Projection {} failed to apply a batch", projection.name(), e);
+            }
+        }
+    }
+
+    /**
+     * Applies batches until the projection reaches the end of the store or an open gap.
+     */
+    public void catchUp(Projection projection) {
+        Integer applied;
+        do {
+            applied = transactionTemplate.execute(status -> applyNextBatch(projection));
+        } while (applied != null && applied == properties.getBatchSize());
+    }
+
+    private int applyNextBatch(Projection projection) {
+        Long checkpoint = claimCheckpoint(projection.name());
+        if (checkpoint == null) {
+            return 0;
+        }
+        if (projection.appliesLateEvents()) {
+            applyLateEvents(projection);
+        }
+
+        List<DomainEventEntity> events = eventRepository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(
+            checkpoint, PageRequest.of(0, properties.getBatchSize()));
+        List<ProjectedEvent> ready = new ArrayList<>(events.size());
+        long expected = checkpoint + 1;
+        for (DomainEventEntity event : events) {
+            long position = event.getGlobalPosition();
+            if (position != expected) {
+                if (!gapExpired(projection.name(), expected, position)) {
+                    break;
+                }
+                if (projection.appliesLateEvents()) {
+                    jdbcTemplate.update(
+                        "INSERT INTO projection_gaps (projection_name, position) " +
+                        "SELECT ?, generate_series(?, ?) ON CONFLICT DO NOTHING",
+                        projection.name(), expected, position - 1);
+                }
+            }
+            ready.add(ProjectedEvent.from(event, eventCodecs));
+            expected = position + 1;
+        }
+        if (ready.isEmpty()) {
+            return 0;
+        }
+
+        projection.apply(ready);
+        long last = ready.get(ready.size() - 1).globalPosition();
+        jdbcTemplate.update(
+            "UPDATE projection_checkpoints SET position = ?, updated_at = CURRENT_TIMESTAMP WHERE projection_name = ?",
+            last, projection.name());
+        positionOf(projection.name()).set(last);
+        eventsApplied.increment(ready.size());
+        return ready.size();
+    }
+
+    /**
+     * Locks the projection's checkpoint row for this transaction.
+     *
+     * @return the checkpoint, or null while another instance holds it or a rebuild is running
+     */
+    private Long claimCheckpoint(String projectionName) {
+        jdbcTemplate.update(
+            "INSERT INTO projection_checkpoints (projection_name, position) VALUES (?, 0) " +
+            "ON CONFLICT (projection_name) DO NOTHING", projectionName);
+        List<Long> checkpoint = jdbcTemplate.queryForList(
+            "SELECT position FROM projection_checkpoints " +
+            "WHERE projection_name = ? AND rebuilding = false FOR UPDATE SKIP LOCKED",
+            Long.class, projectionName);
+        return checkpoint.isEmpty() ? null : checkpoint.get(0);
+    }
+
+    /**
+     * Applies events that committed at positions this projection skipped as gaps, and stops
+     * watching those positions and any older than {@code app.projections.gap-retention}.
+     */
+    private void applyLateEvents(Projection projection) {
+        jdbcTemplate.update(
+            "DELETE FROM projection_gaps WHERE projection_name = ? AND skipped_at < ?",
+            projection.name(), new Timestamp(System.currentTimeMillis() - properties.getGapRetention()));
+        List<Long> arrived = jdbcTemplate.queryForList(
+            "SELECT g.position FROM projection_gaps g JOIN domain_events e ON e.global_position = g.position " +
+            "WHERE g.projection_name = ? ORDER BY g.position",
+            Long.class, projection.name());
+        if (arrived.isEmpty()) {
+            return;
+        }
+
+        List<ProjectedEvent> late = new ArrayList<>(arrived.size());
+        for (DomainEventEntity event : eventRepository.findByGlobalPositionInOrderByGlobalPositionAsc(arrived)) {
+            late.add(ProjectedEvent.from(event, eventCodecs));
+        }
+        projection.apply(late);
+        List<Object[]> resolved = new ArrayList<>(arrived.size());
+        for (Long position : arrived) {
+            resolved.add(new Object[] {projection.name(), position});
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM projection_gaps WHERE projection_name = ? AND position = ?", resolved);
+        lateEventsApplied.increment(late.size());
+        logger.info("Projection {} applied {} late events at skipped positions {}",
+                   projection.name(), late.size(), arrived);
+    }
+
+    private boolean gapExpired(String projectionName, long missing, long next) {
+        long now = System.currentTimeMillis();
+        Gap gap = openGaps.compute(projectionName,
+            (name, open) -> open != null && open.missing() == missing ? open : new Gap(missing, now));
+        if (now - gap.openedAt() < properties.getGapTimeout()) {
+            return false;
+        }
+        openGaps.remove(projectionName);
+        gapsSkipped.increment();
+        logger.warn("Projection {} skipping global positions {}..{} after waiting {} ms",
+                   projectionName, missing, next - 1, now - gap.openedAt());
+        return true;
+    }
+
+    private AtomicLong positionOf(String projectionName) {
+        return positions.computeIfAbsent(projectionName, name -> {
+            AtomicLong position = new AtomicLong();
+            Gauge.builder("projection.position", position, AtomicLong::get)
+                .description("Last global event position applied by the projection")
+                .tag("projection", name)
+                .register(meterRegistry);
+            return position;
+        });
+    }
+
+    private record Gap(long missing, long openedAt) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.ordersystem.unified.query.projection;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.projections")
+public class ProjectionProperties {
+
+    private boolean enabled = false;
+    private int batchSize = 500;
+    private long pollInterval = 1000L;
+    /**
+     * How long a missing global position may hold a projection back before it is treated
+     * as a rolled-back insert and skipped.
+     */
+    private long gapTimeout = 5000L;
+    /**
+     * How long a skipped position is still watched for a late commit by projections that
+     * apply late events; keep well above the longest transaction.
+     */
+    private long gapRetention = 86400000L;
+    /**
+     * Global positions read and committed per rebuild step (the resume granularity).
+     */
+    private int rebuildChunkSize = 50000;
+    /**
+     * Rebuild workers; 0 uses one per available processor.
+     */
+    private int rebuildParallelism = 0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public long getGapTimeout() {
+        return gapTimeout;
+    }
+
+    public void setGapTimeout(long gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+
+    public long getGapRetention() {
+        return gapRetention;
+    }
+
+    public void setGapRetention(long gapRetention) {
+        this.gapRetention = gapRetention;
+    }
+
+    public int getRebuildChunkSize() {
+        return rebuildChunkSize;
+    }
+
+    public void setRebuildChunkSize(int rebuildChunkSize) {
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    public int getRebuildParallelism() {
+        return rebuildParallelism;
+    }
+
+    public void setRebuildParallelism(int rebuildParallelism) {
+        this.rebuildParallelism = rebuildParallelism;
+    }
+}
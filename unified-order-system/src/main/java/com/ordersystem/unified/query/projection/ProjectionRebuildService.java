@@ -0,0 +1,290 @@
+package com.ordersystem.unified.query.projection;
+
+import com.ordersystem.unified.infrastructure.events.DomainEventEntity;
+import com.ordersystem.unified.infrastructure.events.DomainEventRepository;
+import com.ordersystem.unified.infrastructure.events.EventCodecRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds a {@link RebuildableProjection} from the full event history, hot and archived.
+ * <p>
+ * The global position range up to the store head at rebuild start is replayed in chunks of
+ * {@code app.projections.rebuild-chunk-size}. Each chunk is streamed through a database cursor,
+ * split by aggregate id hash and applied by a fork-join pool, one transaction per bucket.
+ * After every chunk the cursor is recorded in {@code projection_checkpoints}; a rebuild
+ * interrupted by a crash resumes from there when triggered again. While the checkpoint is
+ * flagged as rebuilding the {@link ProjectionEngine} leaves the projection alone, and picks
+ * up live events from the rebuild target once it completes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.projections", name = "enabled", havingValue = "true")
+public class ProjectionRebuildService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectionRebuildService.class);
+
+    private final Map<String, RebuildableProjection> projections = new LinkedHashMap<>();
+    private final DomainEventRepository eventRepository;
+    private final EventCodecRegistry eventCodecs;
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RebuildProgress> progress = new ConcurrentHashMap<>();
+    private final ExecutorService coordinator;
+    private final ForkJoinPool workers;
+
+    public ProjectionRebuildService(List<Projection> projections,
+                                    DomainEventRepository eventRepository,
+                                    EventCodecRegistry eventCodecs,
+                                    JdbcTemplate jdbcTemplate,
+                                    ProjectionProperties properties,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        for (Projection projection : projections) {
+            if (projection instanceof RebuildableProjection rebuildable) {
+                this.projections.put(projection.name(), rebuildable);
+            }
+        }
+        this.eventRepository = eventRepository;
+        this.eventCodecs = eventCodecs;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "projection-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workers = new ForkJoinPool(parallelism());
+    }
+
+    /**
+     * Starts (or resumes) the rebuild of a projection in the background.
+     *
+     * @throws IllegalArgumentException if no rebuildable projection has that name
+     * @throws IllegalStateException if a rebuild of it is already running on this instance
+     */
+    public RebuildProgress startRebuild(String projectionName) {
+        RebuildableProjection projection = projections.get(projectionName);
+        if (projection == null) {
+            throw new IllegalArgumentException("Unknown projection: " + projectionName);
+        }
+        RebuildProgress current = progressOf(projectionName);
+        if (!current.tryStart()) {
+            throw new IllegalStateException("Rebuild of " + projectionName + " is already running");
+        }
+        coordinator.execute(() -> rebuild(projection, current));
+        return current;
+    }
+
+    public Optional<RebuildProgress> getProgress(String projectionName) {
+        if (!projections.containsKey(projectionName)) {
+            return Optional.empty();
+        }
+        return Optional.of(progressOf(projectionName));
+    }
+
+    /**
+     * Runs a started rebuild to completion on the calling thread.
+     */
+    void rebuild(RebuildableProjection projection, RebuildProgress current) {
+        String name = projection.name();
+        try {
+            RebuildRange range = transactionTemplate.execute(status -> beginOrResume(projection));
+            current.begin(range.cursor(), range.target());
+            logger.info("Rebuilding projection {} from position {} to {}", name, range.cursor(), range.target());
+
+            long settledAt = System.currentTimeMillis() + properties.getGapTimeout();
+            long cursor = range.cursor();
+            while (cursor < range.target()) {
+                long chunkEnd = Math.min(cursor + properties.getRebuildChunkSize(), range.target());
+                if (chunkEnd == range.target()) {
+                    // Positions just below the target may still be in flight; the live engine starts after it
+                    awaitUntil(settledAt);
+                }
+                int replayed = replayChunk(projection, cursor, chunkEnd);
+                jdbcTemplate.update(
+                    "UPDATE projection_checkpoints SET rebuild_cursor = ?, updated_at = CURRENT_TIMESTAMP " +
+                    "WHERE projection_name = ?", chunkEnd, name);
+                current.advance(chunkEnd, replayed);
+                cursor = chunkEnd;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                projection.finishRebuild();
+                jdbcTemplate.update(
+                    "UPDATE projection_checkpoints SET position = ?, rebuilding = false, rebuild_target = NULL, " +
+                    "rebuild_cursor = NULL, rebuild_started_at = NULL, updated_at = CURRENT_TIMESTAMP " +
+                    "WHERE projection_name = ?", range.target(), name);
+            });
+            current.complete();
+            logger.info("Rebuilt projection {}: {} events at {} events/s",
+                       name, current.getEventsProcessed(), Math.round(current.getEventsPerSecond()));
+        } catch (RuntimeException e) {
+            // The checkpoint keeps the last completed chunk: triggering the rebuild again resumes from it
+            current.fail(e);
+            logger.error("Rebuild of projection {} failed at position {}", name, current.getCursor(), e);
+        }
+    }
+
+    /**
+     * Locks the checkpoint and either picks up an interrupted rebuild or resets the projection
+     * and fixes the target at the current store head.
+     */
+    private RebuildRange beginOrResume(RebuildableProjection projection) {
+        String name = projection.name();
+        jdbcTemplate.update(
+            "INSERT INTO projection_checkpoints (projection_name, position) VALUES (?, 0) " +
+            "ON CONFLICT (projection_name) DO NOTHING", name);
+        List<RebuildRange> interrupted = jdbcTemplate.query(
+            "SELECT rebuild_cursor, rebuild_target FROM projection_checkpoints " +
+            "WHERE projection_name = ? AND rebuilding = true FOR UPDATE",
+            (rs, rowNum) -> new RebuildRange(rs.getLong("rebuild_cursor"), rs.getLong("rebuild_target")),
+            name);
+        if (!interrupted.isEmpty()) {
+            return interrupted.get(0);
+        }
+
+        jdbcTemplate.queryForObject(
+            "SELECT position FROM projection_checkpoints WHERE projection_name = ? FOR UPDATE", Long.class, name);
+        Long head = jdbcTemplate.queryForObject(
+            "SELECT GREATEST(COALESCE((SELECT MAX(global_position) FROM domain_events), 0), " +
+            "COALESCE((SELECT MAX(global_position) FROM domain_events_archive), 0))", Long.class);
+        long target = head != null ? head : 0;
+        projection.reset();
+        jdbcTemplate.update(
+            "UPDATE projection_checkpoints SET rebuilding = true, rebuild_target = ?, rebuild_cursor = 0, " +
+            "rebuild_started_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP WHERE projection_name = ?",
+            target, name);
+        return new RebuildRange(0, target);
+    }
+
+    /**
+     * Replays the positions in {@code (fromExclusive, toInclusive]}.
+     *
+     * @return the number of events replayed
+     */
+    private int replayChunk(RebuildableProjection projection, long fromExclusive, long toInclusive) {
+        List<List<ProjectedEvent>> buckets = readChunk(fromExclusive, toInclusive, workers.getParallelism());
+        List<Callable<Void>> tasks = new ArrayList<>(buckets.size());
+        int events = 0;
+        for (List<ProjectedEvent> bucket : buckets) {
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            events += bucket.size();
+            tasks.add(() -> {
+                transactionTemplate.executeWithoutResult(status -> projection.applyRebuildBatch(bucket));
+                return null;
+            });
+        }
+        for (Future<Void> task : workers.invokeAll(tasks)) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while replaying " + projection.name(), e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Replay of " + projection.name() + " failed after position "
+                    + fromExclusive, e.getCause());
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Streams one chunk and splits it into buckets by aggregate id, so each aggregate's
+     * events stay together and in order.
+     */
+    private List<List<ProjectedEvent>> readChunk(long fromExclusive, long toInclusive, int bucketCount) {
+        List<List<ProjectedEvent>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<DomainEventEntity> events =
+                     eventRepository.streamByGlobalPositionRange(fromExclusive, toInclusive)) {
+                events.forEach(event ->
+                    buckets.get(bucketOf(event.getAggregateId(), bucketCount)).add(ProjectedEvent.from(event, eventCodecs)));
+            }
+        });
+        return buckets;
+    }
+
+    private static void awaitUntil(long deadline) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight events", e);
+        }
+    }
+
+    static int bucketOf(String aggregateId, int bucketCount) {
+        return Math.floorMod(aggregateId.hashCode(), bucketCount);
+    }
+
+    private int parallelism() {
+        int configured = properties.getRebuildParallelism();
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    private RebuildProgress progressOf(String projectionName) {
+        return progress.computeIfAbsent(projectionName, name -> {
+            RebuildProgress created = new RebuildProgress(name);
+            Gauge.builder("projection.rebuild.events.per.second", created, RebuildProgress::getEventsPerSecond)
+                .description("Events replayed per second by the running projection rebuild")
+                .tag("projection", name)
+                .register(meterRegistry);
+            Gauge.builder("projection.rebuild.eta.seconds", created, RebuildProgress::getEtaSeconds)
+                .description("Estimated seconds until the projection rebuild completes, -1 if unknown")
+                .tag("projection", name)
+                .register(meterRegistry);
+            Gauge.builder("projection.rebuild.progress", created, RebuildProgress::getProgress)
+                .description("Share of the global position range the projection rebuild has covered")
+                .tag("projection", name)
+                .register(meterRegistry);
+            return created;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private record RebuildRange(long cursor, long target) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.ordersystem.unified.query.projection;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Live progress of a projection rebuild on this instance; also backs the rebuild gauges.
+ */
+public class RebuildProgress {
+
+    public enum State { IDLE, RUNNING, COMPLETED, FAILED }
+
+    private final String projection;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile State state = State.IDLE;
+    private volatile LocalDateTime startedAt;
+    private volatile long startedNanos;
+    private volatile long resumedFrom;
+    private volatile long cursor;
+    private volatile long target;
+    private volatile long eventsProcessed;
+    private volatile String error;
+
+    public RebuildProgress(String projection) {
+        this.projection = projection;
+    }
+
+    boolean tryStart() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        state = State.RUNNING;
+        startedAt = LocalDateTime.now();
+        startedNanos = System.nanoTime();
+        eventsProcessed = 0;
+        error = null;
+        return true;
+    }
+
+    void begin(long cursor, long target) {
+        this.resumedFrom = cursor;
+        this.cursor = cursor;
+        this.target = target;
+    }
+
+    void advance(long cursor, int events) {
+        this.cursor = cursor;
+        this.eventsProcessed += events;
+    }
+
+    void complete() {
+        state = State.COMPLETED;
+        running.set(false);
+    }
+
+    void fail(Throwable cause) {
+        state = State.FAILED;
+        error = cause.getMessage();
+        running.set(false);
+    }
+
+    public String getProjection() { return projection; }
+    public State getState() { return state; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public long getCursor() { return cursor; }
+    public long getTarget() { return target; }
+    public long getEventsProcessed() { return eventsProcessed; }
+    public String getError() { return error; }
+
+    public double getEventsPerSecond() {
+        double seconds = elapsedSeconds();
+        return seconds > 0 ? eventsProcessed / seconds : 0;
+    }
+
+    /**
+     * Share of the position range covered, from 0 to 1.
+     */
+    public double getProgress() {
+        if (state == State.COMPLETED) {
+            return 1;
+        }
+        return target > 0 ? (double) cursor / target : 0;
+    }
+
+    /**
+     * Seconds left at the position throughput achieved so far; -1 while unknown.
+     */
+    public double getEtaSeconds() {
+        if (state != State.RUNNING) {
+            return state == State.COMPLETED ? 0 : -1;
+        }
+        double seconds = elapsedSeconds();
+        long covered = cursor - resumedFrom;
+        if (seconds <= 0 || covered <= 0) {
+            return -1;
+        }
+        return (target - cursor) / (covered / seconds);
+    }
+
+    private double elapsedSeconds() {
+        return startedAt == null ? 0 : (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ordersystem.unified.query.projection;
+
+import java.util.List;
+
+/**
+ * A projection that can be rebuilt from scratch by {@link ProjectionRebuildService}.
+ * Rebuild batches for disjoint aggregate sets may be applied concurrently.
+ */
+public interface RebuildableProjection extends Projection {
+
+    /**
+     * Drops all projected state before a fresh rebuild.
+     */
+    void reset();
+
+    /**
+     * Applies the events of a set of aggregates that no concurrent call touches.
+     * Must be idempotent per aggregate stream version so a resumed rebuild can replay a chunk.
+     *
+     * @param events Events of those aggregates, in stream order
+     */
+    void applyRebuildBatch(List<ProjectedEvent> events);
+
+    /**
+     * Derives the state that spans aggregates once every event has been applied.
+     */
+    void finishRebuild();
+}
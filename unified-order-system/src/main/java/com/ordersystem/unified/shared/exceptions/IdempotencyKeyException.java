@@ -0,0 +1,26 @@
+package com.ordersystem.unified.shared.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when an {@code Idempotency-Key} cannot be honoured: the first request with
+ * the key is still running, or the key was sent again with a different request.
+ */
+public class IdempotencyKeyException extends OrderSystemException {
+
+    private IdempotencyKeyException(String message, String errorCode, HttpStatus httpStatus) {
+        super(message, errorCode, httpStatus);
+    }
+
+    public static IdempotencyKeyException inProgress(String key) {
+        return new IdempotencyKeyException(
+            "A request with Idempotency-Key " + key + " is still being processed",
+            "IDEMPOTENCY_KEY_IN_PROGRESS", HttpStatus.CONFLICT);
+    }
+
+    public static IdempotencyKeyException reused(String key) {
+        return new IdempotencyKeyException(
+            "Idempotency-Key " + key + " was already used with a different request",
+            "IDEMPOTENCY_KEY_REUSED", HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+}
@@ -26,6 +26,10 @@ public final class ValidationConstants {
 
     public static final int MAX_RESERVATION_ITEMS = 50;  // Same as order items limit
 
+    // Bulk ingestion
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final String MSG_BATCH_TOO_LARGE = "Order batch cannot exceed " + MAX_BATCH_SIZE + " orders";
+
     private ValidationConstants() {
         // Prevent instantiation
     }
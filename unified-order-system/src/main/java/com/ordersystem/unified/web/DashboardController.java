@@ -4,9 +4,11 @@ import com.ordersystem.unified.inventory.repository.ProductRepository;
 import com.ordersystem.unified.order.model.Order;
 import com.ordersystem.unified.order.repository.OrderRepository;
 import com.ordersystem.unified.payment.repository.PaymentRepository;
+import com.ordersystem.unified.query.projection.OrderReadModelQueries;
 import com.ordersystem.unified.domain.events.OrderStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,26 +34,44 @@ public class DashboardController {
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
     private final ProductRepository productRepository;
+    private final ObjectProvider<OrderReadModelQueries> readModel;
 
     public DashboardController(OrderRepository orderRepository,
                                PaymentRepository paymentRepository,
-                               ProductRepository productRepository) {
+                               ProductRepository productRepository,
+                               ObjectProvider<OrderReadModelQueries> readModel) {
         this.orderRepository = orderRepository;
         this.paymentRepository = paymentRepository;
         this.productRepository = productRepository;
+        this.readModel = readModel;
     }
 
     @GetMapping("/api/dashboard")
     @Cacheable(cacheNames = "dashboard", key = "'summary'")
     public Map<String, Object> getDashboard() {
-        long totalOrders = orderRepository.count();
-        long pendingOrders = orderRepository.countByStatus(OrderStatus.PENDING);
-        long confirmedOrders = orderRepository.countByStatus(OrderStatus.CONFIRMED);
-        long cancelledOrders = orderRepository.countByStatus(OrderStatus.CANCELLED);
-
-        BigDecimal totalRevenue = orderRepository.findByStatus(OrderStatus.CONFIRMED).stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalOrders;
+        long pendingOrders;
+        long confirmedOrders;
+        long cancelledOrders;
+        BigDecimal totalRevenue;
+
+        OrderReadModelQueries projected = readModel.getIfAvailable();
+        if (projected != null) {
+            Map<OrderStatus, Long> counts = projected.countByStatus();
+            totalOrders = counts.values().stream().mapToLong(Long::longValue).sum();
+            pendingOrders = counts.get(OrderStatus.PENDING);
+            confirmedOrders = counts.get(OrderStatus.CONFIRMED);
+            cancelledOrders = counts.get(OrderStatus.CANCELLED);
+            totalRevenue = projected.confirmedRevenue();
+        } else {
+            totalOrders = orderRepository.count();
+            pendingOrders = orderRepository.countByStatus(OrderStatus.PENDING);
+            confirmedOrders = orderRepository.countByStatus(OrderStatus.CONFIRMED);
+            cancelledOrders = orderRepository.countByStatus(OrderStatus.CANCELLED);
+            totalRevenue = orderRepository.findByStatus(OrderStatus.CONFIRMED).stream()
+                    .map(Order::getTotalAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
 
         Map<String, Object> dashboard = new HashMap<>();
         dashboard.put("title", "Order Management Dashboard");
@@ -0,0 +1,21 @@
+-- Per-aggregate stream versioning for the domain event store.
+-- Existing rows are numbered in their historical (created_at) order.
+ALTER TABLE domain_events ADD COLUMN IF NOT EXISTS stream_version BIGINT;
+
+-- Correlated count instead of UPDATE ... FROM / window functions so the backfill also runs on H2
+UPDATE domain_events
+SET stream_version = (
+    SELECT COUNT(*)
+    FROM domain_events p
+    WHERE p.aggregate_id = domain_events.aggregate_id
+      AND (p.created_at < domain_events.created_at
+           OR (p.created_at = domain_events.created_at AND p.id <= domain_events.id))
+)
+WHERE stream_version IS NULL;
+
+ALTER TABLE domain_events ALTER COLUMN stream_version SET NOT NULL;
+
+-- One event per position in a stream: concurrent appends fail on this index instead of taking locks
+CREATE UNIQUE INDEX IF NOT EXISTS uk_domain_events_stream ON domain_events(aggregate_id, stream_version);
+
+COMMENT ON COLUMN domain_events.stream_version IS 'Monotonic 1-based position of the event within its aggregate stream';
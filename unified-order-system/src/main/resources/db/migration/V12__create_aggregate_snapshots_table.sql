@@ -0,0 +1,11 @@
+-- Aggregate snapshots: latest folded state per aggregate so replay only reads the events after it
+CREATE TABLE IF NOT EXISTS aggregate_snapshots (
+    aggregate_id VARCHAR(255) PRIMARY KEY,
+    aggregate_type VARCHAR(100) NOT NULL,
+    stream_version BIGINT NOT NULL,
+    snapshot_data TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE aggregate_snapshots IS 'Latest snapshot per aggregate stream, overwritten as the stream grows';
+COMMENT ON COLUMN aggregate_snapshots.stream_version IS 'Stream version of the last event folded into the snapshot';
@@ -0,0 +1,11 @@
+-- Pluggable payload encoding for domain events.
+-- Existing rows are JSON text; binary formats store their bytes in event_payload instead.
+ALTER TABLE domain_events ADD COLUMN IF NOT EXISTS payload_format VARCHAR(20) NOT NULL DEFAULT 'JSON';
+ALTER TABLE domain_events ADD COLUMN IF NOT EXISTS event_payload BYTEA;
+ALTER TABLE domain_events ALTER COLUMN event_data DROP NOT NULL;
+
+ALTER TABLE domain_events ADD CONSTRAINT chk_domain_events_payload
+    CHECK (event_data IS NOT NULL OR event_payload IS NOT NULL);
+
+COMMENT ON COLUMN domain_events.payload_format IS 'Payload encoding: JSON (event_data) or SMILE (event_payload)';
+COMMENT ON COLUMN domain_events.event_payload IS 'Binary event payload for non-JSON formats';
@@ -0,0 +1,3 @@
+-- Expiry sweeps scan active reservations in expiry order: (status, expiry_time) serves the
+-- range scan and its ordering without touching reservations that are not due.
+CREATE INDEX IF NOT EXISTS idx_reservations_status_expiry_time ON reservations(status, expiry_time);
@@ -0,0 +1,19 @@
+-- Order sagas: progress of each order command across its short local transactions, so an
+-- interrupted command can be compensated (refund, release) after a crash
+CREATE TABLE IF NOT EXISTS order_sagas (
+    order_id VARCHAR(255) PRIMARY KEY,
+    status VARCHAR(30) NOT NULL,
+    reservation_id VARCHAR(255),
+    payment_id VARCHAR(255),
+    correlation_id VARCHAR(255),
+    failure_reason VARCHAR(500),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_sagas_status_updated_at ON order_sagas(status, updated_at);
+
+COMMENT ON TABLE order_sagas IS 'One row per order command; non-terminal rows left behind by a crash are compensated by the recovery job';
+COMMENT ON COLUMN order_sagas.attempts IS 'Compensation attempts made so far';
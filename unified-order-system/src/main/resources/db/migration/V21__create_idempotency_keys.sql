@@ -0,0 +1,18 @@
+-- Idempotency keys: the stored response of each keyed POST, replayed to retries of the same key
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    scope VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response_status INTEGER,
+    response_body TEXT,
+    claimed_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+COMMENT ON TABLE idempotency_keys IS 'Responses of keyed POST requests, kept until expires_at';
+COMMENT ON COLUMN idempotency_keys.scope IS 'Endpoint and caller the key belongs to';
+COMMENT ON COLUMN idempotency_keys.status IS 'IN_PROGRESS while the first request runs, COMPLETED once its response is stored';
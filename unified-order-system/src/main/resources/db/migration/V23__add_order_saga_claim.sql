@@ -0,0 +1,7 @@
+-- Order saga claims: the worker running a saga holds it until claimed_until, so neither a
+-- second worker nor the recovery job takes it over while that worker is still alive
+ALTER TABLE order_sagas ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(100);
+ALTER TABLE order_sagas ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
+
+COMMENT ON COLUMN order_sagas.claimed_by IS 'Worker run that claimed the saga last';
+COMMENT ON COLUMN order_sagas.claimed_until IS 'End of the claim; renewed by every step the worker records';
@@ -0,0 +1,15 @@
+-- Wake the outbox relay as soon as new domain events commit.
+-- Statement-level so a batched insert raises one notification; NOTIFY is delivered on commit
+-- and identical notifications within a transaction are folded into one.
+CREATE OR REPLACE FUNCTION notify_domain_events_appended() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('domain_events_appended', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_domain_events_notify ON domain_events;
+CREATE TRIGGER trg_domain_events_notify
+    AFTER INSERT ON domain_events
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_domain_events_appended();
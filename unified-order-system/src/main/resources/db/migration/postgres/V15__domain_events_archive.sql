@@ -0,0 +1,34 @@
+-- Keep domain_events a small, hot table: pending rows plus recent history.
+-- The hot table itself stays unpartitioned so the (aggregate_id, stream_version) unique index
+-- keeps guarding appends across all time; processed history moves to a range-partitioned archive.
+
+-- Dispatch only ever scans pending rows: index exactly those, in claim order
+CREATE INDEX IF NOT EXISTS idx_domain_events_pending
+    ON domain_events(created_at, stream_version)
+    WHERE processed = false;
+
+-- Superseded by the partial index above; a boolean index on a mostly-true column is never selective
+DROP INDEX IF EXISTS idx_domain_events_processed;
+
+CREATE TABLE IF NOT EXISTS domain_events_archive (
+    id VARCHAR(255) NOT NULL,
+    aggregate_id VARCHAR(255) NOT NULL,
+    aggregate_type VARCHAR(100) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    stream_version BIGINT NOT NULL,
+    event_data TEXT,
+    event_payload BYTEA,
+    payload_format VARCHAR(20) NOT NULL,
+    correlation_id VARCHAR(255),
+    user_id VARCHAR(255),
+    metadata TEXT,
+    created_at TIMESTAMP NOT NULL,
+    processed_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX IF NOT EXISTS idx_domain_events_archive_stream
+    ON domain_events_archive(aggregate_id, stream_version);
+
+COMMENT ON TABLE domain_events_archive IS 'Processed domain events moved out of domain_events; one partition per month, old partitions are detached';
@@ -0,0 +1,72 @@
+-- Read side (CQRS): a store-wide event position for projections to tail, their checkpoints,
+-- and the denormalized order read tables they maintain.
+
+-- Global position: assigned at insert time, so it is increasing but can commit out of order;
+-- projections wait briefly on gaps before skipping them.
+CREATE SEQUENCE IF NOT EXISTS domain_events_global_position_seq;
+ALTER TABLE domain_events ADD COLUMN IF NOT EXISTS global_position BIGINT;
+
+UPDATE domain_events e
+SET global_position = ranked.global_position
+FROM (
+    SELECT id, ROW_NUMBER() OVER (ORDER BY created_at, aggregate_id, stream_version) AS global_position
+    FROM domain_events
+) ranked
+WHERE e.id = ranked.id
+  AND e.global_position IS NULL;
+
+SELECT setval('domain_events_global_position_seq',
+              COALESCE((SELECT MAX(global_position) FROM domain_events), 0) + 1, false);
+ALTER TABLE domain_events ALTER COLUMN global_position SET DEFAULT nextval('domain_events_global_position_seq');
+ALTER TABLE domain_events ALTER COLUMN global_position SET NOT NULL;
+ALTER SEQUENCE domain_events_global_position_seq OWNED BY domain_events.global_position;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_domain_events_global_position ON domain_events(global_position);
+
+ALTER TABLE domain_events_archive ADD COLUMN IF NOT EXISTS global_position BIGINT;
+
+CREATE TABLE IF NOT EXISTS projection_checkpoints (
+    projection_name VARCHAR(100) PRIMARY KEY,
+    position BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- One row per order; also serves the per-customer order list through its index
+CREATE TABLE IF NOT EXISTS order_summary_view (
+    order_id VARCHAR(255) PRIMARY KEY,
+    customer_id VARCHAR(255),
+    customer_name VARCHAR(255),
+    status VARCHAR(50),
+    total_amount NUMERIC(19, 2),
+    refunded_amount NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    item_count INTEGER NOT NULL DEFAULT 0,
+    items TEXT,
+    payment_method VARCHAR(50),
+    reservation_id VARCHAR(255),
+    payment_id VARCHAR(255),
+    transaction_id VARCHAR(255),
+    cancellation_reason TEXT,
+    correlation_id VARCHAR(255),
+    stream_version BIGINT NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_summary_customer ON order_summary_view(customer_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_order_summary_status ON order_summary_view(status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_order_summary_created ON order_summary_view(created_at DESC);
+
+CREATE TABLE IF NOT EXISTS order_status_counts (
+    status VARCHAR(50) PRIMARY KEY,
+    order_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- Revenue of orders currently CONFIRMED, bucketed by the day the order was created
+CREATE TABLE IF NOT EXISTS order_revenue_daily (
+    revenue_date DATE PRIMARY KEY,
+    confirmed_orders BIGINT NOT NULL DEFAULT 0,
+    confirmed_revenue NUMERIC(19, 2) NOT NULL DEFAULT 0
+);
+
+COMMENT ON TABLE projection_checkpoints IS 'Last domain_events.global_position applied by each projection';
+COMMENT ON TABLE order_summary_view IS 'Denormalized order read model maintained from domain_events';
@@ -0,0 +1,12 @@
+-- Resumable projection rebuilds: progress lives on the projection's checkpoint row.
+-- While rebuilding is set the live engine leaves the projection alone.
+ALTER TABLE projection_checkpoints ADD COLUMN IF NOT EXISTS rebuilding BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE projection_checkpoints ADD COLUMN IF NOT EXISTS rebuild_target BIGINT;
+ALTER TABLE projection_checkpoints ADD COLUMN IF NOT EXISTS rebuild_cursor BIGINT;
+ALTER TABLE projection_checkpoints ADD COLUMN IF NOT EXISTS rebuild_started_at TIMESTAMP;
+
+-- Rebuilds scan archived history by position range as well
+CREATE INDEX IF NOT EXISTS idx_domain_events_archive_global_position ON domain_events_archive(global_position);
+
+COMMENT ON COLUMN projection_checkpoints.rebuild_target IS 'Last global position covered by the running rebuild';
+COMMENT ON COLUMN projection_checkpoints.rebuild_cursor IS 'Global position up to which the running rebuild has committed';
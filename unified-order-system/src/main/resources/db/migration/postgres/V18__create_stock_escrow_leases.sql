@@ -0,0 +1,14 @@
+-- ESCROW reservation strategy: stock quota each application replica has leased from a Stock row.
+-- Leased units are counted in stocks.reserved_quantity; quantity is the part of the lease the
+-- owner has not handed out yet, as of its last renewal. A lease not renewed within the TTL
+-- belongs to a dead replica and is returned to available_quantity by another one.
+CREATE TABLE IF NOT EXISTS stock_escrow_leases (
+    stock_id VARCHAR(255) NOT NULL,
+    owner_id VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL DEFAULT 0,
+    renewed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (stock_id, owner_id),
+    CONSTRAINT fk_stock_escrow_leases_stock FOREIGN KEY (stock_id) REFERENCES stocks(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_escrow_leases_renewed_at ON stock_escrow_leases(renewed_at);
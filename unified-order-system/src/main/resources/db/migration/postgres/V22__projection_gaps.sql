@@ -0,0 +1,11 @@
+-- Global positions a projection skipped as gaps. Projections that must not lose events
+-- (the stock ledger write-behind) apply an event that later commits at one of these positions
+-- and drop the row; unresolved rows expire after app.projections.gap-retention.
+CREATE TABLE IF NOT EXISTS projection_gaps (
+    projection_name VARCHAR(100) NOT NULL,
+    position BIGINT NOT NULL,
+    skipped_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (projection_name, position)
+);
+
+COMMENT ON TABLE projection_gaps IS 'Skipped domain_events.global_position values still awaited by late-event projections';
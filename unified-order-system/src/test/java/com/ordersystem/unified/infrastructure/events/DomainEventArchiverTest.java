@@ -0,0 +1,80 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DomainEventArchiverTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DomainEventArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        EventArchiveProperties properties = new EventArchiveProperties();
+        properties.setBatchSize(100);
+        archiver = new DomainEventArchiver(jdbcTemplate, properties, meterRegistry);
+    }
+
+    @Test
+    void shouldCreateMonthlyPartitionsAndMoveInBatchesUntilDrained() {
+        LocalDateTime cutoff = LocalDateTime.of(2024, 3, 10, 0, 0);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Timestamp.class), any()))
+            .thenReturn(Timestamp.valueOf(LocalDateTime.of(2024, 1, 20, 12, 0)));
+        when(jdbcTemplate.update(contains("INSERT INTO domain_events_archive"), any(), any(), any()))
+            .thenReturn(100, 100, 7);
+
+        long moved = archiver.archiveProcessedEvents(cutoff);
+
+        assertThat(moved).isEqualTo(207);
+        verify(jdbcTemplate).execute(contains("domain_events_archive_y2024m01 PARTITION OF"));
+        verify(jdbcTemplate).execute(contains("domain_events_archive_y2024m02 PARTITION OF"));
+        verify(jdbcTemplate).execute(contains("domain_events_archive_y2024m03 PARTITION OF"));
+        verify(jdbcTemplate, times(3)).update(anyString(), any(), eq(EventReplayService.ORDER_AGGREGATE), eq(100));
+        assertThat(meterRegistry.get("event.archive.moved").counter().count()).isEqualTo(207.0);
+    }
+
+    @Test
+    void shouldSkipMoveWhenNothingIsArchivable() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Timestamp.class), any())).thenReturn(null);
+
+        assertThat(archiver.archiveProcessedEvents(LocalDateTime.now())).isZero();
+
+        verify(jdbcTemplate, never()).update(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void shouldDetachOnlyPartitionsOlderThanColdWindow() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any())).thenReturn(List.of(
+            DomainEventArchiver.partitionName(YearMonth.of(2023, 1)),
+            DomainEventArchiver.partitionName(YearMonth.of(2024, 6)),
+            "domain_events_archive_manual"));
+
+        int detached = archiver.detachColdPartitions(YearMonth.of(2024, 1));
+
+        assertThat(detached).isEqualTo(1);
+        verify(jdbcTemplate).execute("ALTER TABLE domain_events_archive DETACH PARTITION domain_events_archive_y2023m01");
+    }
+}
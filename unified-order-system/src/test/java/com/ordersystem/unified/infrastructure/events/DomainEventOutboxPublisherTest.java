@@ -3,21 +3,28 @@ package com.ordersystem.unified.infrastructure.events;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 import java.util.List;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentMatchers;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(MockitoExtension.class)
 class DomainEventOutboxPublisherTest {
@@ -28,36 +35,30 @@ class DomainEventOutboxPublisherTest {
     @Mock
     private RabbitTemplate rabbitTemplate;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @InjectMocks
     private DomainEventOutboxPublisher domainEventOutboxPublisher;
 
+    @AfterEach
+    void tearDown() {
+        if (domainEventOutboxPublisher != null) {
+            domainEventOutboxPublisher.shutdown();
+        }
+    }
+
     @Test
     void shouldPublishPendingEventAndMarkItProcessed() {
-        OutboxMessagingProperties properties = new OutboxMessagingProperties();
-        properties.setBatchSize(10);
-        properties.setEnabled(true);
+        domainEventOutboxPublisher = publisher(properties(1, false));
+        DomainEventEntity event = event("order-123", "OrderCreatedEvent");
 
-        domainEventOutboxPublisher = new DomainEventOutboxPublisher(
-            domainEventRepository,
-            rabbitTemplate,
-            objectMapper,
-            properties
-        );
-
-        DomainEventEntity event = DomainEventEntity.builder()
-            .aggregateId("order-123")
-            .aggregateType("Order")
-            .eventType("OrderCreatedEvent")
-            .eventData("{\"orderId\":\"order-123\",\"status\":\"CONFIRMED\"}")
-            .correlationId("corr-123")
-            .build();
-        event.setCreatedAt(LocalDateTime.now());
-
-        when(domainEventRepository.findPendingForDispatch(any(Pageable.class))).thenReturn(List.of(event));
-        when(domainEventRepository.save(ArgumentMatchers.any(DomainEventEntity.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(domainEventRepository.tryLockOutboxPartition(anyInt(), eq(0))).thenReturn(true);
+        when(domainEventRepository.claimPendingForPartition(1, 0, 10)).thenReturn(List.of(event));
         doAnswer(invocation -> null).when(rabbitTemplate)
             .convertAndSend(
                 any(String.class),
@@ -68,13 +69,148 @@ class DomainEventOutboxPublisherTest {
 
         domainEventOutboxPublisher.publishPendingEvents();
 
-        assertThat(event.isProcessed()).isTrue();
+        verify(domainEventRepository).markProcessed(eq(List.of(event.getId())), any(LocalDateTime.class));
         verify(rabbitTemplate).convertAndSend(
             any(String.class),
             any(String.class),
             any(Object.class),
             any(MessagePostProcessor.class)
         );
-        verify(domainEventRepository).save(event);
+    }
+
+    @Test
+    void shouldDrainEveryPartitionWithItsOwnClaim() {
+        domainEventOutboxPublisher = publisher(properties(3, false));
+        when(domainEventRepository.tryLockOutboxPartition(anyInt(), anyInt())).thenReturn(true);
+        when(domainEventRepository.claimPendingForPartition(eq(3), anyInt(), eq(10))).thenReturn(List.of());
+
+        domainEventOutboxPublisher.publishPendingEvents();
+
+        verify(domainEventRepository).claimPendingForPartition(3, 0, 10);
+        verify(domainEventRepository).claimPendingForPartition(3, 1, 10);
+        verify(domainEventRepository).claimPendingForPartition(3, 2, 10);
+    }
+
+    @Test
+    void shouldSkipPartitionOwnedByAnotherDispatcher() {
+        domainEventOutboxPublisher = publisher(properties(1, false));
+        when(domainEventRepository.tryLockOutboxPartition(anyInt(), eq(0))).thenReturn(false);
+
+        domainEventOutboxPublisher.publishPendingEvents();
+
+        verify(domainEventRepository, never()).claimPendingForPartition(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldStopBatchAtFirstFailureToPreserveStreamOrder() {
+        domainEventOutboxPublisher = publisher(properties(1, false));
+        DomainEventEntity first = event("order-1", "OrderCreatedEvent");
+        DomainEventEntity second = event("order-1", "OrderStatusUpdatedEvent");
+
+        when(domainEventRepository.tryLockOutboxPartition(anyInt(), eq(0))).thenReturn(true);
+        when(domainEventRepository.claimPendingForPartition(1, 0, 10)).thenReturn(List.of(first, second));
+        doThrow(new IllegalStateException("broker down")).when(rabbitTemplate)
+            .convertAndSend(any(String.class), any(String.class), any(Object.class), any(MessagePostProcessor.class));
+
+        domainEventOutboxPublisher.publishPendingEvents();
+
+        verify(domainEventRepository, never()).markProcessed(anyList(), any(LocalDateTime.class));
+        verify(rabbitTemplate, times(1))
+            .convertAndSend(any(String.class), any(String.class), any(Object.class), any(MessagePostProcessor.class));
+    }
+
+    @Test
+    void shouldMarkOnlyConfirmedPrefixOfBatchProcessed() {
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        domainEventOutboxPublisher = publisher(properties(1, false));
+        DomainEventEntity first = event("order-1", "OrderCreatedEvent");
+        DomainEventEntity second = event("order-1", "OrderStatusUpdatedEvent");
+        DomainEventEntity third = event("order-1", "OrderCancelledEvent");
+
+        when(domainEventRepository.tryLockOutboxPartition(anyInt(), eq(0))).thenReturn(true);
+        when(domainEventRepository.claimPendingForPartition(1, 0, 10)).thenReturn(List.of(first, second, third));
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(4);
+            boolean ack = !correlation.getId().equals(second.getId());
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(
+            any(String.class),
+            any(String.class),
+            any(Object.class),
+            any(MessagePostProcessor.class),
+            any(CorrelationData.class)
+        );
+
+        domainEventOutboxPublisher.publishPendingEvents();
+
+        verify(rabbitTemplate, times(3)).convertAndSend(
+            any(String.class),
+            any(String.class),
+            any(Object.class),
+            any(MessagePostProcessor.class),
+            any(CorrelationData.class)
+        );
+        verify(domainEventRepository).markProcessed(eq(List.of(first.getId())), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldLeaveBatchPendingWhenConfirmsTimeOut() {
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        OutboxMessagingProperties properties = properties(1, false);
+        properties.setConfirmTimeout(50L);
+        domainEventOutboxPublisher = publisher(properties);
+        DomainEventEntity event = event("order-1", "OrderCreatedEvent");
+
+        when(domainEventRepository.tryLockOutboxPartition(anyInt(), eq(0))).thenReturn(true);
+        when(domainEventRepository.claimPendingForPartition(1, 0, 10)).thenReturn(List.of(event));
+
+        domainEventOutboxPublisher.publishPendingEvents();
+
+        verify(domainEventRepository, never()).markProcessed(anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldDrainImmediatelyWhenAppendSignalArrivesInNotifyMode() {
+        domainEventOutboxPublisher = publisher(properties(1, true));
+        when(domainEventRepository.tryLockOutboxPartition(anyInt(), eq(0))).thenReturn(true);
+        when(domainEventRepository.claimPendingForPartition(1, 0, 10)).thenReturn(List.of());
+
+        domainEventOutboxPublisher.onEventsAppended(new DomainEventsAppended(1));
+
+        verify(domainEventRepository, timeout(1000)).claimPendingForPartition(1, 0, 10);
+    }
+
+    private DomainEventOutboxPublisher publisher(OutboxMessagingProperties properties) {
+        return new DomainEventOutboxPublisher(
+            domainEventRepository,
+            rabbitTemplate,
+            new EventCodecRegistry(objectMapper, new EventStoreProperties()),
+            properties,
+            transactionManager
+        );
+    }
+
+    private OutboxMessagingProperties properties(int partitions, boolean notifyEnabled) {
+        OutboxMessagingProperties properties = new OutboxMessagingProperties();
+        properties.setBatchSize(10);
+        properties.setEnabled(true);
+        properties.setPartitions(partitions);
+        properties.setNotifyEnabled(notifyEnabled);
+        return properties;
+    }
+
+    private DomainEventEntity event(String aggregateId, String eventType) {
+        DomainEventEntity event = DomainEventEntity.builder()
+            .aggregateId(aggregateId)
+            .aggregateType("Order")
+            .eventType(eventType)
+            .eventData("{\"orderId\":\"" + aggregateId + "\",\"status\":\"CONFIRMED\"}")
+            .correlationId("corr-123")
+            .build();
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
     }
 }
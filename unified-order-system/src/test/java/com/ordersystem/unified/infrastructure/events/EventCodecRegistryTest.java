@@ -0,0 +1,50 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.unified.domain.events.OrderStatusUpdatedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventCodecRegistryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void shouldStoreSmilePayloadInBinaryColumnAndDecodeIt() throws Exception {
+        EventCodecRegistry registry = registry(PayloadFormat.SMILE);
+        DomainEventEntity entity = new DomainEventEntity();
+        OrderStatusUpdatedEvent event =
+            new OrderStatusUpdatedEvent("order-1", "customer-1", "PENDING", "CONFIRMED", "paid");
+
+        registry.write(entity, event);
+
+        assertThat(entity.getPayloadFormat()).isEqualTo(PayloadFormat.SMILE);
+        assertThat(entity.getEventData()).isNull();
+        assertThat(entity.getEventPayload()).hasSizeLessThan(objectMapper.writeValueAsBytes(event).length);
+        JsonNode decoded = registry.read(entity);
+        assertThat(decoded.get("orderId").asText()).isEqualTo("order-1");
+        assertThat(decoded.get("newStatus").asText()).isEqualTo("CONFIRMED");
+    }
+
+    @Test
+    void shouldKeepReadingJsonRowsAfterSwitchingWriteFormat() throws Exception {
+        DomainEventEntity legacyRow = DomainEventEntity.builder()
+            .aggregateId("order-1")
+            .aggregateType("Order")
+            .eventType("OrderStatusUpdatedEvent")
+            .eventData("{\"orderId\":\"order-1\",\"newStatus\":\"CANCELLED\"}")
+            .build();
+
+        JsonNode decoded = registry(PayloadFormat.SMILE).read(legacyRow);
+
+        assertThat(decoded.get("newStatus").asText()).isEqualTo("CANCELLED");
+    }
+
+    private EventCodecRegistry registry(PayloadFormat writeFormat) {
+        EventStoreProperties properties = new EventStoreProperties();
+        properties.setPayloadFormat(writeFormat);
+        return new EventCodecRegistry(objectMapper, properties);
+    }
+}
@@ -0,0 +1,182 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.unified.domain.events.BaseEvent;
+import com.ordersystem.unified.domain.events.InventoryLedgerEvent;
+import com.ordersystem.unified.domain.events.OrderStatusUpdatedEvent;
+import com.ordersystem.unified.shared.exceptions.ConcurrencyException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventPublisherTest {
+
+    @Mock
+    private DomainEventRepository eventRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private EventCodecRegistry eventCodecs = new EventCodecRegistry(
+        new ObjectMapper().findAndRegisterModules(), new EventStoreProperties());
+
+    @InjectMocks
+    private EventPublisher eventPublisher;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAppendEventsWithConsecutiveStreamVersions() {
+        when(eventRepository.findCurrentStreamVersion("order-1")).thenReturn(2L);
+
+        long head = eventPublisher.append("order-1", 2L, List.of(
+            new OrderStatusUpdatedEvent("order-1", "customer-1", "PENDING", "CONFIRMED", "paid"),
+            new OrderStatusUpdatedEvent("order-1", "customer-1", "CONFIRMED", "CANCELLED", "customer request")
+        ));
+
+        ArgumentCaptor<List<DomainEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository).saveAllAndFlush(captor.capture());
+        assertThat(head).isEqualTo(4L);
+        assertThat(captor.getValue())
+            .extracting(DomainEventEntity::getStreamVersion)
+            .containsExactly(3L, 4L);
+    }
+
+    @Test
+    void shouldFailFastWhenExpectedVersionIsStale() {
+        when(eventRepository.findCurrentStreamVersion("order-1")).thenReturn(3L);
+
+        assertThatThrownBy(() -> eventPublisher.append("order-1", 2L, List.of(
+            new OrderStatusUpdatedEvent("order-1", "customer-1", "PENDING", "CONFIRMED", "paid")
+        ))).isInstanceOf(ConcurrencyException.class);
+
+        verify(eventRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void shouldTranslateUniqueStreamViolationIntoConcurrencyException() {
+        when(eventRepository.findCurrentStreamVersion("order-1")).thenReturn(null);
+        when(eventRepository.saveAllAndFlush(anyList()))
+            .thenThrow(new DataIntegrityViolationException("uk_domain_events_stream"));
+
+        assertThatThrownBy(() -> eventPublisher.append("order-1", EventPublisher.NO_STREAM, List.of(
+            new OrderStatusUpdatedEvent("order-1", "customer-1", "PENDING", "CONFIRMED", "paid")
+        ))).isInstanceOf(ConcurrencyException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPublishAfterTheCurrentHeadOfEachStream() {
+        when(eventRepository.findCurrentStreamVersions(any()))
+            .thenReturn(List.<Object[]>of(new Object[] {"order-1", 5L}));
+
+        eventPublisher.publishAll(List.of(
+            new OrderStatusUpdatedEvent("order-1", "customer-1", "PENDING", "CONFIRMED", "paid"),
+            new OrderStatusUpdatedEvent("order-2", "customer-1", "PENDING", "CONFIRMED", "paid"),
+            new OrderStatusUpdatedEvent("order-1", "customer-1", "CONFIRMED", "SHIPPED", "shipped")
+        ));
+
+        ArgumentCaptor<List<DomainEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository).saveAllAndFlush(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(DomainEventEntity::getAggregateId, DomainEventEntity::getStreamVersion)
+            .containsExactly(tuple("order-1", 6L), tuple("order-1", 7L), tuple("order-2", 1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRetryAnAppendThatLostItsStreamVersionToAnotherWriter() {
+        when(eventRepository.findCurrentStreamVersions(any()))
+            .thenReturn(List.<Object[]>of(new Object[] {"order-1", 5L}))
+            .thenReturn(List.<Object[]>of(new Object[] {"order-1", 6L}));
+        when(eventRepository.saveAllAndFlush(anyList()))
+            .thenThrow(new DataIntegrityViolationException("uk_domain_events_stream"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        eventPublisher.publish(new OrderStatusUpdatedEvent("order-1", "customer-1", "PENDING", "CONFIRMED", "paid"));
+
+        ArgumentCaptor<List<DomainEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository, times(2)).saveAllAndFlush(captor.capture());
+        assertThat(captor.getAllValues().get(1).get(0).getStreamVersion()).isEqualTo(7L);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shouldFailTheCallersTransactionWhenAnotherWriterTookTheStreamVersion() {
+        when(eventRepository.saveAllAndFlush(anyList()))
+            .thenThrow(new DataIntegrityViolationException("uk_domain_events_stream"));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThatThrownBy(() -> eventPublisher.publishWithinTransaction(
+                new OrderStatusUpdatedEvent("order-1", "customer-1", "PENDING", "CONFIRMED", "paid")))
+                .isInstanceOf(ConcurrencyException.class);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        verify(eventRepository, times(1)).saveAllAndFlush(anyList());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldGiveUnmappedEventsAStreamOfTheirOwn() {
+        BaseEvent first = new UnmappedEvent();
+        BaseEvent second = new UnmappedEvent();
+
+        eventPublisher.publishWithinTransaction(first);
+        eventPublisher.publishWithinTransaction(second);
+
+        ArgumentCaptor<List<DomainEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository, times(2)).saveAllAndFlush(captor.capture());
+        assertThat(captor.getAllValues())
+            .extracting(entities -> entities.get(0).getAggregateId())
+            .containsExactly("UNKNOWN-" + first.getEventId(), "UNKNOWN-" + second.getEventId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepLedgerEventsOutOfTheOutbox() {
+        eventPublisher.append("RES-1", EventPublisher.NO_STREAM, List.of(new InventoryLedgerEvent(
+            "RES-1", "order-1", InventoryLedgerEvent.Operation.RESERVE,
+            List.of(new InventoryLedgerEvent.Line("stock-1", "product-1", -2, 2, 0)), null)));
+        eventPublisher.append("order-1", EventPublisher.ANY_VERSION, List.of(
+            new OrderStatusUpdatedEvent("order-1", "customer-1", "PENDING", "CONFIRMED", "paid")));
+
+        ArgumentCaptor<List<DomainEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository, times(2)).saveAllAndFlush(captor.capture());
+        assertThat(captor.getAllValues().get(0).get(0).isProcessed()).isTrue();
+        assertThat(captor.getAllValues().get(1).get(0).isProcessed()).isFalse();
+    }
+
+    static class UnmappedEvent extends BaseEvent {
+        UnmappedEvent() {
+            super("correlation-1");
+        }
+    }
+}
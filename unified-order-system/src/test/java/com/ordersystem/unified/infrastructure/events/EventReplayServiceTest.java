@@ -0,0 +1,87 @@
+package com.ordersystem.unified.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.unified.order.domain.OrderAggregateState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventReplayServiceTest {
+
+    @Mock
+    private DomainEventRepository eventRepository;
+
+    @Mock
+    private AggregateSnapshotRepository snapshotRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventReplayService replayService;
+
+    @BeforeEach
+    void setUp() {
+        EventStoreProperties properties = new EventStoreProperties();
+        properties.setSnapshotInterval(3);
+        replayService = new EventReplayService(eventRepository, snapshotRepository,
+            new SnapshotPolicy(properties), new EventCodecRegistry(objectMapper, properties),
+            objectMapper, meterRegistry);
+    }
+
+    @Test
+    void shouldReplayOnlyEventsAfterLatestSnapshot() throws Exception {
+        OrderAggregateState snapshotState = new OrderAggregateState("order-1");
+        snapshotState.setStatus("CONFIRMED");
+        snapshotState.setStreamVersion(10);
+        when(snapshotRepository.findById("order-1")).thenReturn(Optional.of(
+            new AggregateSnapshotEntity("order-1", "Order", 10, objectMapper.writeValueAsString(snapshotState))));
+        when(eventRepository.findByAggregateIdAndStreamVersionGreaterThanOrderByStreamVersionAsc("order-1", 10L))
+            .thenReturn(List.of(event("OrderStatusUpdatedEvent", "{\"newStatus\":\"CONFIRMED\"}", 11)));
+
+        OrderAggregateState state = replayService.replayOrder("order-1");
+
+        assertThat(state.getStatus()).isEqualTo("CONFIRMED");
+        assertThat(state.getStreamVersion()).isEqualTo(11);
+        assertThat(meterRegistry.get("event.replay.events").summary().totalAmount()).isEqualTo(1.0);
+        verify(snapshotRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldSnapshotWhenOrderReachesTerminalStatus() {
+        when(snapshotRepository.findById("order-2")).thenReturn(Optional.empty());
+        when(eventRepository.findByAggregateIdAndStreamVersionGreaterThanOrderByStreamVersionAsc("order-2", 0L))
+            .thenReturn(List.of(
+                event("OrderCreatedEvent", "{\"customerId\":\"c-1\",\"totalAmount\":42.50}", 1),
+                event("OrderCancelledEvent", "{\"cancellationReason\":\"customer request\"}", 2)));
+
+        OrderAggregateState state = replayService.replayOrder("order-2");
+
+        ArgumentCaptor<AggregateSnapshotEntity> captor = ArgumentCaptor.forClass(AggregateSnapshotEntity.class);
+        verify(snapshotRepository).save(captor.capture());
+        assertThat(state.getStatus()).isEqualTo("CANCELLED");
+        assertThat(captor.getValue().getStreamVersion()).isEqualTo(2L);
+        assertThat(meterRegistry.get("event.replay.duration").timer().count()).isEqualTo(1);
+    }
+
+    private DomainEventEntity event(String eventType, String payload, long streamVersion) {
+        return DomainEventEntity.builder()
+            .aggregateId("order")
+            .aggregateType("Order")
+            .eventType(eventType)
+            .eventData(payload)
+            .streamVersion(streamVersion)
+            .build();
+    }
+}
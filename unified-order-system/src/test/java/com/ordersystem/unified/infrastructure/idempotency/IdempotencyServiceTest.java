@@ -0,0 +1,82 @@
+package com.ordersystem.unified.infrastructure.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String STORE = "UPDATE idempotency_keys SET status";
+    private static final String CLAIM = "INSERT INTO idempotency_keys";
+    private static final String RELEASE = "DELETE FROM idempotency_keys";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private final AtomicInteger runs = new AtomicInteger();
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setStoreRetryDelay(0);
+        service = new IdempotencyService(jdbcTemplate, new ObjectMapper(), properties);
+    }
+
+    @Test
+    void shouldRetryStoringTheResponseOfACompletedAction() {
+        when(jdbcTemplate.update(startsWith(CLAIM), any(Object[].class))).thenReturn(1);
+        when(jdbcTemplate.update(startsWith(STORE), any(Object[].class)))
+            .thenThrow(new QueryTimeoutException("statement timeout"))
+            .thenReturn(1);
+
+        ResponseEntity<?> first = service.execute("POST /api/orders", "key-1", Map.of("item", 1), this::createOrder);
+        ResponseEntity<?> retry = service.execute("POST /api/orders", "key-1", Map.of("item", 1), this::createOrder);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(runs).hasValue(1);
+        verify(jdbcTemplate, times(2)).update(startsWith(STORE), any(Object[].class));
+        verify(jdbcTemplate, never()).update(startsWith(RELEASE), any(Object[].class));
+    }
+
+    @Test
+    void shouldNeverReleaseTheKeyOfACompletedActionWhoseResponseCannotBeStored() {
+        when(jdbcTemplate.update(startsWith(CLAIM), any(Object[].class))).thenReturn(1);
+        when(jdbcTemplate.update(startsWith(STORE), any(Object[].class)))
+            .thenThrow(new QueryTimeoutException("statement timeout"));
+
+        ResponseEntity<?> first = service.execute("POST /api/orders", "key-2", Map.of("item", 1), this::createOrder);
+        ResponseEntity<?> retry = service.execute("POST /api/orders", "key-2", Map.of("item", 1), this::createOrder);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(runs).hasValue(1);
+        verify(jdbcTemplate, times(properties.getStoreAttempts())).update(startsWith(STORE), any(Object[].class));
+        verify(jdbcTemplate, never()).update(startsWith(RELEASE), any(Object[].class));
+    }
+
+    private ResponseEntity<Map<String, String>> createOrder() {
+        runs.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("orderId", "order-" + runs.get()));
+    }
+}
@@ -0,0 +1,118 @@
+package com.ordersystem.unified.infrastructure.scheduler;
+
+import com.ordersystem.unified.domain.events.InventoryReleasedEvent;
+import com.ordersystem.unified.infrastructure.events.EventPublisher;
+import com.ordersystem.unified.infrastructure.scheduler.ReservationExpirySweeper.ExpiredReservation;
+import com.ordersystem.unified.inventory.ExpiredStockRestorer;
+import com.ordersystem.unified.inventory.model.Product;
+import com.ordersystem.unified.inventory.model.Reservation;
+import com.ordersystem.unified.inventory.model.ReservationItem;
+import com.ordersystem.unified.inventory.model.Stock;
+import com.ordersystem.unified.inventory.repository.ReservationItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpirySweeperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ReservationItemRepository reservationItemRepository;
+
+    @Mock
+    private ExpiredStockRestorer expiredStockRestorer;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReservationExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        ReservationExpiryProperties properties = new ReservationExpiryProperties();
+        properties.setBatchSize(2);
+        properties.setPartitions(1);
+        sweeper = new ReservationExpirySweeper(jdbcTemplate, reservationItemRepository, expiredStockRestorer, eventPublisher,
+            properties, transactionManager, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweeper.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExpireBatchAndPublishOneReleaseEventPerReservation() {
+        List<ReservationItem> items = List.of(
+            item("RES-1", "product-1", 2), item("RES-1", "product-2", 1), item("RES-2", "product-1", 4));
+        when(jdbcTemplate.query(eq(ReservationExpirySweeper.EXPIRE_BATCH_SQL), any(RowMapper.class),
+                any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(expired("RES-1", 30), expired("RES-2", 5)));
+        when(reservationItemRepository.findByReservationIdIn(anyCollection())).thenReturn(items);
+
+        int expired = sweeper.expireBatch(0, NOW);
+
+        assertThat(expired).isEqualTo(2);
+        verify(expiredStockRestorer).restore(items);
+        ArgumentCaptor<List<InventoryReleasedEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher).publishAll(events.capture());
+        assertThat(events.getValue()).extracting(InventoryReleasedEvent::getReservationId).containsExactly("RES-1", "RES-2");
+        assertThat(events.getValue().get(0).getItems()).hasSize(2);
+        assertThat(events.getValue()).allMatch(InventoryReleasedEvent::isAutoReleased);
+        assertThat(meterRegistry.get("reservation.expiry.released").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("reservation.expiry.release.lag").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSweepPartitionInBatchesUntilShortBatch() {
+        when(jdbcTemplate.query(eq(ReservationExpirySweeper.EXPIRE_BATCH_SQL), any(RowMapper.class),
+                any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(expired("RES-1", 10), expired("RES-2", 10)), List.of(expired("RES-3", 1)));
+        when(reservationItemRepository.findByReservationIdIn(anyCollection())).thenReturn(List.of());
+
+        long total = sweeper.sweepPartitions(NOW);
+
+        assertThat(total).isEqualTo(3);
+        verify(eventPublisher, times(2)).publishAll(List.of());
+    }
+
+    private static ExpiredReservation expired(String id, int minutesAgo) {
+        return new ExpiredReservation(id, "ORDER-" + id, "corr-" + id, NOW.minusMinutes(minutesAgo));
+    }
+
+    private static ReservationItem item(String reservationId, String productId, int quantity) {
+        Reservation reservation = new Reservation(reservationId, "ORDER-" + reservationId, NOW);
+        Product product = new Product(productId, productId, "SKU-" + productId, new BigDecimal("10.00"));
+        return new ReservationItem(reservation, product, new Stock(product, "DEFAULT", 10), quantity, quantity);
+    }
+}
@@ -0,0 +1,117 @@
+package com.ordersystem.unified.infrastructure.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpiryTimerTest {
+
+    @Mock
+    private ReservationExpirySweeper sweeper;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReservationExpiryProperties properties = new ReservationExpiryProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReservationExpiryTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTimerCapacity(2);
+        timer = new ReservationExpiryTimer(sweeper, jdbcTemplate, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    void shouldReleaseReservationAtItsExpiryInstant() {
+        timer.start();
+
+        timer.schedule("RES-1", LocalDateTime.now().plusNanos(200_000_000));
+        timer.schedule("RES-2", LocalDateTime.now().plusHours(1));
+
+        verify(sweeper, timeout(2000)).expireDue(eq(List.of("RES-1")), any(LocalDateTime.class));
+        verify(sweeper, never()).expireDue(eq(List.of("RES-2")), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldLeaveReservationsBeyondCapacityToTheSweep() {
+        assertThat(timer.schedule("RES-1", LocalDateTime.now().plusHours(1))).isTrue();
+        assertThat(timer.schedule("RES-2", LocalDateTime.now().plusHours(1))).isTrue();
+        assertThat(timer.schedule("RES-3", LocalDateTime.now().plusHours(1))).isFalse();
+
+        assertThat(timer.tracked()).isEqualTo(2);
+        assertThat(meterRegistry.counter("reservation.expiry.timer.refused").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldFreeTheSlotOfASettledReservation() {
+        timer.schedule("RES-1", LocalDateTime.now().plusHours(1));
+        timer.schedule("RES-2", LocalDateTime.now().plusHours(1));
+
+        timer.cancel("RES-1");
+
+        assertThat(timer.schedule("RES-3", LocalDateTime.now().plusHours(1))).isTrue();
+        assertThat(timer.tracked()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotExpireACancelledReservation() {
+        timer.start();
+
+        timer.schedule("RES-1", LocalDateTime.now().plusNanos(100_000_000));
+        timer.schedule("RES-2", LocalDateTime.now().plusNanos(200_000_000));
+        timer.cancel("RES-1");
+
+        verify(sweeper, timeout(2000)).expireDue(eq(List.of("RES-2")), any(LocalDateTime.class));
+        verify(sweeper, never()).expireDue(eq(List.of("RES-1")), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldPurgeCancelledEntriesOnceTheyFillTheCapacity() {
+        timer.schedule("RES-1", LocalDateTime.now().plusHours(1));
+        timer.cancel("RES-1");
+        timer.schedule("RES-2", LocalDateTime.now().plusHours(1));
+        timer.cancel("RES-2");
+        assertThat(timer.queued()).isEqualTo(2);
+
+        timer.schedule("RES-3", LocalDateTime.now().plusHours(1));
+
+        assertThat(timer.queued()).isEqualTo(1);
+        assertThat(timer.tracked()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRebuildFromActiveReservations() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(2)))
+            .thenReturn(List.<Object[]>of(new Object[] {"RES-9", Timestamp.valueOf(LocalDateTime.now().plusMinutes(5))}));
+
+        timer.rebuild();
+
+        assertThat(timer.tracked()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,223 @@
+package com.ordersystem.unified.integration;
+
+import com.ordersystem.unified.config.TestConfig;
+import com.ordersystem.unified.domain.events.OrderStatus;
+import com.ordersystem.unified.inventory.model.Stock;
+import com.ordersystem.unified.order.application.CreateOrderUseCase;
+import com.ordersystem.unified.order.dto.CreateOrderRequest;
+import com.ordersystem.unified.order.dto.OrderItemRequest;
+import com.ordersystem.unified.order.dto.OrderResponse;
+import com.ordersystem.unified.order.model.Order;
+import com.ordersystem.unified.order.repository.OrderRepository;
+import com.ordersystem.unified.order.saga.OrderSaga;
+import com.ordersystem.unified.order.saga.OrderSagaRecoveryJob;
+import com.ordersystem.unified.order.saga.OrderSagaRepository;
+import com.ordersystem.unified.order.saga.OrderSagaStatus;
+import com.ordersystem.unified.payment.PaymentService;
+import com.ordersystem.unified.payment.dto.PaymentMethod;
+import com.ordersystem.unified.support.PostgresIntegrationTestSupport;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Orders accepted with 202: the saga workers are replaced by a mock so each test drives
+ * {@link CreateOrderUseCase#process} itself.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class AsyncOrderFlowIntegrationTest extends PostgresIntegrationTestSupport {
+
+    @MockBean(name = "orderSagaExecutor")
+    private Executor orderSagaExecutor;
+
+    @Autowired
+    private CreateOrderUseCase createOrderUseCase;
+
+    @Autowired
+    private OrderSagaRecoveryJob recoveryJob;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderSagaRepository sagaRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldConfirmAnAcceptedOrderOnItsWorker() {
+        String productId = seedProduct(10);
+
+        OrderResponse accepted = createOrderUseCase.accept(request(productId, 2, PaymentMethod.CREDIT_CARD));
+
+        assertThat(accepted.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(saga(accepted.getOrderId()).getStatus()).isEqualTo(OrderSagaStatus.ACCEPTED);
+        verify(orderSagaExecutor).execute(any());
+
+        createOrderUseCase.process(accepted.getOrderId());
+
+        assertThat(order(accepted.getOrderId()).getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(saga(accepted.getOrderId()).getStatus()).isEqualTo(OrderSagaStatus.COMPLETED);
+        assertThat(stock(productId).getAvailableQuantity()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldLetOnlyTheWorkerHoldingTheClaimRunTheSaga() {
+        String productId = seedProduct(10);
+        String orderId = createOrderUseCase.accept(request(productId, 1, PaymentMethod.CREDIT_CARD)).getOrderId();
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(new TransactionTemplate(transactionManager).execute(status -> sagaRepository.claim(
+            orderId, "worker-1", EnumSet.of(OrderSagaStatus.ACCEPTED), now, now.plusMinutes(5)))).isEqualTo(1);
+
+        // A second worker handed the order while the first holds it backs off
+        createOrderUseCase.process(orderId);
+
+        assertThat(order(orderId).getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(saga(orderId).getStatus()).isEqualTo(OrderSagaStatus.ACCEPTED);
+        assertThat(saga(orderId).getClaimedBy()).isEqualTo("worker-1");
+        assertThat(paymentService.getAllPaymentsByOrderId(orderId)).isEmpty();
+
+        // Once the first worker's claim lapses, the order goes through exactly once
+        jdbcTemplate.update("UPDATE order_sagas SET claimed_until = ? WHERE order_id = ?",
+            Timestamp.valueOf(now.minusMinutes(1)), orderId);
+        createOrderUseCase.process(orderId);
+        createOrderUseCase.process(orderId);
+
+        assertThat(order(orderId).getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(saga(orderId).getStatus()).isEqualTo(OrderSagaStatus.COMPLETED);
+        assertThat(paymentService.getAllPaymentsByOrderId(orderId)).hasSize(1);
+        assertThat(stock(productId).getAvailableQuantity()).isEqualTo(9);
+    }
+
+    @Test
+    void shouldLeaveASagaAnotherWorkerIsChargingAlone() {
+        String productId = seedProduct(10);
+        String orderId = createOrderUseCase.accept(request(productId, 2, PaymentMethod.CREDIT_CARD)).getOrderId();
+        // Another worker already took the order past its reservation and holds it: a late
+        // delivery of the order must neither run it again nor compensate it
+        jdbcTemplate.update("UPDATE order_sagas SET status = 'CHARGING', claimed_by = 'worker-1', claimed_until = ? " +
+            "WHERE order_id = ?", Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)), orderId);
+
+        createOrderUseCase.process(orderId);
+
+        OrderSaga saga = saga(orderId);
+        assertThat(saga.getStatus()).isEqualTo(OrderSagaStatus.CHARGING);
+        assertThat(saga.getClaimedBy()).isEqualTo("worker-1");
+        assertThat(order(orderId).getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(stock(productId).getAvailableQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldResumeAStalledAcceptedOrder() {
+        String productId = seedProduct(10);
+        String orderId = createOrderUseCase.accept(request(productId, 3, PaymentMethod.PIX)).getOrderId();
+        LocalDateTime stalledAt = LocalDateTime.now().minusHours(1);
+        jdbcTemplate.update("UPDATE order_sagas SET updated_at = ? WHERE order_id = ?",
+            Timestamp.valueOf(stalledAt), orderId);
+        clearInvocations(orderSagaExecutor);
+
+        recoveryJob.recoverStalledSagas();
+
+        OrderSaga resumed = saga(orderId);
+        assertThat(resumed.getStatus()).isEqualTo(OrderSagaStatus.ACCEPTED);
+        assertThat(resumed.getUpdatedAt()).isAfter(stalledAt);
+        verify(orderSagaExecutor, atLeastOnce()).execute(any());
+
+        createOrderUseCase.process(orderId);
+
+        assertThat(order(orderId).getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(saga(orderId).getStatus()).isEqualTo(OrderSagaStatus.COMPLETED);
+    }
+
+    @Test
+    void shouldFailTheOrderAndReturnItsStockWhenPaymentIsDeclined() {
+        String productId = seedProduct(5);
+        String orderId = createOrderUseCase.accept(request(productId, 2, PaymentMethod.BOLETO)).getOrderId();
+
+        createOrderUseCase.process(orderId);
+
+        assertThat(order(orderId).getStatus()).isEqualTo(OrderStatus.FAILED);
+        OrderSaga saga = saga(orderId);
+        assertThat(saga.getStatus()).isEqualTo(OrderSagaStatus.COMPENSATED);
+        assertThat(saga.getFailureReason()).startsWith("Payment failed");
+        assertThat(stock(productId).getAvailableQuantity()).isEqualTo(5);
+        assertThat(stock(productId).getReservedQuantity()).isZero();
+    }
+
+    @Test
+    void shouldLeaveAnOrderTheWorkersHaveNoRoomForToRecovery() {
+        doThrow(new TaskRejectedException("queue full")).when(orderSagaExecutor).execute(any());
+        String productId = seedProduct(10);
+
+        OrderResponse accepted = createOrderUseCase.accept(request(productId, 1, PaymentMethod.CREDIT_CARD));
+
+        assertThat(accepted.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(order(accepted.getOrderId()).getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(saga(accepted.getOrderId()).getStatus()).isEqualTo(OrderSagaStatus.ACCEPTED);
+        assertThat(paymentService.getAllPaymentsByOrderId(accepted.getOrderId())).isEmpty();
+    }
+
+    private String seedProduct(int quantity) {
+        String productId = "PROD-ASYNC-" + UUID.randomUUID();
+        seedStock(productId, "Async Product", new BigDecimal("50.00"), quantity);
+        return productId;
+    }
+
+    private CreateOrderRequest request(String productId, int quantity, PaymentMethod paymentMethod) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setProductName("Async Product");
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal("50.00"));
+
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId("CUST-ASYNC");
+        request.setCustomerName("Async Customer");
+        request.setCustomerEmail("async@example.com");
+        request.setPaymentMethod(paymentMethod);
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private Order order(String orderId) {
+        return orderRepository.findById(orderId).orElseThrow();
+    }
+
+    private OrderSaga saga(String orderId) {
+        return sagaRepository.findById(orderId).orElseThrow();
+    }
+
+    private Stock stock(String productId) {
+        return stockRepository.findByProductIdAndWarehouseId(productId, "DEFAULT").orElseThrow();
+    }
+}
@@ -0,0 +1,136 @@
+package com.ordersystem.unified.integration;
+
+import com.ordersystem.unified.config.TestConfig;
+import com.ordersystem.unified.infrastructure.events.DomainEventEntity;
+import com.ordersystem.unified.infrastructure.events.DomainEventRepository;
+import com.ordersystem.unified.inventory.model.Stock;
+import com.ordersystem.unified.order.application.CreateOrderBatchUseCase;
+import com.ordersystem.unified.order.dto.CreateOrderRequest;
+import com.ordersystem.unified.order.dto.OrderBatchResult;
+import com.ordersystem.unified.order.dto.OrderItemRequest;
+import com.ordersystem.unified.payment.dto.PaymentMethod;
+import com.ordersystem.unified.support.PostgresIntegrationTestSupport;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Bulk ingestion against the real schema: the JDBC batch inserts, the per-order results
+ * and the events appended with the batch. The saga workers are replaced by a mock so the
+ * ingested orders stay RESERVED.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class CreateOrderBatchIntegrationTest extends PostgresIntegrationTestSupport {
+
+    @MockBean(name = "orderSagaExecutor")
+    private Executor orderSagaExecutor;
+
+    @Autowired
+    private CreateOrderBatchUseCase createOrderBatchUseCase;
+
+    @Autowired
+    private DomainEventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldIngestTheValidOrdersAndRejectTheOthersOneByOne() {
+        String scarce = "PROD-BATCH-" + UUID.randomUUID();
+        String plenty = "PROD-BATCH-" + UUID.randomUUID();
+        seedStock(scarce, "Scarce Product", new BigDecimal("20.00"), 5);
+        seedStock(plenty, "Plenty Product", new BigDecimal("10.00"), 50);
+
+        CreateOrderRequest withoutItems = request();
+        List<OrderBatchResult> results = createOrderBatchUseCase.execute(Arrays.asList(
+            request(item(scarce, "Scarce Product", 2, "20.00"), item(plenty, "Plenty Product", 3, "10.00")),
+            withoutItems,
+            request(item(scarce, "Scarce Product", 4, "20.00")),
+            request(item(plenty, "Plenty Product", 1, "10.00")),
+            null));
+
+        assertThat(results).extracting(OrderBatchResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results).extracting(OrderBatchResult::getStatus).containsExactly(
+            OrderBatchResult.ACCEPTED, OrderBatchResult.REJECTED, OrderBatchResult.REJECTED,
+            OrderBatchResult.ACCEPTED, OrderBatchResult.REJECTED);
+        assertThat(results.get(2).getMessage()).isNotBlank();
+        assertThat(results.get(2).getOrderId()).isNull();
+
+        OrderBatchResult first = results.get(0);
+        Map<String, Object> order = jdbcTemplate.queryForMap(
+            "SELECT status, reservation_id, total_amount, payment_method FROM system_orders WHERE id = ?",
+            first.getOrderId());
+        assertThat(order.get("status")).isEqualTo("INVENTORY_RESERVED");
+        assertThat(order.get("reservation_id")).isEqualTo(first.getReservationId());
+        assertThat((BigDecimal) order.get("total_amount")).isEqualByComparingTo("70.00");
+        assertThat(order.get("payment_method")).isEqualTo("CREDIT_CARD");
+
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT product_id FROM order_items WHERE order_id = ?", String.class, first.getOrderId()))
+            .containsExactlyInAnyOrder(scarce, plenty);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM order_items WHERE order_id = ?", Integer.class, results.get(3).getOrderId()))
+            .isEqualTo(1);
+
+        for (OrderBatchResult accepted : List.of(first, results.get(3))) {
+            Map<String, Object> saga = jdbcTemplate.queryForMap(
+                "SELECT status, reservation_id, correlation_id FROM order_sagas WHERE order_id = ?",
+                accepted.getOrderId());
+            assertThat(saga.get("status")).isEqualTo("RESERVED");
+            assertThat(saga.get("reservation_id")).isEqualTo(accepted.getReservationId());
+            assertThat(saga.get("correlation_id")).isEqualTo(accepted.getCorrelationId());
+
+            assertThat(eventRepository.findByAggregateIdOrderByStreamVersionAsc(accepted.getOrderId()))
+                .extracting(DomainEventEntity::getEventType, DomainEventEntity::getStreamVersion)
+                .containsExactly(
+                    tuple("OrderCreatedEvent", 1L),
+                    tuple("InventoryReservedEvent", 2L),
+                    tuple("OrderStatusUpdatedEvent", 3L));
+        }
+
+        assertThat(stock(scarce).getAvailableQuantity()).isEqualTo(3);
+        assertThat(stock(plenty).getAvailableQuantity()).isEqualTo(46);
+        verify(orderSagaExecutor, times(2)).execute(any());
+    }
+
+    private static CreateOrderRequest request(OrderItemRequest... items) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId("CUST-BATCH");
+        request.setCustomerName("Batch Customer");
+        request.setCustomerEmail("batch@example.com");
+        request.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        request.setItems(Arrays.asList(items));
+        return request;
+    }
+
+    private static OrderItemRequest item(String productId, String productName, int quantity, String unitPrice) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setProductName(productName);
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal(unitPrice));
+        return item;
+    }
+
+    private Stock stock(String productId) {
+        return stockRepository.findByProductIdAndWarehouseId(productId, "DEFAULT").orElseThrow();
+    }
+}
@@ -0,0 +1,98 @@
+package com.ordersystem.unified.integration;
+
+import com.ordersystem.unified.config.TestConfig;
+import com.ordersystem.unified.domain.events.OrderStatusUpdatedEvent;
+import com.ordersystem.unified.infrastructure.events.DomainEventEntity;
+import com.ordersystem.unified.infrastructure.events.DomainEventRepository;
+import com.ordersystem.unified.infrastructure.events.EventPublisher;
+import com.ordersystem.unified.support.PostgresIntegrationTestSupport;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Transaction semantics of {@link EventPublisher#publishAll}: the batch joins the caller's
+ * transaction, so it commits and rolls back together with the caller's business writes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class EventPublisherIntegrationTest extends PostgresIntegrationTestSupport {
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private DomainEventRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void publishAllShouldWriteTheBatchInTheCallersTransaction() {
+        String orderId = "ORDER-TX-" + UUID.randomUUID();
+        TransactionTemplate caller = new TransactionTemplate(transactionManager);
+
+        caller.executeWithoutResult(status -> {
+            eventPublisher.publishAll(transitions(orderId));
+
+            assertThat(eventRepository.countByAggregateId(orderId)).isEqualTo(2);
+            assertThat(countInSeparateTransaction(orderId))
+                .as("batch must not be visible before the caller commits")
+                .isZero();
+        });
+
+        assertThat(eventRepository.findByAggregateIdOrderByStreamVersionAsc(orderId))
+            .extracting(DomainEventEntity::getStreamVersion)
+            .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void publishAllShouldRollBackWithTheCaller() {
+        String orderId = "ORDER-TX-" + UUID.randomUUID();
+        TransactionTemplate caller = new TransactionTemplate(transactionManager);
+
+        caller.executeWithoutResult(status -> {
+            eventPublisher.publishAll(transitions(orderId));
+            status.setRollbackOnly();
+        });
+
+        assertThat(eventRepository.countByAggregateId(orderId)).isZero();
+    }
+
+    @Test
+    void publishAllShouldRollBackWhenTheCallerFails() {
+        String orderId = "ORDER-TX-" + UUID.randomUUID();
+        TransactionTemplate caller = new TransactionTemplate(transactionManager);
+
+        assertThatThrownBy(() -> caller.executeWithoutResult(status -> {
+            eventPublisher.publishAll(transitions(orderId));
+            throw new IllegalStateException("business write failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(eventRepository.countByAggregateId(orderId)).isZero();
+    }
+
+    private long countInSeparateTransaction(String orderId) {
+        TransactionTemplate separate = new TransactionTemplate(transactionManager);
+        separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return separate.execute(status -> eventRepository.countByAggregateId(orderId));
+    }
+
+    private static List<OrderStatusUpdatedEvent> transitions(String orderId) {
+        return List.of(
+            new OrderStatusUpdatedEvent(orderId, "CUST-TX", "PENDING", "CONFIRMED", "paid"),
+            new OrderStatusUpdatedEvent(orderId, "CUST-TX", "CONFIRMED", "CANCELLED", "customer request")
+        );
+    }
+}
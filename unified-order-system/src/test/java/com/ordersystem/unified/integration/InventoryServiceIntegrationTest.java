@@ -350,4 +350,26 @@ public class InventoryServiceIntegrationTest extends PostgresIntegrationTestSupp
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value(containsString("At least one item is required")));
     }
+
+    @Test
+    @Order(15)
+    void testProductListingPageSumsWarehouses() throws Exception {
+        for (String warehouseId : List.of("WAREHOUSE-1", "WAREHOUSE-2")) {
+            mockMvc.perform(post("/api/inventory/stock/add")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of(
+                        "productId", "PROD-LIST-WH", "quantity", 10, "warehouseId", warehouseId))))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/inventory/products/search")
+                .param("q", "PROD-LIST")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "PROD-LIST-WH"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].productId").value("PROD-LIST-WH"))
+                .andExpect(jsonPath("$[0].available").value(20))
+                .andExpect(jsonPath("$[0].reserved").value(0));
+    }
 }
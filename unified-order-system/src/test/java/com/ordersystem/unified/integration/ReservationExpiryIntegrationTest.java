@@ -0,0 +1,94 @@
+package com.ordersystem.unified.integration;
+
+import com.ordersystem.unified.config.TestConfig;
+import com.ordersystem.unified.domain.events.OrderItem;
+import com.ordersystem.unified.infrastructure.scheduler.ReservationExpiryScheduler;
+import com.ordersystem.unified.inventory.InventoryService;
+import com.ordersystem.unified.inventory.dto.ReservationResponse;
+import com.ordersystem.unified.inventory.dto.ReservationStatus;
+import com.ordersystem.unified.inventory.model.Reservation;
+import com.ordersystem.unified.inventory.model.Stock;
+import com.ordersystem.unified.inventory.repository.ReservationRepository;
+import com.ordersystem.unified.inventory.service.ReservationService;
+import com.ordersystem.unified.support.PostgresIntegrationTestSupport;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Expiry through the per-reservation scheduler, the default path while bulk expiry is disabled.
+ */
+@SpringBootTest(properties = "app.reservations.expiry.bulk-enabled=false")
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class ReservationExpiryIntegrationTest extends PostgresIntegrationTestSupport {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationExpiryScheduler reservationExpiryScheduler;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldReturnStockOfExpiredReservation() {
+        String productId = "PROD-EXP-" + UUID.randomUUID();
+        seedStock(productId, "Expiring Product", new BigDecimal("10.00"), 10);
+
+        ReservationResponse reservation = inventoryService.reserveItems("ORDER-EXP-" + UUID.randomUUID(),
+            List.of(new OrderItem(productId, "Expiring Product", 3, new BigDecimal("10.00"))));
+        assertThat(stock(productId).getAvailableQuantity()).isEqualTo(7);
+        assertThat(stock(productId).getReservedQuantity()).isEqualTo(3);
+
+        jdbcTemplate.update("UPDATE reservations SET expiry_time = ? WHERE id = ?",
+            Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), reservation.getReservationId());
+        reservationExpiryScheduler.triggerManualCheck();
+
+        assertThat(reservationRepository.findById(reservation.getReservationId()))
+            .hasValueSatisfying(expired -> assertThat(expired.getStatus()).isEqualTo(ReservationStatus.EXPIRED));
+        assertThat(stock(productId).getAvailableQuantity()).isEqualTo(10);
+        assertThat(stock(productId).getReservedQuantity()).isZero();
+    }
+
+    @Test
+    void shouldNotReturnStockTwiceWhenAReservationIsReleasedAfterItWasFoundDue() {
+        String productId = "PROD-EXP-" + UUID.randomUUID();
+        seedStock(productId, "Released Product", new BigDecimal("10.00"), 10);
+
+        ReservationResponse reservation = inventoryService.reserveItems("ORDER-EXP-" + UUID.randomUUID(),
+            List.of(new OrderItem(productId, "Released Product", 4, new BigDecimal("10.00"))));
+        jdbcTemplate.update("UPDATE reservations SET expiry_time = ? WHERE id = ?",
+            Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), reservation.getReservationId());
+        Reservation due = reservationRepository.findById(reservation.getReservationId()).orElseThrow();
+        inventoryService.releaseReservation(reservation.getReservationId());
+
+        reservationService.releaseReservation(due);
+
+        assertThat(reservationRepository.findById(reservation.getReservationId()))
+            .hasValueSatisfying(released -> assertThat(released.getStatus()).isEqualTo(ReservationStatus.RELEASED));
+        assertThat(stock(productId).getAvailableQuantity()).isEqualTo(10);
+        assertThat(stock(productId).getReservedQuantity()).isZero();
+    }
+
+    private Stock stock(String productId) {
+        return stockRepository.findByProductIdAndWarehouseId(productId, "DEFAULT").orElseThrow();
+    }
+}
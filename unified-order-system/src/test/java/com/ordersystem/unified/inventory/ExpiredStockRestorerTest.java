@@ -0,0 +1,129 @@
+package com.ordersystem.unified.inventory;
+
+import com.ordersystem.unified.inventory.escrow.StockEscrow;
+import com.ordersystem.unified.inventory.ledger.StockLedger;
+import com.ordersystem.unified.inventory.model.Product;
+import com.ordersystem.unified.inventory.model.Reservation;
+import com.ordersystem.unified.inventory.model.ReservationItem;
+import com.ordersystem.unified.inventory.model.Stock;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiredStockRestorerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ObjectProvider<StockLedger> stockLedgerProvider;
+
+    @Mock
+    private ObjectProvider<StockEscrow> stockEscrowProvider;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Test
+    void shouldRestoreEachStockRowOnceWithOneUpdate() {
+        ExpiredStockRestorer restorer = restorer(ReservationStrategy.PESSIMISTIC);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(2);
+
+        int updated = restorer.restore(List.of(
+            item("RES-1", "product-1", "stock-1", 2),
+            item("RES-1", "product-2", "stock-2", 1),
+            item("RES-2", "product-1", "stock-1", 4)));
+
+        assertThat(updated).isEqualTo(2);
+        verify(jdbcTemplate).queryForList(anyString(), eq(String.class), eq("stock-1"), eq("stock-2"));
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(sql.capture(), args.capture());
+        assertThat(sql.getValue()).contains("FROM (VALUES (?, ?), (?, ?))");
+        assertThat(sql.getValue()).contains("s.reserved_quantity >= CAST(v.quantity AS INTEGER)");
+        assertThat(args.getValue()).containsExactly("stock-1", 6, "stock-2", 1);
+    }
+
+    @Test
+    void shouldRestoreSingleReservationWithPortablePerRowUpdates() {
+        ExpiredStockRestorer restorer = restorer(ReservationStrategy.PESSIMISTIC);
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any())).thenReturn(1);
+
+        int updated = restorer.restoreReservation(List.of(
+            item("RES-1", "product-1", "stock-1", 2),
+            item("RES-1", "product-2", "stock-2", 1)));
+
+        assertThat(updated).isEqualTo(2);
+        verify(jdbcTemplate).queryForList(anyString(), eq(String.class), eq("stock-1"), eq("stock-2"));
+        verify(jdbcTemplate).update(startsWith("UPDATE stocks SET"), eq(2), eq(2), eq("stock-1"), eq(2));
+        verify(jdbcTemplate).update(startsWith("UPDATE stocks SET"), eq(1), eq(1), eq("stock-2"), eq(1));
+    }
+
+    @Test
+    void shouldLeaveARowThatNoLongerHoldsTheReservedQuantityAlone() {
+        ExpiredStockRestorer restorer = restorer(ReservationStrategy.PESSIMISTIC);
+        when(jdbcTemplate.update(contains("reserved_quantity >= ?"), any(), any(), eq("stock-1"), any())).thenReturn(0);
+        when(jdbcTemplate.update(contains("reserved_quantity >= ?"), any(), any(), eq("stock-2"), any())).thenReturn(1);
+
+        int updated = restorer.restoreReservation(List.of(
+            item("RES-1", "product-1", "stock-1", 2),
+            item("RES-1", "product-2", "stock-2", 1)));
+
+        assertThat(updated).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleaseEachReservationToTheLedger() {
+        when(stockLedgerProvider.getIfAvailable()).thenReturn(stockLedger);
+        ExpiredStockRestorer restorer = restorer(ReservationStrategy.LEDGER);
+
+        restorer.restore(List.of(
+            item("RES-1", "product-1", "stock-1", 2),
+            item("RES-1", "product-2", "stock-2", 1),
+            item("RES-2", "product-1", "stock-1", 4)));
+
+        verify(stockLedger).release("RES-1", "ORDER-RES-1", Map.of("product-1", 2, "product-2", 1));
+        verify(stockLedger).release("RES-2", "ORDER-RES-2", Map.of("product-1", 4));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void shouldSkipEmptyBatch() {
+        restorer(ReservationStrategy.PESSIMISTIC).restore(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private ExpiredStockRestorer restorer(ReservationStrategy strategy) {
+        return new ExpiredStockRestorer(jdbcTemplate, stockLedgerProvider, stockEscrowProvider, false, strategy);
+    }
+
+    private static ReservationItem item(String reservationId, String productId, String stockId, int quantity) {
+        Reservation reservation = new Reservation(reservationId, "ORDER-" + reservationId, LocalDateTime.now());
+        Product product = new Product(productId, productId, "SKU-" + productId, new BigDecimal("10.00"));
+        Stock stock = new Stock(product, "DEFAULT", 10);
+        ReflectionTestUtils.setField(stock, "id", stockId);
+        return new ReservationItem(reservation, product, stock, quantity, quantity);
+    }
+}
@@ -1,31 +1,56 @@
 package com.ordersystem.unified.inventory;
 
+import com.ordersystem.unified.inventory.allocation.AllocationPlan;
+import com.ordersystem.unified.inventory.allocation.StockAllocation;
+import com.ordersystem.unified.inventory.allocation.WarehouseAllocator;
 import com.ordersystem.unified.inventory.domain.InventoryBusinessRules;
 import com.ordersystem.unified.inventory.dto.ReservationResponse;
+import com.ordersystem.unified.inventory.model.Product;
 import com.ordersystem.unified.inventory.model.Reservation;
+import com.ordersystem.unified.inventory.model.ReservationItem;
+import com.ordersystem.unified.inventory.model.Stock;
+import com.ordersystem.unified.inventory.repository.ProductRepository;
 import com.ordersystem.unified.inventory.repository.ReservationItemRepository;
 import com.ordersystem.unified.inventory.repository.ReservationRepository;
 import com.ordersystem.unified.inventory.repository.StockRepository;
 import com.ordersystem.unified.domain.events.OrderItem;
+import com.ordersystem.unified.shared.exceptions.InventoryReservationException;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -44,9 +69,21 @@ class InventoryServiceTest {
     @Mock
     private ReservationItemRepository reservationItemRepository;
 
+    @Mock
+    private ProductRepository productRepository;
+
     @Mock
     private InventoryBusinessRules businessRules;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private WarehouseAllocator warehouseAllocator;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private InventoryService inventoryService;
 
@@ -69,8 +106,8 @@ class InventoryServiceTest {
         // Stub findById to return empty (release/confirm are no-ops for non-existent reservations)
         when(reservationRepository.findById(any())).thenReturn(Optional.empty());
 
-        // Stub stock queries to return 0 (service falls back to defaultStock)
-        when(stockRepository.getTotalAvailableQuantityByProductId(any())).thenReturn(0);
+        // Stub stock queries to return no rows (service falls back to defaultStock)
+        when(stockRepository.getTotalAvailableQuantitiesByProductIds(anyCollection())).thenReturn(List.of());
         when(stockRepository.getTotalReservedQuantityByProductId(any())).thenReturn(0);
         when(stockRepository.findLowStockItems()).thenReturn(Collections.emptyList());
         when(stockRepository.findOutOfStockItems()).thenReturn(Collections.emptyList());
@@ -123,6 +160,22 @@ class InventoryServiceTest {
         assertThat(true).isTrue();
     }
 
+    @Test
+    void shouldNotConfirmAReservationThatExpiredMeanwhile() {
+        ReflectionTestUtils.setField(inventoryService, "mockMode", false);
+        Reservation expired = new Reservation("RES-EXPIRED", "order-1", LocalDateTime.now().minusMinutes(1));
+        when(reservationRepository.findById("RES-EXPIRED")).thenReturn(Optional.of(expired));
+        when(reservationRepository.confirmIfActive(eq("RES-EXPIRED"), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThatThrownBy(() -> inventoryService.confirmReservation(orderItems, "RES-EXPIRED"))
+            .isInstanceOf(InventoryReservationException.class)
+            .hasMessageContaining("order-1");
+
+        verify(reservationItemRepository, never()).findByReservationId(anyString());
+        verify(stockRepository, never()).confirmReserved(anyString(), any());
+        verify(stockRepository, never()).save(any());
+    }
+
     @Test
     void shouldGetAvailableQuantity() {
         Integer result = inventoryService.getAvailableQuantity("product-1");
@@ -164,14 +217,177 @@ class InventoryServiceTest {
     @Test
     void shouldRejectReservationWithoutPersistedStockInRealMode() {
         ReflectionTestUtils.setField(inventoryService, "mockMode", false);
-        when(stockRepository.existsStockForProduct("product-1")).thenReturn(false);
-        when(stockRepository.existsStockForProduct("product-2")).thenReturn(false);
 
         ReservationResponse result = inventoryService.reserveItems("ORDER-REAL-1", orderItems);
 
         assertThat(result).isNotNull();
         assertThat(result.isSuccess()).isFalse();
         assertThat(result.getStatus()).isEqualTo(com.ordersystem.unified.inventory.dto.ReservationStatus.INSUFFICIENT_STOCK);
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    void shouldGetAvailableQuantitiesInOneGroupedQuery() {
+        ReflectionTestUtils.setField(inventoryService, "mockMode", false);
+        when(stockRepository.getTotalAvailableQuantitiesByProductIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[] {"product-1", 7L}));
+
+        Map<String, Integer> result = inventoryService.getAvailableQuantities(List.of("product-1", "product-2"));
+
+        assertThat(result).containsEntry("product-1", 7).containsEntry("product-2", 0);
+        verify(stockRepository).getTotalAvailableQuantitiesByProductIds(anyCollection());
+        verify(stockRepository, never()).existsStockForProduct(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLockAllStocksInOneOrderedQueryAndBatchReservationItems() {
+        ReflectionTestUtils.setField(inventoryService, "mockMode", false);
+        when(reservationRepository.saveAndFlush(any(Reservation.class))).thenAnswer(inv -> inv.getArgument(0));
+        Stock stock1 = stock("product-1", 10);
+        Stock stock2 = stock("product-2", 10);
+        when(stockRepository.findByProductIdInAndWarehouseIdWithLock(anyCollection(), eq("DEFAULT")))
+                .thenReturn(List.of(stock1, stock2));
+
+        ReservationResponse result = inventoryService.reserveItems("ORDER-REAL-2", orderItems);
+
+        assertThat(result.isSuccess()).isTrue();
+        ArgumentCaptor<Collection<String>> productIds = ArgumentCaptor.forClass(Collection.class);
+        verify(stockRepository).findByProductIdInAndWarehouseIdWithLock(productIds.capture(), eq("DEFAULT"));
+        assertThat(productIds.getValue()).containsExactly("product-1", "product-2");
+        verify(stockRepository, never()).findByProductIdAndWarehouseIdWithLock(anyString(), anyString());
+        ArgumentCaptor<List<ReservationItem>> saved = ArgumentCaptor.forClass(List.class);
+        verify(reservationItemRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(2);
+        verify(stockRepository, never()).getTotalAvailableQuantitiesByProductIds(anyCollection());
+        verify(stockRepository, never()).getTotalAvailableQuantityByProductId(anyString());
+        assertThat(stock1.getAvailableQuantity()).isEqualTo(8);
+        assertThat(stock2.getAvailableQuantity()).isEqualTo(9);
+    }
+
+    @Test
+    void shouldLeaveAllStocksUntouchedWhenAnyLineIsShort() {
+        ReflectionTestUtils.setField(inventoryService, "mockMode", false);
+        when(reservationRepository.saveAndFlush(any(Reservation.class))).thenAnswer(inv -> inv.getArgument(0));
+        Stock stock1 = stock("product-1", 10);
+        Stock stock2 = stock("product-2", 0);
+        when(stockRepository.findByProductIdInAndWarehouseIdWithLock(anyCollection(), eq("DEFAULT")))
+                .thenReturn(List.of(stock1, stock2));
+
+        ReservationResponse result = inventoryService.reserveItems("ORDER-REAL-3", orderItems);
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getMessage()).contains("product-2");
+        assertThat(stock1.getAvailableQuantity()).isEqualTo(10);
+        assertThat(stock1.getReservedQuantity()).isZero();
+        verify(reservationItemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldReserveWithConditionalUpdatesInOwnTransaction() {
+        ReflectionTestUtils.setField(inventoryService, "mockMode", false);
+        ReflectionTestUtils.setField(inventoryService, "reservationStrategy", ReservationStrategy.CONDITIONAL_UPDATE);
+        when(reservationRepository.saveAndFlush(any(Reservation.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(stockRepository.findStockIdsByProductIds(anyCollection(), eq("DEFAULT")))
+                .thenReturn(List.<Object[]>of(new Object[] {"product-1", "stock-1"}, new Object[] {"product-2", "stock-2"}));
+        when(stockRepository.reserveIfAvailable("stock-1", 2)).thenReturn(1);
+        when(stockRepository.reserveIfAvailable("stock-2", 1)).thenReturn(1);
+
+        ReservationResponse result = inventoryService.reserveItems("ORDER-HOT-1", orderItems);
+
+        assertThat(result.isSuccess()).isTrue();
+        verify(stockRepository, never()).findByProductIdInAndWarehouseIdWithLock(anyCollection(), anyString());
+        verify(reservationItemRepository).saveAll(any());
+        verify(transactionManager).commit(any(TransactionStatus.class));
+    }
+
+    @Test
+    void shouldRollBackConditionalReservationWhenAnyLineIsShort() {
+        ReflectionTestUtils.setField(inventoryService, "mockMode", false);
+        ReflectionTestUtils.setField(inventoryService, "reservationStrategy", ReservationStrategy.CONDITIONAL_UPDATE);
+        when(reservationRepository.saveAndFlush(any(Reservation.class))).thenAnswer(inv -> inv.getArgument(0));
+        SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        doAnswer(inv -> {
+            assertThat(transaction.isRollbackOnly()).isTrue();
+            return null;
+        }).when(transactionManager).commit(transaction);
+        when(stockRepository.findStockIdsByProductIds(anyCollection(), eq("DEFAULT")))
+                .thenReturn(List.<Object[]>of(new Object[] {"product-1", "stock-1"}, new Object[] {"product-2", "stock-2"}));
+        when(stockRepository.reserveIfAvailable("stock-1", 2)).thenReturn(1);
+        when(stockRepository.reserveIfAvailable("stock-2", 1)).thenReturn(0);
+
+        ReservationResponse result = inventoryService.reserveItems("ORDER-HOT-2", orderItems);
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getMessage()).contains("product-2");
+        verify(reservationItemRepository, never()).saveAll(any());
+        verify(transactionManager).commit(transaction);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLockOnlyAllocatedWarehouseRows() {
+        ReflectionTestUtils.setField(inventoryService, "mockMode", false);
+        Stock east1 = stock("product-1", 1);
+        Stock west1 = stock("product-1", 5);
+        Stock west2 = stock("product-2", 5);
+        ReflectionTestUtils.setField(east1, "id", "stock-east-1");
+        ReflectionTestUtils.setField(west1, "id", "stock-west-1");
+        ReflectionTestUtils.setField(west2, "id", "stock-west-2");
+        when(warehouseAllocator.isEnabled()).thenReturn(true);
+        when(warehouseAllocator.allocate(any())).thenReturn(AllocationPlan.of(List.of(
+                new StockAllocation("product-1", "stock-east-1", "EAST", 1),
+                new StockAllocation("product-1", "stock-west-1", "WEST", 1),
+                new StockAllocation("product-2", "stock-west-2", "WEST", 1))));
+        when(stockRepository.findByIdInWithLock(anyCollection())).thenReturn(List.of(east1, west1, west2));
+
+        ReservationResponse result = inventoryService.reserveItems("ORDER-SPLIT-1", orderItems);
+
+        assertThat(result.isSuccess()).isTrue();
+        verify(stockRepository).findByIdInWithLock(Set.of("stock-east-1", "stock-west-1", "stock-west-2"));
+        verify(stockRepository, never()).findByProductIdInAndWarehouseIdWithLock(anyCollection(), anyString());
+        ArgumentCaptor<List<ReservationItem>> saved = ArgumentCaptor.forClass(List.class);
+        verify(reservationItemRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(3);
+        assertThat(east1.getAvailableQuantity()).isZero();
+        assertThat(west1.getAvailableQuantity()).isEqualTo(4);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReserveBatchInOneLockPassOrderByOrder() {
+        ReflectionTestUtils.setField(inventoryService, "mockMode", false);
+        Stock stock1 = stock("product-1", 3);
+        Stock stock2 = stock("product-2", 10);
+        when(stockRepository.findByProductIdInAndWarehouseIdWithLock(anyCollection(), eq("DEFAULT")))
+                .thenReturn(List.of(stock1, stock2));
+        Map<String, List<OrderItem>> batch = new LinkedHashMap<>();
+        batch.put("ORDER-A", orderItems);
+        batch.put("ORDER-B", List.of(new OrderItem("product-1", "Product 1", 2, new BigDecimal("25.00"))));
+        batch.put("ORDER-C", List.of(new OrderItem("product-2", "Product 2", 1, new BigDecimal("50.00"))));
+
+        Map<String, ReservationResponse> results = inventoryService.reserveBatch(batch);
+
+        assertThat(results).containsOnlyKeys("ORDER-A", "ORDER-B", "ORDER-C");
+        assertThat(results.get("ORDER-A").isSuccess()).isTrue();
+        assertThat(results.get("ORDER-B").isSuccess()).isFalse();
+        assertThat(results.get("ORDER-B").getMessage()).contains("product-1");
+        assertThat(results.get("ORDER-C").isSuccess()).isTrue();
+        ArgumentCaptor<Collection<String>> productIds = ArgumentCaptor.forClass(Collection.class);
+        verify(stockRepository).findByProductIdInAndWarehouseIdWithLock(productIds.capture(), eq("DEFAULT"));
+        assertThat(productIds.getValue()).containsExactly("product-1", "product-2");
+        verify(entityManager, times(2)).persist(any(Reservation.class));
+        ArgumentCaptor<List<ReservationItem>> saved = ArgumentCaptor.forClass(List.class);
+        verify(reservationItemRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(3);
+        assertThat(stock1.getAvailableQuantity()).isEqualTo(1);
+        assertThat(stock2.getAvailableQuantity()).isEqualTo(8);
+    }
+
+    private Stock stock(String productId, int quantity) {
+        return new Stock(new Product(productId, productId, "SKU-" + productId, new BigDecimal("10.00")), "DEFAULT", quantity);
     }
 }
 
@@ -0,0 +1,91 @@
+package com.ordersystem.unified.inventory.allocation;
+
+import com.ordersystem.unified.inventory.repository.StockRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WarehouseAllocatorTest {
+
+    private static final List<String> PRIORITY = List.of("EAST", "WEST", "NORTH");
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(stockRepository.findWarehouseAvailabilityByProductIds(anyCollection())).thenReturn(List.of(
+            row("product-1", "EAST", 2),
+            row("product-1", "WEST", 8),
+            row("product-1", "NORTH", 20),
+            row("product-2", "WEST", 5),
+            row("product-2", "NORTH", 5)));
+    }
+
+    @Test
+    void nearestPicksFirstWarehouseThatFillsTheLine() {
+        AllocationPlan plan = allocator(AllocationPolicy.NEAREST, List.of()).allocate(order(5, 1));
+
+        assertThat(plan.allocations()).extracting(StockAllocation::warehouseId).containsExactly("WEST", "WEST");
+    }
+
+    @Test
+    void mostStockPicksFullestWarehouse() {
+        AllocationPlan plan = allocator(AllocationPolicy.MOST_STOCK, List.of()).allocate(order(5, 1));
+
+        assertThat(plan.allocations()).extracting(StockAllocation::warehouseId).containsExactly("NORTH", "WEST");
+    }
+
+    @Test
+    void splitShipmentSpreadsLineNoWarehouseCanFill() {
+        AllocationPlan plan = allocator(AllocationPolicy.SPLIT_SHIPMENT, List.of()).allocate(order(25, 1));
+
+        assertThat(plan.isComplete()).isTrue();
+        assertThat(plan.allocations()).containsExactly(
+            new StockAllocation("product-1", "stock-product-1-EAST", "EAST", 2),
+            new StockAllocation("product-1", "stock-product-1-WEST", "WEST", 8),
+            new StockAllocation("product-1", "stock-product-1-NORTH", "NORTH", 15),
+            new StockAllocation("product-2", "stock-product-2-WEST", "WEST", 1));
+    }
+
+    @Test
+    void costMinimizingShipsWholeOrderFromCheapestWarehouse() {
+        AllocationPlan plan = allocator(AllocationPolicy.COST_MINIMIZING, List.of("WEST:9", "NORTH:4"))
+            .allocate(order(5, 1));
+
+        assertThat(plan.allocations()).extracting(StockAllocation::warehouseId).containsExactly("NORTH", "NORTH");
+    }
+
+    @Test
+    void rejectsLineNoAllocationCovers() {
+        AllocationPlan plan = allocator(AllocationPolicy.NEAREST, List.of()).allocate(order(1, 6));
+
+        assertThat(plan.isComplete()).isFalse();
+        assertThat(plan.shortProductId()).isEqualTo("product-2");
+    }
+
+    private WarehouseAllocator allocator(AllocationPolicy policy, List<String> shipmentCosts) {
+        return new WarehouseAllocator(stockRepository, policy, PRIORITY, shipmentCosts);
+    }
+
+    private static Map<String, Integer> order(int product1, int product2) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        quantities.put("product-1", product1);
+        quantities.put("product-2", product2);
+        return quantities;
+    }
+
+    private static Object[] row(String productId, String warehouseId, int available) {
+        return new Object[] {"stock-" + productId + "-" + warehouseId, productId, warehouseId, available};
+    }
+}
@@ -0,0 +1,139 @@
+package com.ordersystem.unified.inventory.escrow;
+
+import com.ordersystem.unified.inventory.model.Product;
+import com.ordersystem.unified.inventory.model.Stock;
+import com.ordersystem.unified.inventory.repository.StockRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockEscrowTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockEscrow escrow;
+    private Stock stock;
+
+    @BeforeEach
+    void setUp() {
+        escrow = new StockEscrow(stockRepository, jdbcTemplate, transactionManager, 10, 2, 30000);
+        stock = new Stock(new Product("product-1", "product-1", "SKU-1", new BigDecimal("10.00")), "DEFAULT", 100);
+        stock.setId("stock-1");
+        when(stockRepository.findStockIdsByProductIds(eq(List.of("product-1")), eq("DEFAULT")))
+            .thenReturn(List.<Object[]>of(new Object[] {"product-1", "stock-1"}));
+    }
+
+    @Test
+    void shouldServeReservationsFromOneLease() {
+        when(stockRepository.findByIdWithLock("stock-1")).thenReturn(Optional.of(stock));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(escrow.reserve(Map.of("product-1", 1))).isNull();
+        }
+
+        verify(stockRepository, times(1)).findByIdWithLock("stock-1");
+        assertThat(stock.getAvailableQuantity()).isEqualTo(90);
+        assertThat(stock.getReservedQuantity()).isEqualTo(10);
+        assertThat(escrow.quota("product-1")).isZero();
+    }
+
+    @Test
+    void shouldReturnTakenQuotaWhenAnyLineIsShort() {
+        when(stockRepository.findByIdWithLock("stock-1")).thenReturn(Optional.of(stock));
+        when(stockRepository.findStockIdsByProductIds(eq(List.of("product-2")), eq("DEFAULT"))).thenReturn(List.of());
+
+        String shortProduct = escrow.reserve(new TreeMap<>(Map.of("product-1", 3, "product-2", 1)));
+
+        assertThat(shortProduct).isEqualTo("product-2");
+        assertThat(escrow.quota("product-1")).isEqualTo(10);
+    }
+
+    @Test
+    void shouldGiveUnitsBackWhenTransactionRollsBack() {
+        when(stockRepository.findByIdWithLock("stock-1")).thenReturn(Optional.of(stock));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            escrow.reserve(Map.of("product-1", 4));
+            assertThat(escrow.quota("product-1")).isEqualTo(6);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(escrow.quota("product-1")).isEqualTo(10);
+    }
+
+    @Test
+    void shouldKeepReleasedUnitsInLocalQuota() {
+        when(stockRepository.findByIdWithLock("stock-1")).thenReturn(Optional.of(stock));
+        escrow.reserve(Map.of("product-1", 4));
+
+        escrow.release(Map.of("product-1", 4));
+
+        assertThat(escrow.quota("product-1")).isEqualTo(10);
+        assertThat(stock.getReservedQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldDropQuotaWhenLeaseWasReclaimed() {
+        when(stockRepository.findByIdWithLock("stock-1")).thenReturn(Optional.of(stock));
+        escrow.reserve(Map.of("product-1", 1));
+
+        // The mocked renewal updates no row, as if another replica returned the lease
+        escrow.maintain();
+
+        assertThat(escrow.quota("product-1")).isZero();
+    }
+
+    @Test
+    void shouldNeverHandOutMoreThanTheStockUnderContention() throws InterruptedException {
+        when(stockRepository.findByIdWithLock("stock-1")).thenReturn(Optional.of(stock));
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            executor.execute(() -> {
+                if (escrow.reserve(Map.of("product-1", 1)) == null) {
+                    reserved.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(reserved.get()).isEqualTo(100);
+        assertThat(stock.getAvailableQuantity()).isZero();
+        assertThat(stock.getReservedQuantity()).isEqualTo(100);
+    }
+}
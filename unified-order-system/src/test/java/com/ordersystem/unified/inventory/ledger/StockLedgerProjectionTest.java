@@ -0,0 +1,103 @@
+package com.ordersystem.unified.inventory.ledger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.unified.infrastructure.events.DomainEventEntity;
+import com.ordersystem.unified.infrastructure.events.DomainEventRepository;
+import com.ordersystem.unified.infrastructure.events.EventCodecRegistry;
+import com.ordersystem.unified.infrastructure.events.EventStoreProperties;
+import com.ordersystem.unified.query.projection.ProjectionEngine;
+import com.ordersystem.unified.query.projection.ProjectionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerProjectionTest {
+
+    @Mock
+    private DomainEventRepository eventRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ProjectionProperties properties = new ProjectionProperties();
+    private StockLedgerProjection projection;
+    private ProjectionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(10);
+        properties.setGapTimeout(0L);
+        projection = new StockLedgerProjection(jdbcTemplate);
+        engine = new ProjectionEngine(List.of(projection), eventRepository,
+            new EventCodecRegistry(new ObjectMapper(), new EventStoreProperties()),
+            jdbcTemplate, properties, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldApplyALedgerEventThatCommitsAfterItsPositionWasSkipped() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT position FROM projection_checkpoints"), eq(Long.class), any()))
+            .thenReturn(List.of(0L), List.of(3L));
+        when(jdbcTemplate.queryForList(contains("FROM projection_gaps g"), eq(Long.class), any()))
+            .thenReturn(List.of(), List.of(2L));
+        when(eventRepository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(ledgerEvent(1, -2), ledgerEvent(3, -1)));
+        when(eventRepository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(eq(3L), any(Pageable.class)))
+            .thenReturn(List.of());
+        when(eventRepository.findByGlobalPositionInOrderByGlobalPositionAsc(List.of(2L)))
+            .thenReturn(List.of(ledgerEvent(2, -4)));
+
+        // Position 2 is still uncommitted: the gap times out and the checkpoint moves to 3
+        engine.catchUp(projection);
+        verify(jdbcTemplate).update(contains("INSERT INTO projection_gaps"), eq(StockLedgerProjection.NAME), eq(2L), eq(2L));
+
+        // Position 2 commits late and is written back on the next pass
+        engine.catchUp(projection);
+
+        ArgumentCaptor<List<Object[]>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("UPDATE stocks"), deltas.capture());
+        assertThat(deltas.getAllValues())
+            .extracting(batch -> batch.get(0)[0])
+            .containsExactly(-3L, -4L);
+        ArgumentCaptor<List<Object[]>> resolved = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE FROM projection_gaps"), resolved.capture());
+        assertThat(resolved.getValue().get(0)).containsExactly(StockLedgerProjection.NAME, 2L);
+    }
+
+    private DomainEventEntity ledgerEvent(long globalPosition, long available) {
+        DomainEventEntity event = DomainEventEntity.builder()
+            .aggregateId("RES-" + globalPosition)
+            .aggregateType("Inventory")
+            .eventType("InventoryLedgerEvent")
+            .eventData("{\"lines\":[{\"stockId\":\"stock-1\",\"productId\":\"product-1\",\"available\":"
+                + available + ",\"reserved\":" + -available + ",\"total\":0}]}")
+            .streamVersion(1)
+            .build();
+        event.setCreatedAt(LocalDateTime.now());
+        ReflectionTestUtils.setField(event, "globalPosition", globalPosition);
+        return event;
+    }
+}
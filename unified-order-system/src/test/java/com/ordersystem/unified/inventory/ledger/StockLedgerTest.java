@@ -0,0 +1,140 @@
+package com.ordersystem.unified.inventory.ledger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.unified.domain.events.InventoryLedgerEvent;
+import com.ordersystem.unified.infrastructure.events.DomainEventRepository;
+import com.ordersystem.unified.infrastructure.events.EventCodecRegistry;
+import com.ordersystem.unified.infrastructure.events.EventPublisher;
+import com.ordersystem.unified.infrastructure.events.EventStoreProperties;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DomainEventRepository eventRepository;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = newLedger(true);
+        ledger.register("stock-1", "product-1", 5, 0);
+        ledger.register("stock-2", "product-2", 1, 0);
+    }
+
+    @Test
+    void shouldReserveAllLinesAndLogThem() {
+        String shortProduct = ledger.reserve("RES-1", "ORDER-1", Map.of("product-1", 2, "product-2", 1), null);
+
+        assertThat(shortProduct).isNull();
+        assertThat(ledger.available("product-1")).isEqualTo(3);
+        assertThat(ledger.reserved("product-1")).isEqualTo(2);
+        assertThat(ledger.available("product-2")).isZero();
+        ArgumentCaptor<List<InventoryLedgerEvent>> events = captor();
+        verify(eventPublisher).append(eq("RES-1"), eq(EventPublisher.NO_STREAM), events.capture());
+        assertThat(events.getValue().get(0).getOperation()).isEqualTo(InventoryLedgerEvent.Operation.RESERVE);
+        assertThat(events.getValue().get(0).getLines()).hasSize(2);
+    }
+
+    @Test
+    void shouldReserveNothingWhenAnyLineIsShort() {
+        String shortProduct = ledger.reserve("RES-2", "ORDER-2", new TreeMap<>(Map.of("product-1", 2, "product-2", 3)), null);
+
+        assertThat(shortProduct).isEqualTo("product-2");
+        assertThat(ledger.available("product-1")).isEqualTo(5);
+        assertThat(ledger.reserved("product-1")).isZero();
+        verify(eventPublisher, never()).append(anyString(), anyLong(), any());
+    }
+
+    @Test
+    void shouldUndoReservationWhenTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ledger.reserve("RES-3", "ORDER-3", Map.of("product-1", 4), null);
+            assertThat(ledger.available("product-1")).isEqualTo(1);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(ledger.available("product-1")).isEqualTo(5);
+        assertThat(ledger.reserved("product-1")).isZero();
+    }
+
+    @Test
+    void shouldNeverOversellUnderConcurrentReservations() throws InterruptedException {
+        ledger.register("stock-3", "product-3", 1000, 0);
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 2000; i++) {
+            String reservationId = "RES-C" + i;
+            pool.execute(() -> {
+                if (ledger.reserve(reservationId, "ORDER", Map.of("product-3", 1), null) == null) {
+                    reserved.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(reserved.get()).isEqualTo(1000);
+        assertThat(ledger.available("product-3")).isZero();
+        assertThat(ledger.reserved("product-3")).isEqualTo(1000);
+    }
+
+    @Test
+    void shouldRequireProjectionsForWriteBehind() {
+        assertThatThrownBy(() -> newLedger(false))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("app.projections.enabled");
+    }
+
+    private StockLedger newLedger(boolean projectionsEnabled) {
+        return new StockLedger(jdbcTemplate, eventRepository,
+            new EventCodecRegistry(new ObjectMapper(), new EventStoreProperties()),
+            eventPublisher, transactionManager, 16, projectionsEnabled);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<InventoryLedgerEvent>> captor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -19,6 +19,8 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import com.ordersystem.unified.config.TestConfig;
 import com.ordersystem.unified.support.PostgresIntegrationTestSupport;
@@ -27,8 +29,13 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,6 +56,9 @@ public class OrderControllerTest extends PostgresIntegrationTestSupport {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private OrderController orderController;
+
     @MockBean
     private OrderService orderService;
 
@@ -112,6 +122,57 @@ public class OrderControllerTest extends PostgresIntegrationTestSupport {
                 .andExpect(jsonPath("$.correlationId").value("corr-123"));
     }
 
+    @Test
+    void shouldReplayCreatedOrderForRepeatedIdempotencyKey() throws Exception {
+        when(createOrderUseCase.execute(any(CreateOrderRequest.class))).thenReturn(orderResponse);
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/api/orders")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validOrderRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        mockMvc.perform(post("/api/orders")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validOrderRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.orderId").value("order-123"));
+
+        validOrderRequest.setCustomerId("customer-456");
+        mockMvc.perform(post("/api/orders")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validOrderRequest)))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(createOrderUseCase, times(1)).execute(any(CreateOrderRequest.class));
+    }
+
+    @Test
+    void shouldAcceptOrderWith202InAsyncMode() throws Exception {
+        orderResponse.setStatus(OrderStatus.PENDING);
+        when(createOrderUseCase.accept(any(CreateOrderRequest.class))).thenReturn(orderResponse);
+        Object controller = AopTestUtils.getUltimateTargetObject(orderController);
+        ReflectionTestUtils.setField(controller, "asyncEnabled", true);
+        try {
+            mockMvc.perform(post("/api/orders")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(validOrderRequest)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", endsWith("/api/orders/order-123")))
+                    .andExpect(jsonPath("$.orderId").value("order-123"))
+                    .andExpect(jsonPath("$.status").value("PENDING"));
+        } finally {
+            ReflectionTestUtils.setField(controller, "asyncEnabled", false);
+        }
+
+        verify(createOrderUseCase, never()).execute(any(CreateOrderRequest.class));
+    }
+
     @Test
     void shouldReturnBadRequestForInvalidOrderRequest() throws Exception {
         CreateOrderRequest invalidRequest = new CreateOrderRequest();
@@ -0,0 +1,46 @@
+package com.ordersystem.unified.order.domain;
+
+import com.ordersystem.unified.domain.events.OrderStatus;
+import com.ordersystem.unified.domain.events.OrderStatusUpdatedEvent;
+import com.ordersystem.unified.order.model.Order;
+import com.ordersystem.unified.shared.exceptions.InvalidOrderException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class OrderStateMachineTest {
+
+    private final Order order = new Order("order-1", "customer-1", "Customer", new BigDecimal("50.00"));
+    private final OrderStateMachine stateMachine = new OrderStateMachine(order, new OrderBusinessRules(), "corr-1");
+
+    @Test
+    void shouldRecordEachTransitionAsStatusUpdatedEvent() {
+        stateMachine.transition(OrderStatus.INVENTORY_RESERVED, "reserved");
+        stateMachine.transition(OrderStatus.PAYMENT_PROCESSING, "paid");
+        stateMachine.transition(OrderStatus.CONFIRMED, "confirmed");
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(stateMachine.getTransitions())
+            .map(OrderStatusUpdatedEvent.class::cast)
+            .extracting(OrderStatusUpdatedEvent::getOldStatus, OrderStatusUpdatedEvent::getNewStatus)
+            .containsExactly(
+                tuple("PENDING", "INVENTORY_RESERVED"),
+                tuple("INVENTORY_RESERVED", "PAYMENT_PROCESSING"),
+                tuple("PAYMENT_PROCESSING", "CONFIRMED"));
+        assertThat(stateMachine.getTransitions()).allMatch(event -> "corr-1".equals(event.getCorrelationId()));
+    }
+
+    @Test
+    void shouldRejectTransitionSkippingPayment() {
+        stateMachine.transition(OrderStatus.INVENTORY_RESERVED, "reserved");
+
+        assertThatThrownBy(() -> stateMachine.transition(OrderStatus.CONFIRMED, "confirmed"))
+            .isInstanceOf(InvalidOrderException.class);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.INVENTORY_RESERVED);
+        assertThat(stateMachine.getTransitions()).hasSize(1);
+    }
+}
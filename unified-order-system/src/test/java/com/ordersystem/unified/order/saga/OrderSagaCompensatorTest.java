@@ -0,0 +1,134 @@
+package com.ordersystem.unified.order.saga;
+
+import com.ordersystem.unified.domain.events.OrderStatus;
+import com.ordersystem.unified.infrastructure.events.EventPublisher;
+import com.ordersystem.unified.inventory.InventoryService;
+import com.ordersystem.unified.order.domain.OrderBusinessRules;
+import com.ordersystem.unified.order.model.Order;
+import com.ordersystem.unified.order.repository.OrderRepository;
+import com.ordersystem.unified.payment.PaymentService;
+import com.ordersystem.unified.payment.model.Payment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSagaCompensatorTest {
+
+    @Mock
+    private OrderSagaRepository sagaRepository;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderSagaCompensator compensator;
+
+    private final OrderSaga saga = new OrderSaga("order-1", "reservation-1", "corr-1");
+
+    @BeforeEach
+    void setUp() {
+        compensator = new OrderSagaCompensator(sagaRepository, inventoryService, paymentService,
+                orderRepository, new OrderBusinessRules(), eventPublisher, transactionManager);
+    }
+
+    @Test
+    void refundsChargeThenReleasesReservation() {
+        saga.markCharging();
+        Payment payment = completedPayment();
+        when(sagaRepository.findById("order-1")).thenReturn(Optional.of(saga));
+        when(sagaRepository.save(any(OrderSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentService.getAllPaymentsByOrderId("order-1")).thenReturn(List.of(payment));
+        when(paymentService.refundPayment(eq("payment-1"), anyString())).thenReturn(Optional.of("refund-1"));
+
+        assertThat(compensator.compensate("order-1", "gateway timeout")).isTrue();
+
+        InOrder steps = inOrder(paymentService, inventoryService);
+        steps.verify(paymentService).refundPayment(eq("payment-1"), anyString());
+        steps.verify(inventoryService).releaseReservation("reservation-1");
+        assertThat(saga.getStatus()).isEqualTo(OrderSagaStatus.COMPENSATED);
+        assertThat(saga.getFailureReason()).isEqualTo("gateway timeout");
+    }
+
+    @Test
+    void keepsReservationWhileRefundFails() {
+        saga.markCharging();
+        Payment payment = completedPayment();
+        when(sagaRepository.findById("order-1")).thenReturn(Optional.of(saga));
+        when(sagaRepository.save(any(OrderSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentService.getAllPaymentsByOrderId("order-1")).thenReturn(List.of(payment));
+        when(paymentService.refundPayment(eq("payment-1"), anyString())).thenReturn(Optional.empty());
+
+        assertThat(compensator.compensate("order-1", "gateway timeout")).isFalse();
+
+        verify(inventoryService, never()).releaseReservation(anyString());
+        assertThat(saga.getStatus()).isEqualTo(OrderSagaStatus.COMPENSATING);
+        assertThat(saga.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void failsAcceptedOrderWithoutReservation() {
+        OrderSaga accepted = OrderSaga.accepted("order-1", "corr-1");
+        Order order = new Order("order-1", "customer-1", "Customer", new BigDecimal("50.00"));
+        when(sagaRepository.findById("order-1")).thenReturn(Optional.of(accepted));
+        when(sagaRepository.save(any(OrderSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.findById("order-1")).thenReturn(Optional.of(order));
+
+        assertThat(compensator.compensate("order-1", "Insufficient inventory")).isTrue();
+
+        verifyNoInteractions(inventoryService);
+        verify(eventPublisher).publishAll(anyList());
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
+        assertThat(accepted.getStatus()).isEqualTo(OrderSagaStatus.COMPENSATED);
+    }
+
+    @Test
+    void leavesCompletedSagaAlone() {
+        saga.markCharging();
+        saga.markCompleted("payment-1");
+        when(sagaRepository.findById("order-1")).thenReturn(Optional.of(saga));
+
+        assertThat(compensator.compensate("order-1", "late failure")).isFalse();
+
+        verifyNoInteractions(paymentService, inventoryService);
+        assertThat(saga.getStatus()).isEqualTo(OrderSagaStatus.COMPLETED);
+    }
+
+    private static Payment completedPayment() {
+        Payment payment = mock(Payment.class);
+        when(payment.getId()).thenReturn("payment-1");
+        when(payment.isCompleted()).thenReturn(true);
+        return payment;
+    }
+}
@@ -79,6 +79,7 @@ class PaymentServiceTest {
         assertThat(result.isSuccess()).isTrue();
         assertThat(result.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
         assertThat(result.getPaymentId()).isNotNull();
+        assertThat(result.getTransactionId()).isEqualTo("txn-123");
         assertThat(result.getMessage()).isEqualTo("Payment processed successfully");
 
         verify(paymentRepository, times(2)).save(any(Payment.class)); // Once for pending, once for completed
@@ -96,6 +97,7 @@ class PaymentServiceTest {
         // Then
         assertThat(result.isSuccess()).isTrue();
         assertThat(result.getPaymentId()).isEqualTo("payment-123");
+        assertThat(result.getTransactionId()).isEqualTo("txn-123");
 
         verify(paymentGatewayClient, never()).charge(any());
         verify(paymentRepository, never()).save(any(Payment.class));
@@ -0,0 +1,61 @@
+package com.ordersystem.unified.query.projection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSummaryProjectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private OrderReadModelStore store;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldOnlyFoldOrderStreamEvents() throws Exception {
+        when(store.loadSummaries(anyCollection())).thenReturn(Map.of());
+        OrderSummaryProjection projection = new OrderSummaryProjection(store);
+
+        projection.apply(List.of(
+            event(1, "order-1", "OrderCreatedEvent", "{\"orderId\":\"order-1\",\"status\":\"PENDING\"}"),
+            event(2, "RES-1", "InventoryLedgerEvent", "{\"lines\":[]}"),
+            event(3, "RESTOCK-1", "InventoryLedgerEvent", "{\"lines\":[]}")));
+
+        ArgumentCaptor<Collection<String>> loaded = ArgumentCaptor.forClass(Collection.class);
+        verify(store).loadSummaries(loaded.capture());
+        assertThat(loaded.getValue()).containsExactly("order-1");
+        ArgumentCaptor<Collection<OrderSummaryRow>> upserted = ArgumentCaptor.forClass(Collection.class);
+        verify(store).upsertSummaries(upserted.capture());
+        assertThat(upserted.getValue()).hasSize(1);
+    }
+
+    @Test
+    void shouldIgnoreBatchesWithoutOrderEvents() throws Exception {
+        OrderSummaryProjection projection = new OrderSummaryProjection(store);
+
+        projection.apply(List.of(event(1, "RES-1", "InventoryLedgerEvent", "{\"lines\":[]}")));
+
+        verify(store, never()).loadSummaries(anyCollection());
+        verify(store, never()).upsertSummaries(any());
+    }
+
+    private ProjectedEvent event(long position, String aggregateId, String type, String payload) throws Exception {
+        return new ProjectedEvent(position, aggregateId, type, 1, objectMapper.readTree(payload), LocalDateTime.now());
+    }
+}
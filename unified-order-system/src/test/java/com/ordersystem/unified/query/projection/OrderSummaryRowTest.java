@@ -0,0 +1,49 @@
+package com.ordersystem.unified.query.projection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderSummaryRowTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldFoldOrderStreamIntoSummaryAndContribution() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        OrderSummaryRow row = new OrderSummaryRow("order-1");
+
+        row.apply(event("InventoryReservedEvent", "{\"reservationId\":\"res-1\"}", 1, createdAt));
+        row.apply(event("OrderCreatedEvent",
+            "{\"customerId\":\"c-1\",\"customerName\":\"Ana\",\"totalAmount\":150.00,\"status\":\"CONFIRMED\"," +
+            "\"paymentMethod\":\"PIX\",\"items\":[{\"productId\":\"p-1\",\"quantity\":2}]}", 2, createdAt));
+
+        assertThat(row.getState().getStatus()).isEqualTo("CONFIRMED");
+        assertThat(row.getState().getReservationId()).isEqualTo("res-1");
+        assertThat(row.getItemCount()).isEqualTo(1);
+        assertThat(row.getPaymentMethod()).isEqualTo("PIX");
+        assertThat(row.contribution().status()).isEqualTo("CONFIRMED");
+        assertThat(row.contribution().confirmedTotal()).isEqualByComparingTo(new BigDecimal("150.00"));
+        assertThat(row.contribution().day()).isEqualTo(createdAt.toLocalDate());
+    }
+
+    @Test
+    void shouldStopContributingRevenueOnceCancelled() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        OrderSummaryRow row = new OrderSummaryRow("order-1");
+
+        row.apply(event("OrderCreatedEvent", "{\"totalAmount\":80,\"status\":\"CONFIRMED\"}", 1, createdAt));
+        row.apply(event("OrderCancelledEvent", "{\"cancellationReason\":\"changed mind\"}", 2, createdAt.plusHours(1)));
+
+        assertThat(row.contribution().status()).isEqualTo("CANCELLED");
+        assertThat(row.contribution().confirmedTotal()).isNull();
+        assertThat(row.getUpdatedAt()).isEqualTo(createdAt.plusHours(1));
+    }
+
+    private ProjectedEvent event(String type, String payload, long version, LocalDateTime createdAt) throws Exception {
+        return new ProjectedEvent(version, "order-1", type, version, objectMapper.readTree(payload), createdAt);
+    }
+}
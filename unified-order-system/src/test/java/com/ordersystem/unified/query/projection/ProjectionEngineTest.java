@@ -0,0 +1,117 @@
+package com.ordersystem.unified.query.projection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.unified.infrastructure.events.DomainEventEntity;
+import com.ordersystem.unified.infrastructure.events.DomainEventRepository;
+import com.ordersystem.unified.infrastructure.events.EventCodecRegistry;
+import com.ordersystem.unified.infrastructure.events.EventStoreProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectionEngineTest {
+
+    @Mock
+    private DomainEventRepository eventRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Projection projection;
+
+    private final ProjectionProperties properties = new ProjectionProperties();
+    private ProjectionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(10);
+        when(projection.name()).thenReturn("test-projection");
+        engine = new ProjectionEngine(List.of(projection), eventRepository,
+            new EventCodecRegistry(new ObjectMapper(), new EventStoreProperties()),
+            jdbcTemplate, properties, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldStopAtGapUntilGapTimeoutExpires() {
+        properties.setGapTimeout(60_000L);
+        checkpointAt(0L);
+        when(eventRepository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(event(1), event(2), event(4)));
+
+        engine.catchUp(projection);
+
+        assertThat(appliedPositions()).containsExactly(1L, 2L);
+        verify(jdbcTemplate).update(anyString(), eq(2L), eq("test-projection"));
+    }
+
+    @Test
+    void shouldSkipGapOnceTimedOut() {
+        properties.setGapTimeout(0L);
+        checkpointAt(0L);
+        when(eventRepository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(event(1), event(2), event(4)));
+
+        engine.catchUp(projection);
+
+        assertThat(appliedPositions()).containsExactly(1L, 2L, 4L);
+        verify(jdbcTemplate).update(anyString(), eq(4L), eq("test-projection"));
+    }
+
+    @Test
+    void shouldNotReadEventsWhileAnotherInstanceHoldsTheCheckpoint() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any())).thenReturn(List.of());
+
+        engine.catchUp(projection);
+
+        verify(eventRepository, never()).findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(anyLong(), any());
+        verify(projection, never()).apply(any());
+    }
+
+    private void checkpointAt(long position) {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any())).thenReturn(List.of(position));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> appliedPositions() {
+        ArgumentCaptor<List<ProjectedEvent>> batch = ArgumentCaptor.forClass(List.class);
+        verify(projection).apply(batch.capture());
+        return batch.getValue().stream().map(ProjectedEvent::globalPosition).toList();
+    }
+
+    private DomainEventEntity event(long globalPosition) {
+        DomainEventEntity event = DomainEventEntity.builder()
+            .aggregateId("order-" + globalPosition)
+            .aggregateType("Order")
+            .eventType("OrderStatusUpdatedEvent")
+            .eventData("{\"newStatus\":\"CONFIRMED\"}")
+            .streamVersion(1)
+            .build();
+        event.setCreatedAt(LocalDateTime.now());
+        ReflectionTestUtils.setField(event, "globalPosition", globalPosition);
+        return event;
+    }
+}
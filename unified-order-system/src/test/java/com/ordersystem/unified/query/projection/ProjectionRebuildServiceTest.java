@@ -0,0 +1,185 @@
+package com.ordersystem.unified.query.projection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.unified.infrastructure.events.DomainEventEntity;
+import com.ordersystem.unified.infrastructure.events.DomainEventRepository;
+import com.ordersystem.unified.infrastructure.events.EventCodecRegistry;
+import com.ordersystem.unified.infrastructure.events.EventStoreProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectionRebuildServiceTest {
+
+    private static final String NAME = "order-summary";
+
+    @Mock
+    private DomainEventRepository eventRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final RecordingProjection projection = new RecordingProjection();
+    private final ProjectionProperties properties = new ProjectionProperties();
+    private ProjectionRebuildService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setRebuildChunkSize(2);
+        properties.setRebuildParallelism(2);
+        properties.setGapTimeout(0L);
+        service = new ProjectionRebuildService(List.of(projection), eventRepository,
+            new EventCodecRegistry(new ObjectMapper(), new EventStoreProperties()),
+            jdbcTemplate, properties, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void shouldResetAndReplayHistoryInCheckpointedChunks() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(3L);
+        when(eventRepository.streamByGlobalPositionRange(0L, 2L))
+            .thenReturn(Stream.of(event(1, "order-a", 1), event(2, "order-b", 1)));
+        when(eventRepository.streamByGlobalPositionRange(2L, 3L))
+            .thenReturn(Stream.of(event(3, "order-a", 2)));
+        RebuildProgress progress = started();
+
+        service.rebuild(projection, progress);
+
+        assertThat(projection.resets).isEqualTo(1);
+        assertThat(projection.finished).isEqualTo(1);
+        assertThat(projection.appliedPositions()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        verify(jdbcTemplate).update(contains("rebuild_cursor = ?"), eq(2L), eq(NAME));
+        verify(jdbcTemplate).update(contains("rebuild_cursor = ?"), eq(3L), eq(NAME));
+        verify(jdbcTemplate).update(contains("rebuilding = false"), eq(3L), eq(NAME));
+        assertThat(progress.getState()).isEqualTo(RebuildProgress.State.COMPLETED);
+        assertThat(progress.getEventsProcessed()).isEqualTo(3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldResumeInterruptedRebuildFromItsCursorWithoutReset() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(NAME))).thenAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("rebuild_cursor")).thenReturn(2L);
+            when(rs.getLong("rebuild_target")).thenReturn(3L);
+            return List.of(((RowMapper<Object>) invocation.getArgument(1)).mapRow(rs, 0));
+        });
+        when(eventRepository.streamByGlobalPositionRange(2L, 3L))
+            .thenReturn(Stream.of(event(3, "order-a", 2)));
+        RebuildProgress progress = started();
+
+        service.rebuild(projection, progress);
+
+        assertThat(projection.resets).isZero();
+        assertThat(projection.appliedPositions()).containsExactly(3L);
+        verify(eventRepository, never()).streamByGlobalPositionRange(0L, 2L);
+        assertThat(progress.getState()).isEqualTo(RebuildProgress.State.COMPLETED);
+    }
+
+    @Test
+    void shouldKeepEachAggregateInOneBucketInStreamOrder() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(4L);
+        properties.setRebuildChunkSize(10);
+        when(eventRepository.streamByGlobalPositionRange(0L, 4L)).thenReturn(Stream.of(
+            event(1, "order-a", 1), event(2, "order-b", 1), event(3, "order-a", 2), event(4, "order-b", 2)));
+
+        service.rebuild(projection, started());
+
+        for (List<ProjectedEvent> batch : projection.batches) {
+            assertThat(batch.stream().map(ProjectedEvent::aggregateId).distinct()
+                .filter(id -> ProjectionRebuildService.bucketOf(id, 2)
+                    != ProjectionRebuildService.bucketOf(batch.get(0).aggregateId(), 2)))
+                .isEmpty();
+            assertThat(batch).isSortedAccordingTo(
+                (left, right) -> Long.compare(left.globalPosition(), right.globalPosition()));
+        }
+        assertThat(projection.appliedPositions()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    private RebuildProgress started() {
+        RebuildProgress progress = new RebuildProgress(NAME);
+        assertThat(progress.tryStart()).isTrue();
+        return progress;
+    }
+
+    private DomainEventEntity event(long globalPosition, String orderId, long streamVersion) {
+        DomainEventEntity event = DomainEventEntity.builder()
+            .aggregateId(orderId)
+            .aggregateType("Order")
+            .eventType("OrderStatusUpdatedEvent")
+            .eventData("{\"newStatus\":\"CONFIRMED\"}")
+            .streamVersion(streamVersion)
+            .build();
+        event.setCreatedAt(LocalDateTime.now());
+        ReflectionTestUtils.setField(event, "globalPosition", globalPosition);
+        return event;
+    }
+
+    private static final class RecordingProjection implements RebuildableProjection {
+
+        private final List<List<ProjectedEvent>> batches = Collections.synchronizedList(new ArrayList<>());
+        private int resets;
+        private int finished;
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public void apply(List<ProjectedEvent> events) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void reset() {
+            resets++;
+        }
+
+        @Override
+        public void applyRebuildBatch(List<ProjectedEvent> events) {
+            batches.add(List.copyOf(events));
+        }
+
+        @Override
+        public void finishRebuild() {
+            finished++;
+        }
+
+        private List<Long> appliedPositions() {
+            return batches.stream().flatMap(List::stream).map(ProjectedEvent::globalPosition).toList();
+        }
+    }
+}